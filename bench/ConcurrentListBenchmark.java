@@ -0,0 +1,198 @@
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import components.list.List;
+
+/**
+ * Contention benchmark for a {@code List} shared between one writer thread,
+ * which edits at the cursor, and a number of reader threads, which call
+ * {@code leftLength} and {@code rightLength} and now and then iterate.
+ *
+ * <p>
+ * Usage: {@code java ConcurrentListBenchmark [seconds]}. For 1, 2, 4, ..., 64
+ * readers, the driver runs {@code ConcurrentList3} and a {@code List3} whose
+ * every call is made inside {@code synchronized (list)}, and reports the
+ * reader and writer throughput of each.
+ * </p>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public final class ConcurrentListBenchmark {
+
+    /**
+     * No-argument constructor--private to prevent instantiation.
+     */
+    private ConcurrentListBenchmark() {
+    }
+
+    /**
+     * Maximum number of reader threads.
+     */
+    private static final int MAX_READERS = 64;
+
+    /**
+     * Number of entries in the list.
+     */
+    private static final int SIZE = 10_000;
+
+    /**
+     * Number of length reads between two iterations, for each reader.
+     */
+    private static final int READS_PER_ITERATION = 1_000;
+
+    /**
+     * Sink for values read by the threads, so that the JIT compiler cannot
+     * drop the reads.
+     */
+    private static volatile long sink;
+
+    /**
+     * Runs one writer and {@code readers} readers on {@code list} for
+     * {@code millis} milliseconds, and prints the throughput.
+     *
+     * @param name
+     *            the name to print for the configuration
+     * @param list
+     *            the shared list
+     * @param locked
+     *            whether every call is to be made inside
+     *            {@code synchronized (list)}
+     * @param readers
+     *            the number of reader threads
+     * @param millis
+     *            the duration of the run
+     * @throws InterruptedException
+     *             if the main thread is interrupted
+     */
+    private static void run(String name, List<String> list, boolean locked,
+            int readers, long millis) throws InterruptedException {
+        list.clear();
+        for (int i = 0; i < SIZE; i++) {
+            list.addRightFront("x");
+        }
+        AtomicBoolean done = new AtomicBoolean(false);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+
+        Thread writer = new Thread(() -> {
+            long k = 0;
+            while (!done.get()) {
+                if (locked) {
+                    synchronized (list) {
+                        edit(list, k);
+                    }
+                } else {
+                    edit(list, k);
+                }
+                k++;
+            }
+            writes.add(k);
+        });
+        Thread[] threads = new Thread[readers];
+        for (int r = 0; r < readers; r++) {
+            threads[r] = new Thread(() -> {
+                long k = 0;
+                long h = 0;
+                while (!done.get()) {
+                    if (k % READS_PER_ITERATION == 0) {
+                        if (locked) {
+                            synchronized (list) {
+                                h += count(list);
+                            }
+                        } else {
+                            h += count(list);
+                        }
+                    } else if (locked) {
+                        synchronized (list) {
+                            h += list.leftLength() + list.rightLength();
+                        }
+                    } else {
+                        h += list.leftLength() + list.rightLength();
+                    }
+                    k++;
+                }
+                reads.add(k);
+                sink = h;
+            });
+        }
+
+        writer.start();
+        for (Thread t : threads) {
+            t.start();
+        }
+        Thread.sleep(millis);
+        done.set(true);
+        writer.join();
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        double seconds = millis / 1e3;
+        System.out.println(String.format(Locale.ROOT, "%-22s %8d %16.0f %16.0f",
+                name, readers, reads.sum() / seconds, writes.sum() / seconds));
+    }
+
+    /**
+     * Makes the {@code k}-th edit of the writer: an add or remove at the
+     * cursor, followed by a cursor move.
+     *
+     * @param list
+     *            the list
+     * @param k
+     *            the number of the edit
+     */
+    private static void edit(List<String> list, long k) {
+        if (k % 2 == 0) {
+            list.addRightFront("y");
+        } else if (list.rightLength() > 0) {
+            list.removeRightFront();
+        }
+        if (list.rightLength() > 0 && k % 3 == 0) {
+            list.advance();
+        } else if (list.leftLength() > 0) {
+            list.retreat();
+        }
+    }
+
+    /**
+     * Iterates over {@code list} and returns the number of entries seen.
+     *
+     * @param list
+     *            the list
+     * @return the number of entries
+     */
+    private static long count(List<String> list) {
+        long n = 0;
+        for (String s : list) {
+            n += s.length();
+        }
+        return n;
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments
+     * @throws InterruptedException
+     *             if the main thread is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long millis = 1000;
+        if (args.length > 0) {
+            millis = Math.round(Double.parseDouble(args[0]) * 1e3);
+        }
+        System.out.println(String.format(Locale.ROOT, "%-22s %8s %16s %16s",
+                "implementation", "readers", "reads/s", "writes/s"));
+        for (int readers = 1; readers <= MAX_READERS; readers *= 2) {
+            run("ConcurrentList3", new ConcurrentList3<String>(), false,
+                    readers, millis);
+            run("synchronized List3", new List3<String>(), true, readers,
+                    millis);
+        }
+    }
+
+}
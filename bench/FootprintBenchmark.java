@@ -0,0 +1,159 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Locale;
+
+import components.list.List;
+
+/**
+ * Footprint driver comparing the heap retained by {@code List}
+ * implementations per entry.
+ *
+ * <p>
+ * Usage: {@code java FootprintBenchmark [class ...] [-sizes n,n,...]}, where
+ * each class is the name of a {@code List} implementation with a no-argument
+ * constructor (default: {@code List3}, {@code ArrayLinkedList3} and
+ * {@code XorList3}). For every size the driver fills a list with that many
+ * references to one shared entry, so only the list's own structure is
+ * counted, and reports the growth of the heap in use after garbage
+ * collection, in bytes per entry. Array-backed lists are reported with the
+ * spare capacity left by their last doubling (up to twice the slots in use).
+ * Run it without {@code -ea}: with assertion checking every call checks the
+ * whole convention.
+ * </p>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public final class FootprintBenchmark {
+
+    /**
+     * No-argument constructor--private to prevent instantiation.
+     */
+    private FootprintBenchmark() {
+    }
+
+    /**
+     * Default sizes.
+     */
+    private static final int[] SIZES = { 100_000, 1_000_000 };
+
+    /**
+     * Number of garbage collections requested before reading the heap in use.
+     */
+    private static final int GC_RUNS = 5;
+
+    /**
+     * The one entry put in the lists.
+     */
+    private static final String ENTRY = "x";
+
+    /**
+     * The list being measured, kept reachable in a static field while the
+     * heap is read.
+     */
+    private static List<String> retained;
+
+    /**
+     * Returns the number of bytes of heap in use after garbage collection.
+     *
+     * @return the number of bytes in use
+     */
+    private static long usedAfterGc() {
+        MemoryMXBean bean = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < GC_RUNS; i++) {
+            System.gc();
+        }
+        return bean.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Creates a new list of the named class.
+     *
+     * @param className
+     *            the name of the {@code List} implementation
+     * @return the new list
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> create(String className) {
+        try {
+            return (List<String>) Class.forName(className)
+                    .getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(
+                    "Cannot construct object of type " + className, e);
+        }
+    }
+
+    /**
+     * Measures the footprint of a list of the named class with size
+     * {@code n}, and prints the result.
+     *
+     * @param className
+     *            the name of the {@code List} implementation
+     * @param n
+     *            the size
+     */
+    private static void measure(String className, int n) {
+        retained = null;
+        long before = usedAfterGc();
+        List<String> list = create(className);
+        for (int i = 0; i < n; i++) {
+            list.addRightFront(ENTRY);
+        }
+        retained = list;
+        long after = usedAfterGc();
+        retained = null;
+        System.out.println(String.format(Locale.ROOT, "%-28s %10d %14d %10.2f",
+                className, n, after - before, (after - before) / (double) n));
+    }
+
+    /**
+     * Parses a comma-separated list of sizes.
+     *
+     * @param s
+     *            the sizes, e.g., "10,1000"
+     * @return the sizes
+     */
+    private static int[] parseSizes(String s) {
+        String[] parts = s.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments
+     */
+    public static void main(String[] args) {
+        int[] sizes = SIZES;
+        java.util.List<String> classNames = new java.util.ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-sizes") && i + 1 < args.length) {
+                i++;
+                sizes = parseSizes(args[i]);
+            } else {
+                classNames.add(args[i]);
+            }
+        }
+        if (classNames.isEmpty()) {
+            classNames.add("List3");
+            classNames.add("ArrayLinkedList3");
+            classNames.add("XorList3");
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%-28s %10s %14s %10s",
+                "implementation", "size", "bytes", "B/entry"));
+        for (int n : sizes) {
+            for (String className : classNames) {
+                measure(className, n);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,423 @@
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import components.list.List;
+
+/**
+ * Micro-benchmark driver comparing {@code List} implementations on a set of
+ * operation mixes.
+ *
+ * <p>
+ * Usage: {@code java [-ea] ListBenchmark [class ...] [-sizes n,n,...]}, where
+ * each class is the name of a {@code List} implementation with a no-argument
+ * constructor (default: {@code List3} and {@code components.list.List1L}).
+ * Each workload is run on every size over and over, first to warm up and then
+ * measured, each time until a set time (set-up included) has passed or a set
+ * number of operations has been run, so that small sizes are measured on
+ * compiled code and over many runs. For every combination the driver reports
+ * the mean time per operation, less the cost of reading the clock, and the
+ * mean number of bytes allocated per operation by the benchmarking thread.
+ * Run it once with and once without {@code -ea} to see the cost of assertion
+ * checking.
+ * </p>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public final class ListBenchmark {
+
+    /**
+     * No-argument constructor--private to prevent instantiation.
+     */
+    private ListBenchmark() {
+    }
+
+    /**
+     * Default sizes without assertion checking.
+     */
+    private static final int[] SIZES = { 10, 1_000, 100_000, 10_000_000 };
+
+    /**
+     * Default sizes with assertion checking, which adds O(n) convention checks
+     * (on every call for List1L and for List3 with List3.validation=full).
+     */
+    private static final int[] SIZES_EA = { 10, 100, 1_000, 10_000 };
+
+    /**
+     * Time, in nanoseconds, after which warming up a workload stops.
+     */
+    private static final long WARMUP_NANOS = 500_000_000L;
+
+    /**
+     * Time, in nanoseconds, after which measuring a workload stops.
+     */
+    private static final long MEASURED_NANOS = 1_000_000_000L;
+
+    /**
+     * Number of list operations after which warming up or measuring a
+     * workload stops, if that comes before the time is up.
+     */
+    private static final long MIN_OPS = 10_000_000L;
+
+    /**
+     * Number of clock reads averaged to find the cost of reading the clock.
+     */
+    private static final int CLOCK_READS = 1_000_000;
+
+    /**
+     * Mean cost, in nanoseconds, of the two clock reads around a run.
+     */
+    private static double clockOverhead;
+
+    /**
+     * Number of {@code transferFrom} calls made by the transfer workload.
+     */
+    private static final int TRANSFERS = 1_000;
+
+    /**
+     * Distinct entries put in the lists, so that no strings are created while
+     * measuring.
+     */
+    private static final String[] ENTRIES = new String[1024];
+
+    static {
+        for (int i = 0; i < ENTRIES.length; i++) {
+            ENTRIES[i] = Integer.toString(i);
+        }
+    }
+
+    /**
+     * Sink for values read by the workloads, so that the JIT compiler cannot
+     * drop the reads.
+     */
+    private static volatile int sink;
+
+    /**
+     * Operation mixes exercised by the benchmark.
+     */
+    private enum Workload {
+
+        /**
+         * Builds the list by appending at the end.
+         */
+        BUILD {
+            @Override
+            void setUp(List<String> list, int n) {
+                list.clear();
+            }
+
+            @Override
+            long run(List<String> list, int n) {
+                for (int i = 0; i < n; i++) {
+                    list.addRightFront(entry(i));
+                    list.advance();
+                }
+                return 2L * n;
+            }
+        },
+
+        /**
+         * Sweeps the position from start to finish with {@code advance} and
+         * back with {@code retreat}.
+         */
+        SWEEP {
+            @Override
+            long run(List<String> list, int n) {
+                list.moveToStart();
+                for (int i = 0; i < n; i++) {
+                    list.advance();
+                }
+                for (int i = 0; i < n; i++) {
+                    list.retreat();
+                }
+                return 2L * n + 1;
+            }
+        },
+
+        /**
+         * Edits around a cursor in the middle of the list: mostly inserts,
+         * some removals, and short moves.
+         */
+        EDIT {
+            @Override
+            void setUp(List<String> list, int n) {
+                fill(list, n);
+                list.moveToStart();
+                for (int i = 0; i < n / 2; i++) {
+                    list.advance();
+                }
+            }
+
+            @Override
+            long run(List<String> list, int n) {
+                int h = 0;
+                for (int i = 0; i < n; i++) {
+                    list.addRightFront(entry(i));
+                    if (i % 4 == 3) {
+                        h += list.removeRightFront().length();
+                    } else if (i % 2 == 0) {
+                        list.advance();
+                    }
+                }
+                sink = h;
+                return 2L * n;
+            }
+        },
+
+        /**
+         * Iterates over all the entries.
+         */
+        ITERATE {
+            @Override
+            long run(List<String> list, int n) {
+                int h = 0;
+                for (String s : list) {
+                    h += s.length();
+                }
+                sink = h;
+                return n;
+            }
+        },
+
+        /**
+         * Moves the value back and forth between two lists with
+         * {@code transferFrom}.
+         */
+        TRANSFER {
+            @Override
+            long run(List<String> list, int n) {
+                List<String> other = list.newInstance();
+                for (int i = 0; i < TRANSFERS / 2; i++) {
+                    other.transferFrom(list);
+                    list.transferFrom(other);
+                }
+                return TRANSFERS;
+            }
+        },
+
+        /**
+         * Clears a list of the given size.
+         */
+        CLEAR {
+            @Override
+            long run(List<String> list, int n) {
+                list.clear();
+                return 1;
+            }
+        };
+
+        /**
+         * Prepares {@code list} for a run with size {@code n}; not measured.
+         * By default, makes {@code list} hold {@code n} entries.
+         *
+         * @param list
+         *            the list
+         * @param n
+         *            the size
+         * @updates list
+         */
+        void setUp(List<String> list, int n) {
+            fill(list, n);
+        }
+
+        /**
+         * Runs the workload on {@code list} with size {@code n}.
+         *
+         * @param list
+         *            the list
+         * @param n
+         *            the size
+         * @return the number of list operations performed
+         * @updates list
+         */
+        abstract long run(List<String> list, int n);
+
+    }
+
+    /**
+     * Returns the {@code i}-th entry to put in a list.
+     *
+     * @param i
+     *            the index
+     * @return the entry
+     */
+    private static String entry(int i) {
+        return ENTRIES[i & (ENTRIES.length - 1)];
+    }
+
+    /**
+     * Makes {@code list} hold {@code n} entries, unless it already does.
+     *
+     * @param list
+     *            the list
+     * @param n
+     *            the number of entries
+     * @updates list
+     * @ensures |list.left * list.right| = n
+     */
+    private static void fill(List<String> list, int n) {
+        if (list.leftLength() + list.rightLength() != n) {
+            list.clear();
+            for (int i = 0; i < n; i++) {
+                list.addRightFront(entry(i));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread, or
+     * -1 if the JVM cannot tell.
+     *
+     * @return the number of bytes allocated
+     */
+    private static long allocatedBytes() {
+        long result = -1;
+        java.lang.management.ThreadMXBean bean = ManagementFactory
+                .getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            result = ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mean time, in nanoseconds, between two back-to-back reads
+     * of {@code System.nanoTime}.
+     *
+     * @return the mean time between two clock reads
+     */
+    private static double clockReadNanos() {
+        long total = 0;
+        for (int i = 0; i < CLOCK_READS; i++) {
+            long first = System.nanoTime();
+            long second = System.nanoTime();
+            total += second - first;
+        }
+        return total / (double) CLOCK_READS;
+    }
+
+    /**
+     * Creates a new list of the named class.
+     *
+     * @param className
+     *            the name of the {@code List} implementation
+     * @return the new list
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> create(String className) {
+        try {
+            return (List<String>) Class.forName(className)
+                    .getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(
+                    "Cannot construct object of type " + className, e);
+        }
+    }
+
+    /**
+     * Measures {@code workload} on lists of the named class with size
+     * {@code n}, and prints the result.
+     *
+     * @param className
+     *            the name of the {@code List} implementation
+     * @param workload
+     *            the workload
+     * @param n
+     *            the size
+     */
+    private static void measure(String className, Workload workload, int n) {
+        List<String> list = create(className);
+        long warmupOps = 0;
+        long warmupStart = System.nanoTime();
+        while (warmupOps < MIN_OPS
+                && System.nanoTime() - warmupStart < WARMUP_NANOS) {
+            workload.setUp(list, n);
+            warmupOps += workload.run(list, n);
+        }
+
+        //Bytes allocated by reading the count itself, subtracted from each run.
+        long overheadStart = allocatedBytes();
+        long overheadEnd = allocatedBytes();
+        long overhead = overheadEnd - overheadStart;
+
+        long runs = 0;
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+        long measureStart = System.nanoTime();
+        while (ops < MIN_OPS
+                && System.nanoTime() - measureStart < MEASURED_NANOS) {
+            workload.setUp(list, n);
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            ops += workload.run(list, n);
+            nanos += System.nanoTime() - start;
+            bytes += allocatedBytes() - bytesBefore - overhead;
+            runs++;
+        }
+        double nanosPerOp = Math.max(nanos - runs * clockOverhead, 0)
+                / ops;
+        double bytesPerOp = Math.max(bytes, 0) / (double) ops;
+        System.out.println(String.format(Locale.ROOT,
+                "%-28s %-9s %10d %12.2f %10.2f", className, workload, n,
+                nanosPerOp, bytesPerOp));
+    }
+
+    /**
+     * Parses a comma-separated list of sizes.
+     *
+     * @param s
+     *            the sizes, e.g., "10,1000"
+     * @return the sizes
+     */
+    private static int[] parseSizes(String s) {
+        String[] parts = s.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments
+     */
+    public static void main(String[] args) {
+        boolean assertionsOn = false;
+        assert assertionsOn = true;
+        int[] sizes = assertionsOn ? SIZES_EA : SIZES;
+        java.util.List<String> classNames = new java.util.ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-sizes") && i + 1 < args.length) {
+                i++;
+                sizes = parseSizes(args[i]);
+            } else {
+                classNames.add(args[i]);
+            }
+        }
+        if (classNames.isEmpty()) {
+            classNames.add("List3");
+            classNames.add("components.list.List1L");
+        }
+
+        clockOverhead = clockReadNanos();
+        System.out.println(
+                "assertion checking: " + (assertionsOn ? "on" : "off"));
+        System.out.println(String.format(Locale.ROOT,
+                "%-28s %-9s %10s %12s %10s", "implementation", "workload",
+                "size", "ns/op", "B/op"));
+        for (int n : sizes) {
+            for (Workload workload : Workload.values()) {
+                for (String className : classNames) {
+                    measure(className, workload, n);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,485 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} represented as a doubly linked list whose nodes are slots in
+ * parallel arrays {@code next}, {@code previous}, and {@code data} (links are
+ * array indices rather than Java references), with implementations of primary
+ * methods and {@code retreat} secondary method.
+ *
+ * <p>
+ * Execution-time performance of {@code addRightFront} is amortized O(1) (the
+ * arrays are doubled when full); execution-time performance of all other
+ * methods implemented in this class is O(1).
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code List} entries
+ * @convention <pre>
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [$this.next, $this.previous and $this.data all have the same length]  and
+ * [slot PRE_START is the first node of a doubly linked list
+ *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+ * [$this.lastLeft is the ($this.leftLength + 1)-th node in
+ *  that doubly linked list]  and
+ * [slot POST_FINISH is the last node in that doubly linked list]  and
+ * [for every node n in the doubly linked list of nodes, except
+ *  PRE_START, $this.next[$this.previous[n]] = n]  and
+ * [for every node n in the doubly linked list of nodes, except
+ *  POST_FINISH, $this.previous[$this.next[n]] = n]  and
+ * [2 <= $this.top <= |$this.next|]  and
+ * [$this.freeHead is the first slot of a chain, linked through $this.next
+ *  and ending in NONE, of the slots in [2, $this.top) that are not in the
+ *  doubly linked list of nodes]  and
+ * [$this.data[s] = null for every slot s not in the doubly linked list of
+ *  nodes]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([data in nodes starting at $this.next[PRE_START] and running through
+ *    $this.lastLeft],
+ *   [data in nodes starting at $this.next[$this.lastLeft] and running
+ *    through $this.previous[POST_FINISH]])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class ArrayLinkedList3<T> extends ListSecondary<T> {
+
+    /**
+     * Slot of the "smart node" before start node of doubly linked list.
+     */
+    private static final int PRE_START = 0;
+
+    /**
+     * Slot of the "smart node" after finish node of doubly linked list.
+     */
+    private static final int POST_FINISH = 1;
+
+    /**
+     * Link value meaning "no slot".
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Initial length of the parallel arrays.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Next slot in doubly linked list (or in the free-slot chain), indexed by
+     * slot.
+     */
+    private int[] next;
+
+    /**
+     * Previous slot in doubly linked list, indexed by slot.
+     */
+    private int[] previous;
+
+    /**
+     * Data in each slot, or, if this is a "smart" slot or a free slot, null.
+     */
+    private Object[] data;
+
+    /**
+     * Last slot of doubly linked list in this.left.
+     */
+    private int lastLeft;
+
+    /**
+     * First slot of the free-slot chain, or NONE.
+     */
+    private int freeHead;
+
+    /**
+     * Number of slots that have ever been handed out (slots [top, capacity)
+     * have never been used).
+     */
+    private int top;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [$this.next, $this.previous and $this.data all have the same length]  and
+     * [slot PRE_START is the first node of a doubly linked list
+     *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+     * [$this.lastLeft is the ($this.leftLength + 1)-th node in
+     *  that doubly linked list]  and
+     * [slot POST_FINISH is the last node in that doubly linked list]  and
+     * [for every node n in the doubly linked list of nodes, except
+     *  PRE_START, $this.next[$this.previous[n]] = n]  and
+     * [for every node n in the doubly linked list of nodes, except
+     *  POST_FINISH, $this.previous[$this.next[n]] = n]  and
+     * [2 <= $this.top <= |$this.next|]  and
+     * [$this.freeHead is the first slot of a chain, linked through $this.next
+     *  and ending in NONE, of the slots in [2, $this.top) that are not in the
+     *  doubly linked list of nodes]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert this.next.length == this.previous.length
+                && this.next.length == this.data.length : ""
+                        + "Violation of: [$this.next, $this.previous and"
+                        + " $this.data all have the same length]";
+        assert 2 <= this.top && this.top <= this.next.length : ""
+                + "Violation of: [2 <= $this.top <= |$this.next|]";
+
+        int count = 0;
+        boolean lastLeftFound = false;
+        int n = PRE_START;
+        while ((count < this.leftLength + this.rightLength + 1)
+                && (n != POST_FINISH)) {
+            count++;
+            if (n == this.lastLeft) {
+                assert count == this.leftLength + 1 : ""
+                        + "Violation of: [$this.lastLeft is the"
+                        + " ($this.leftLength + 1)-th node in that doubly linked list]";
+                lastLeftFound = true;
+            }
+            int m = this.next[n];
+            assert (0 <= m) && (m < this.top) && (this.previous[m] == n) : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except POST_FINISH,"
+                    + " $this.previous[$this.next[n]] = n]";
+            n = m;
+        }
+        count++;
+        assert count == this.leftLength + this.rightLength + 2 : ""
+                + "Violation of: [slot PRE_START is the first node of"
+                + " a doubly linked list containing"
+                + " ($this.leftLength + $this.rightLength + 2) nodes]";
+        assert lastLeftFound : ""
+                + "Violation of: [$this.lastLeft is the"
+                + " ($this.leftLength + 1)-th node in that doubly linked list]";
+        assert n == POST_FINISH : ""
+                + "Violation of: [slot POST_FINISH is the last"
+                + " node in that doubly linked list]";
+
+        int free = 0;
+        int s = this.freeHead;
+        while ((s != NONE) && (free < this.top)) {
+            free++;
+            s = this.next[s];
+        }
+        assert count + free == this.top : ""
+                + "Violation of: [$this.freeHead is the first slot of a chain,"
+                + " linked through $this.next and ending in NONE, of the slots"
+                + " in [2, $this.top) that are not in the doubly linked list"
+                + " of nodes]";
+
+        return true;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        //Allocate the parallel arrays.
+        this.next = new int[INITIAL_CAPACITY];
+        this.previous = new int[INITIAL_CAPACITY];
+        this.data = new Object[INITIAL_CAPACITY];
+
+        //Double link the preStart and postFinish slots.
+        this.next[PRE_START] = POST_FINISH;
+        this.previous[PRE_START] = NONE;
+        this.next[POST_FINISH] = NONE;
+        this.previous[POST_FINISH] = PRE_START;
+
+        //Set up the cursor and the (empty) free-slot chain.
+        this.lastLeft = PRE_START;
+        this.freeHead = NONE;
+        this.top = 2;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+    }
+
+    /**
+     * Returns an unused slot, taken from the free-slot chain if possible and
+     * otherwise from the never-used slots, doubling the arrays if necessary.
+     *
+     * @return the slot
+     * @ensures allocate is not in the doubly linked list of nodes
+     */
+    private int allocate() {
+        int slot = this.freeHead;
+        if (slot != NONE) {
+            this.freeHead = this.next[slot];
+        } else {
+            if (this.top == this.next.length) {
+                int capacity = 2 * this.next.length;
+                this.next = Arrays.copyOf(this.next, capacity);
+                this.previous = Arrays.copyOf(this.previous, capacity);
+                this.data = Arrays.copyOf(this.data, capacity);
+            }
+            slot = this.top;
+            this.top++;
+        }
+        return slot;
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public ArrayLinkedList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final ArrayLinkedList3<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void transferFrom(List<T> source) {
+        assert source instanceof ArrayLinkedList3<?> : ""
+                + "Violation of: source is of dynamic type ArrayLinkedList3<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type
+         * ArrayLinkedList3<?>, and the ? must be T or the call would not have
+         * compiled.
+         */
+        ArrayLinkedList3<T> localSource = (ArrayLinkedList3<T>) source;
+        this.next = localSource.next;
+        this.previous = localSource.previous;
+        this.data = localSource.data;
+        this.lastLeft = localSource.lastLeft;
+        this.freeHead = localSource.freeHead;
+        this.top = localSource.top;
+        this.leftLength = localSource.leftLength;
+        this.rightLength = localSource.rightLength;
+        localSource.createNewRep();
+        assert this.conventionHolds();
+        assert localSource.conventionHolds();
+    }
+
+    @Override
+    public final void addRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        //Declare the new slot to add.
+        int newRightFront = this.allocate();
+        this.data[newRightFront] = x;
+
+        //Declare the lastLeft and oldRightFront slots.
+        int lastLeft = this.lastLeft;
+        int oldRightFront = this.next[lastLeft];
+
+        //Insert the newRightFront in the DLL by update the double links.
+        this.next[lastLeft] = newRightFront;
+        this.next[newRightFront] = oldRightFront;
+        this.previous[oldRightFront] = newRightFront;
+        this.previous[newRightFront] = lastLeft;
+
+        //Update the rightLength.
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final T removeRightFront() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Declare the lastLeft, oldRightFront, and newRightFront slots.
+        int lastLeft = this.lastLeft;
+        int oldRightFront = this.next[lastLeft];
+        int newRightFront = this.next[oldRightFront];
+
+        //The result to return is the data in oldRightFront.
+        T result = (T) this.data[oldRightFront];
+
+        //Remove the oldRightFront from DLL by updating the double links.
+        this.next[lastLeft] = newRightFront;
+        this.previous[newRightFront] = lastLeft;
+
+        //Put oldRightFront on the free-slot chain.
+        this.data[oldRightFront] = null;
+        this.next[oldRightFront] = this.freeHead;
+        this.freeHead = oldRightFront;
+
+        //Update the this.rightLength.
+        this.rightLength--;
+
+        assert this.conventionHolds();
+
+        return result;
+    }
+
+    @Override
+    public final void advance() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Advance this.lastLeft in DLL.
+        this.lastLeft = this.next[this.lastLeft];
+
+        //Update the leftLength and rightLength;
+        this.leftLength++;
+        this.rightLength--;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void moveToStart() {
+
+        //Move the lastLeft to the front of the DDL.
+        this.lastLeft = PRE_START;
+
+        //Update the leftLength and rightLength;
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.leftLength;
+    }
+
+    @Override
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.rightLength;
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        assert this.conventionHolds();
+        return new ArrayLinkedList3Iterator();
+    }
+
+    /**
+     * Implementation of {@code Iterator} interface for
+     * {@code ArrayLinkedList3}.
+     */
+    private final class ArrayLinkedList3Iterator implements Iterator<T> {
+
+        /**
+         * Current slot in the linked list.
+         */
+        private int current;
+
+        /**
+         * No-argument constructor.
+         */
+        private ArrayLinkedList3Iterator() {
+            this.current = ArrayLinkedList3.this.next[PRE_START];
+            assert ArrayLinkedList3.this.conventionHolds();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != POST_FINISH;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            T x = (T) ArrayLinkedList3.this.data[this.current];
+            this.current = ArrayLinkedList3.this.next[this.current];
+            assert ArrayLinkedList3.this.conventionHolds();
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /*
+     * Other methods (overridden for performance reasons) ---------------------
+     */
+
+    @Override
+    public final void moveToFinish() {
+
+        //Move the lastLeft to the last entry of the DDL.
+        this.lastLeft = this.previous[POST_FINISH];
+
+        //Update the leftLength and rightLength;
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void retreat() {
+        assert this.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        //Retreat this.lastLeft in DLL.
+        this.lastLeft = this.previous[this.lastLeft];
+
+        //Update the leftLength and rightLength;
+        this.leftLength--;
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+}
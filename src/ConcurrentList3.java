@@ -0,0 +1,774 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} represented as a doubly linked list, done "bare-handed", that
+ * may be shared between threads: methods that change {@code this} take a write
+ * lock, while {@code leftLength}, {@code rightLength}, and {@code iterator}
+ * first try an optimistic read and take a read lock only if a write got in the
+ * way, so readers neither block each other nor, usually, the writer.
+ *
+ * <p>
+ * {@code iterator} returns an iterator over a snapshot of the entries taken
+ * when it is called, so later changes to {@code this} do not affect it. Each
+ * method, including every secondary method and {@code equals},
+ * {@code hashCode}, and {@code toString}, is atomic on its own; methods that
+ * take a second {@code ConcurrentList3} ({@code transferFrom}, {@code append},
+ * and {@code swapRights}) hold the write locks of both lists, taken in a fixed
+ * global order. {@code append} and {@code swapRights} also accept any other
+ * {@code List}: its entries are moved through its kernel methods outside the
+ * lock and spliced in under the write lock of {@code this}, so only the
+ * change to {@code this} is atomic. A sequence of calls (e.g.,
+ * {@code leftLength} and then {@code advance}) is not atomic, so the position
+ * of the list is best left to a single writer thread.
+ * </p>
+ *
+ * <p>
+ * Execution-time performance of {@code iterator}, {@code flip},
+ * {@code equals}, {@code hashCode}, and {@code toString} is O(n); of
+ * {@code append} and {@code swapRights} with an argument that is not a
+ * {@code ConcurrentList3}, O(length of the entries moved);
+ * execution-time performance of all other methods implemented in this class
+ * is O(1).
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code List} entries
+ * @convention <pre>
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [$this.lock is not null]  and
+ * [$this.preStart is not null]  and
+ * [$this.lastLeft is not null]  and
+ * [$this.postFinish is not null]  and
+ * [$this.preStart points to the first node of a doubly linked list
+ *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+ * [$this.lastLeft points to the ($this.leftLength + 1)-th node in
+ *  that doubly linked list]  and
+ * [$this.postFinish points to the last node in that doubly linked list]  and
+ * [for every node n in the doubly linked list of nodes, except the one
+ *  pointed to by $this.preStart, n.previous.next = n]  and
+ * [for every node n in the doubly linked list of nodes, except the one
+ *  pointed to by $this.postFinish, n.next.previous = n]  and
+ * [all the other fields are read or written only while holding $this.lock,
+ *  or by an optimistic read that is validated before its result is used]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([data in nodes starting at $this.preStart.next and running through
+ *    $this.lastLeft],
+ *   [data in nodes starting at $this.lastLeft.next and running through
+ *    $this.postFinish.previous])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class ConcurrentList3<T> extends ListSecondary<T> {
+
+    /**
+     * Node class for doubly linked list nodes.
+     */
+    private final class Node {
+
+        /**
+         * Data in node, or, if this is a "smart" Node, irrelevant.
+         */
+        private T data;
+
+        /**
+         * Next node in doubly linked list, or, if this is a trailing "smart"
+         * Node, irrelevant.
+         */
+        private Node next;
+
+        /**
+         * Previous node in doubly linked list, or, if this is a leading "smart"
+         * Node, irrelevant.
+         */
+        private Node previous;
+
+    }
+
+    /**
+     * Source of the ids of the lists, which order their locks.
+     */
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    /**
+     * Unique id of this list: when two lists are locked together, the one
+     * with the smaller id is locked first.
+     */
+    private final long id = NEXT_ID.getAndIncrement();
+
+    /**
+     * Lock guarding all the other fields.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * "Smart node" before start node of doubly linked list.
+     */
+    private Node preStart;
+
+    /**
+     * Last node of doubly linked list in this.left.
+     */
+    private Node lastLeft;
+
+    /**
+     * "Smart node" after finish node of linked list.
+     */
+    private Node postFinish;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation. Must be called while holding this.lock.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [$this.preStart is not null]  and
+     * [$this.lastLeft is not null]  and
+     * [$this.postFinish is not null]  and
+     * [$this.preStart points to the first node of a doubly linked list
+     *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+     * [$this.lastLeft points to the ($this.leftLength + 1)-th node in
+     *  that doubly linked list]  and
+     * [$this.postFinish points to the last node in that doubly linked list]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.preStart, n.previous.next = n]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.postFinish, n.next.previous = n]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert this.preStart != null : "Violation of: $this.preStart is not null";
+        assert this.lastLeft != null : "Violation of: $this.lastLeft is not null";
+        assert this.postFinish != null : "Violation of: $this.postFinish is not null";
+
+        int count = 0;
+        boolean lastLeftFound = false;
+        Node n = this.preStart;
+        while ((count < this.leftLength + this.rightLength + 1)
+                && (n != this.postFinish)) {
+            count++;
+            if (n == this.lastLeft) {
+                assert count == this.leftLength + 1 : ""
+                        + "Violation of: [$this.lastLeft points to the"
+                        + " ($this.leftLength + 1)-th node in that doubly linked list]";
+                lastLeftFound = true;
+            }
+            assert (n.next != null) && (n.next.previous == n) : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.postFinish, n.next.previous = n]";
+            n = n.next;
+            assert n.previous.next == n : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.preStart, n.previous.next = n]";
+        }
+        count++;
+        assert count == this.leftLength + this.rightLength + 2 : ""
+                + "Violation of: [$this.preStart points to the first node of"
+                + " a doubly linked list containing"
+                + " ($this.leftLength + $this.rightLength + 2) nodes]";
+        assert lastLeftFound : ""
+                + "Violation of: [$this.lastLeft points to the"
+                + " ($this.leftLength + 1)-th node in that doubly linked list]";
+        assert n == this.postFinish : ""
+                + "Violation of: [$this.postFinish points to the last"
+                + " node in that doubly linked list]";
+
+        return true;
+    }
+
+    /**
+     * Creator of initial representation. Must be called while holding the
+     * write lock, or from the constructor.
+     */
+    private void createNewRep() {
+
+        //Declare and double link the preStart and postFinish nodes.
+        Node preStart = new Node();
+        Node postFinish = new Node();
+        preStart.next = postFinish;
+        postFinish.previous = preStart;
+
+        //Link the nodes with Instance Variables(Fields).
+        this.preStart = preStart;
+        this.lastLeft = preStart;
+        this.postFinish = postFinish;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+    }
+
+    /**
+     * Copies the entries of {@code this} into a new array. Must be called
+     * while holding this.lock, or inside an optimistic read that is validated
+     * afterwards, in which case the result may be garbage (but the walk still
+     * ends).
+     *
+     * @return the entries of {@code this.left * this.right}, in order
+     */
+    private Object[] copyEntries() {
+        int length = this.leftLength + this.rightLength;
+        Object[] result = new Object[Math.max(length, 0)];
+        Node n = this.preStart;
+        int i = 0;
+        while (i < result.length && n != null) {
+            n = n.next;
+            if (n != null) {
+                result[i] = n.data;
+            }
+            i++;
+        }
+        return result;
+    }
+
+    /**
+     * Runs {@code action} while holding the write locks of both {@code this}
+     * and {@code other}, taken in the order of the lists' ids so that two
+     * threads locking the same two lists cannot deadlock.
+     *
+     * @param other
+     *            the other list
+     * @param action
+     *            the action
+     * @requires other is not this
+     */
+    private void withBothWriteLocks(ConcurrentList3<?> other,
+            Runnable action) {
+        StampedLock first = (this.id < other.id) ? this.lock : other.lock;
+        StampedLock second = (this.id < other.id) ? other.lock : this.lock;
+        long firstStamp = first.writeLock();
+        try {
+            long secondStamp = second.writeLock();
+            try {
+                action.run();
+            } finally {
+                second.unlockWrite(secondStamp);
+            }
+        } finally {
+            first.unlockWrite(firstStamp);
+        }
+    }
+
+    /**
+     * Returns a new, unshared list with the value of {@code this}, copied
+     * while holding the read lock.
+     *
+     * @return the copy
+     */
+    @SuppressWarnings("unchecked")
+    private ConcurrentList3<T> snapshot() {
+        Object[] entries;
+        int leftLength;
+        long stamp = this.lock.readLock();
+        try {
+            entries = this.copyEntries();
+            leftLength = this.leftLength;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+
+        //Link the copied entries into the new list, which no other thread
+        //can see yet.
+        ConcurrentList3<T> result = this.newInstance();
+        Node last = result.preStart;
+        for (int i = 0; i < entries.length; i++) {
+            Node n = result.new Node();
+            n.data = (T) entries[i];
+            n.previous = last;
+            last.next = n;
+            last = n;
+            if (i + 1 == leftLength) {
+                result.lastLeft = n;
+            }
+        }
+        last.next = result.postFinish;
+        result.postFinish.previous = last;
+        result.leftLength = leftLength;
+        result.rightLength = entries.length - leftLength;
+        assert result.conventionHolds();
+        return result;
+    }
+
+    /**
+     * Reports whether {@code obj} is equal to {@code this} as
+     * {@code ListSecondary} defines it. Meant to be called on a snapshot.
+     *
+     * @param obj
+     *            the object to compare with
+     * @return whether {@code obj} is equal to {@code this}
+     */
+    private boolean inheritedEquals(Object obj) {
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns the hash code of {@code this} as {@code ListSecondary} defines
+     * it. Meant to be called on a snapshot.
+     *
+     * @return the hash code
+     */
+    private int inheritedHashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * Returns the string representation of {@code this} as
+     * {@code ListSecondary} defines it. Meant to be called on a snapshot.
+     *
+     * @return the string representation
+     */
+    private String inheritedToString() {
+        return super.toString();
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public ConcurrentList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final ConcurrentList3<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.createNewRep();
+            assert this.conventionHolds();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public final void transferFrom(List<T> source) {
+        assert source instanceof ConcurrentList3<?> : ""
+                + "Violation of: source is of dynamic type ConcurrentList3<?>";
+        assert source != this : "Violation of: source is not this";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type
+         * ConcurrentList3<?>, and the ? must be T or the call would not have
+         * compiled.
+         */
+        ConcurrentList3<T> localSource = (ConcurrentList3<T>) source;
+
+        this.withBothWriteLocks(localSource, () -> {
+            this.preStart = localSource.preStart;
+            this.lastLeft = localSource.lastLeft;
+            this.postFinish = localSource.postFinish;
+            this.leftLength = localSource.leftLength;
+            this.rightLength = localSource.rightLength;
+            localSource.createNewRep();
+            assert this.conventionHolds();
+            assert localSource.conventionHolds();
+        });
+    }
+
+    @Override
+    public final void addRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        //Declare the new node to add, outside the lock.
+        Node newRightFront = new Node();
+        newRightFront.data = x;
+
+        long stamp = this.lock.writeLock();
+        try {
+            //Insert the newRightFront in the DLL by update the double links.
+            Node lastLeft = this.lastLeft;
+            Node oldRightFront = lastLeft.next;
+            newRightFront.next = oldRightFront;
+            newRightFront.previous = lastLeft;
+            oldRightFront.previous = newRightFront;
+            lastLeft.next = newRightFront;
+
+            //Update the rightLength.
+            this.rightLength++;
+
+            assert this.conventionHolds();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public final T removeRightFront() {
+        long stamp = this.lock.writeLock();
+        try {
+            assert this.rightLength > 0 : "Violation of: this.right /= <>";
+
+            //Remove the oldRightFront from DLL by updating the double links.
+            Node lastLeft = this.lastLeft;
+            Node oldRightFront = lastLeft.next;
+            Node newRightFront = oldRightFront.next;
+            lastLeft.next = newRightFront;
+            newRightFront.previous = lastLeft;
+
+            //Update the this.rightLength.
+            this.rightLength--;
+
+            assert this.conventionHolds();
+
+            return oldRightFront.data;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public final void advance() {
+        long stamp = this.lock.writeLock();
+        try {
+            assert this.rightLength > 0 : "Violation of: this.right /= <>";
+
+            this.lastLeft = this.lastLeft.next;
+            this.leftLength++;
+            this.rightLength--;
+
+            assert this.conventionHolds();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public final void moveToStart() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.lastLeft = this.preStart;
+            this.rightLength += this.leftLength;
+            this.leftLength = 0;
+
+            assert this.conventionHolds();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public final int leftLength() {
+        long stamp = this.lock.tryOptimisticRead();
+        int result = this.leftLength;
+        if (!this.lock.validate(stamp)) {
+            //A write got in the way: read again under the read lock.
+            stamp = this.lock.readLock();
+            try {
+                result = this.leftLength;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public final int rightLength() {
+        long stamp = this.lock.tryOptimisticRead();
+        int result = this.rightLength;
+        if (!this.lock.validate(stamp)) {
+            //A write got in the way: read again under the read lock.
+            stamp = this.lock.readLock();
+            try {
+                result = this.rightLength;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final Iterator<T> iterator() {
+        long stamp = this.lock.tryOptimisticRead();
+        Object[] snapshot = this.copyEntries();
+        if (!this.lock.validate(stamp)) {
+            //A write got in the way: copy again under the read lock.
+            stamp = this.lock.readLock();
+            try {
+                assert this.conventionHolds();
+                snapshot = this.copyEntries();
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        /*
+         * The iterator of Arrays.asList does not support remove, as required.
+         */
+        return (Iterator<T>) Arrays.asList(snapshot).iterator();
+    }
+
+    /*
+     * Other methods (overridden for performance and atomicity) ---------------
+     */
+
+    @Override
+    public final T rightFront() {
+        long stamp = this.lock.readLock();
+        try {
+            assert this.rightLength > 0 : "Violation of: this.right /= <>";
+
+            return this.lastLeft.next.data;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public final T replaceRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        long stamp = this.lock.writeLock();
+        try {
+            assert this.rightLength > 0 : "Violation of: this.right /= <>";
+
+            Node rightFront = this.lastLeft.next;
+            T result = rightFront.data;
+            rightFront.data = x;
+            return result;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public final void moveToFinish() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.lastLeft = this.postFinish.previous;
+            this.leftLength += this.rightLength;
+            this.rightLength = 0;
+
+            assert this.conventionHolds();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public final void retreat() {
+        long stamp = this.lock.writeLock();
+        try {
+            assert this.leftLength > 0 : "Violation of: this.left /= <>";
+
+            this.lastLeft = this.lastLeft.previous;
+            this.leftLength--;
+            this.rightLength++;
+
+            assert this.conventionHolds();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the entries of {@code list.right} and returns a new list, not
+     * shared with any other thread, whose right part holds them.
+     *
+     * @param list
+     *            the list to take the entries from
+     * @return the new list
+     * @updates list
+     * @ensures <pre>
+     * list.left = #list.left  and  list.right = <>  and
+     * takeRight = (<>, #list.right)
+     * </pre>
+     */
+    private ConcurrentList3<T> takeRight(List<T> list) {
+        ConcurrentList3<T> result = this.newInstance();
+        while (list.rightLength() > 0) {
+            result.addRightFront(list.removeRightFront());
+            result.advance();
+        }
+        result.moveToStart();
+        return result;
+    }
+
+    @Override
+    public final void append(List<T> extension) {
+        assert extension != null : "Violation of: extension is not null";
+        assert extension != this : "Violation of: extension is not this";
+
+        if (extension instanceof ConcurrentList3<?>) {
+            /*
+             * This cast cannot fail: extension is of dynamic type
+             * ConcurrentList3<?>, and the ? must be T or the call would not
+             * have compiled.
+             */
+            ConcurrentList3<T> localExtension = (ConcurrentList3<T>) extension;
+
+            this.withBothWriteLocks(localExtension, () -> {
+                int length = localExtension.leftLength
+                        + localExtension.rightLength;
+                if (length > 0) {
+                    //Splice the extension's nodes in before this.postFinish.
+                    Node first = localExtension.preStart.next;
+                    Node last = localExtension.postFinish.previous;
+                    Node oldFinish = this.postFinish.previous;
+                    oldFinish.next = first;
+                    first.previous = oldFinish;
+                    last.next = this.postFinish;
+                    this.postFinish.previous = last;
+                    this.rightLength += length;
+                    localExtension.createNewRep();
+                }
+                assert this.conventionHolds();
+                assert localExtension.conventionHolds();
+            });
+        } else {
+            /*
+             * Drain extension outside the lock (StampedLock is not
+             * reentrant), then splice its entries in under it.
+             */
+            extension.moveToStart();
+            this.append(this.takeRight(extension));
+        }
+    }
+
+    @Override
+    public final void flip() {
+        long stamp = this.lock.writeLock();
+        try {
+            //Reverse every link, "smart" nodes included.
+            Node n = this.preStart;
+            while (n != null) {
+                Node next = n.next;
+                n.next = n.previous;
+                n.previous = next;
+                n = next;
+            }
+
+            //The boundary stays between the same two nodes, seen from the
+            //other side.
+            Node tempPreStart = this.preStart;
+            this.preStart = this.postFinish;
+            this.postFinish = tempPreStart;
+            this.lastLeft = this.lastLeft.previous;
+            int tempLeftLength = this.leftLength;
+            this.leftLength = this.rightLength;
+            this.rightLength = tempLeftLength;
+
+            assert this.conventionHolds();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public final void swapRights(List<T> list) {
+        assert list != null : "Violation of: list is not null";
+        assert list != this : "Violation of: list is not this";
+
+        if (list instanceof ConcurrentList3<?>) {
+            /*
+             * This cast cannot fail: list is of dynamic type
+             * ConcurrentList3<?>, and the ? must be T or the call would not
+             * have compiled.
+             */
+            ConcurrentList3<T> localList = (ConcurrentList3<T>) list;
+
+            this.withBothWriteLocks(localList, () -> {
+                //Exchange the right parts, postFinish nodes included.
+                Node thisRightFront = this.lastLeft.next;
+                Node listRightFront = localList.lastLeft.next;
+                this.lastLeft.next = listRightFront;
+                listRightFront.previous = this.lastLeft;
+                localList.lastLeft.next = thisRightFront;
+                thisRightFront.previous = localList.lastLeft;
+
+                Node tempPostFinish = this.postFinish;
+                this.postFinish = localList.postFinish;
+                localList.postFinish = tempPostFinish;
+                int tempRightLength = this.rightLength;
+                this.rightLength = localList.rightLength;
+                localList.rightLength = tempRightLength;
+
+                assert this.conventionHolds();
+                assert localList.conventionHolds();
+            });
+        } else {
+            /*
+             * Drain list.right outside the lock (StampedLock is not
+             * reentrant), swap it in under the lock, and put the old
+             * this.right back into list, last entry first.
+             */
+            ConcurrentList3<T> right = this.takeRight(list);
+            this.swapRights(right);
+            right.moveToFinish();
+            while (right.leftLength() > 0) {
+                right.retreat();
+                list.addRightFront(right.removeRightFront());
+            }
+        }
+    }
+
+    /*
+     * Common methods (from Object), each on a snapshot -----------------------
+     */
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        Object other = obj;
+        if (obj instanceof ConcurrentList3<?>) {
+            other = ((ConcurrentList3<?>) obj).snapshot();
+        }
+        return this.snapshot().inheritedEquals(other);
+    }
+
+    @Override
+    public final int hashCode() {
+        return this.snapshot().inheritedHashCode();
+    }
+
+    @Override
+    public final String toString() {
+        return this.snapshot().inheritedToString();
+    }
+
+}
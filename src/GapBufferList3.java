@@ -0,0 +1,418 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} represented as a gap buffer, i.e., an array holding all the
+ * entries with a run of unused slots (the gap) somewhere in it, with
+ * implementations of primary methods and {@code retreat} secondary method.
+ *
+ * <p>
+ * The gap is moved lazily: {@code moveToStart} and {@code moveToFinish} only
+ * record the new position, and the gap is brought to the position by the next
+ * {@code addRightFront} or {@code removeRightFront}. Once the gap is at the
+ * position, {@code advance} and {@code retreat} keep it there by moving one
+ * entry across the gap.
+ * </p>
+ *
+ * <p>
+ * Execution-time performance of {@code addRightFront} and
+ * {@code removeRightFront} is O(1) (amortized, for {@code addRightFront})
+ * when the gap is already at the position, and otherwise O(distance between
+ * the gap and the position); execution-time performance of all other methods
+ * implemented in this class is O(1).
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code List} entries
+ * @convention <pre>
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [$this.buffer is not null]  and
+ * [0 <= $this.gapStart <= $this.gapEnd <= |$this.buffer|]  and
+ * [$this.gapStart + (|$this.buffer| - $this.gapEnd) =
+ *  $this.leftLength + $this.rightLength]  and
+ * [$this.buffer[i] = null for every i in [$this.gapStart, $this.gapEnd)]  and
+ * [$this.buffer[i] /= null for every other i in [0, |$this.buffer|)]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([the first $this.leftLength entries of
+ *    $this.buffer[0, $this.gapStart) * $this.buffer[$this.gapEnd, |$this.buffer|)],
+ *   [the remaining entries of that string])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class GapBufferList3<T> extends ListSecondary<T> {
+
+    /**
+     * Initial length of the buffer.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Entries, with the gap in [gapStart, gapEnd).
+     */
+    private Object[] buffer;
+
+    /**
+     * First slot of the gap.
+     */
+    private int gapStart;
+
+    /**
+     * First slot after the gap.
+     */
+    private int gapEnd;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [$this.buffer is not null]  and
+     * [0 <= $this.gapStart <= $this.gapEnd <= |$this.buffer|]  and
+     * [$this.gapStart + (|$this.buffer| - $this.gapEnd) =
+     *  $this.leftLength + $this.rightLength]  and
+     * [$this.buffer[i] = null for every i in [$this.gapStart, $this.gapEnd)]  and
+     * [$this.buffer[i] /= null for every other i in [0, |$this.buffer|)]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert this.buffer != null : "Violation of: $this.buffer is not null";
+        assert 0 <= this.gapStart && this.gapStart <= this.gapEnd
+                && this.gapEnd <= this.buffer.length : ""
+                        + "Violation of: [0 <= $this.gapStart <= $this.gapEnd"
+                        + " <= |$this.buffer|]";
+        assert this.gapStart + (this.buffer.length
+                - this.gapEnd) == this.leftLength + this.rightLength : ""
+                        + "Violation of: [$this.gapStart + (|$this.buffer| -"
+                        + " $this.gapEnd) = $this.leftLength + $this.rightLength]";
+
+        for (int i = 0; i < this.buffer.length; i++) {
+            boolean inGap = this.gapStart <= i && i < this.gapEnd;
+            assert inGap == (this.buffer[i] == null) : ""
+                    + "Violation of: [$this.buffer[i] = null exactly for"
+                    + " every i in [$this.gapStart, $this.gapEnd)]";
+        }
+
+        return true;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        //The whole buffer is gap.
+        this.buffer = new Object[INITIAL_CAPACITY];
+        this.gapStart = 0;
+        this.gapEnd = INITIAL_CAPACITY;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+    }
+
+    /**
+     * Moves the gap so that it starts at {@code this.leftLength}.
+     *
+     * @ensures $this.gapStart = $this.leftLength
+     */
+    private void moveGapToPosition() {
+        int pos = this.leftLength;
+        if (pos < this.gapStart) {
+            //Move entries [pos, gapStart) to just before gapEnd.
+            int k = this.gapStart - pos;
+            System.arraycopy(this.buffer, pos, this.buffer, this.gapEnd - k, k);
+            Arrays.fill(this.buffer, pos, Math.min(this.gapStart,
+                    this.gapEnd - k), null);
+            this.gapStart = pos;
+            this.gapEnd -= k;
+        } else if (pos > this.gapStart) {
+            //Move the first (pos - gapStart) entries after the gap before it.
+            int k = pos - this.gapStart;
+            System.arraycopy(this.buffer, this.gapEnd, this.buffer,
+                    this.gapStart, k);
+            Arrays.fill(this.buffer, Math.max(this.gapEnd, pos),
+                    this.gapEnd + k, null);
+            this.gapStart = pos;
+            this.gapEnd += k;
+        }
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public GapBufferList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final GapBufferList3<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void transferFrom(List<T> source) {
+        assert source instanceof GapBufferList3<?> : ""
+                + "Violation of: source is of dynamic type GapBufferList3<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type
+         * GapBufferList3<?>, and the ? must be T or the call would not have
+         * compiled.
+         */
+        GapBufferList3<T> localSource = (GapBufferList3<T>) source;
+        this.buffer = localSource.buffer;
+        this.gapStart = localSource.gapStart;
+        this.gapEnd = localSource.gapEnd;
+        this.leftLength = localSource.leftLength;
+        this.rightLength = localSource.rightLength;
+        localSource.createNewRep();
+        assert this.conventionHolds();
+        assert localSource.conventionHolds();
+    }
+
+    @Override
+    public final void addRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        //Bring the gap to the position.
+        this.moveGapToPosition();
+
+        //Double the buffer if the gap is used up.
+        if (this.gapStart == this.gapEnd) {
+            int oldCapacity = this.buffer.length;
+            int tail = oldCapacity - this.gapEnd;
+            Object[] newBuffer = new Object[2 * oldCapacity];
+            System.arraycopy(this.buffer, 0, newBuffer, 0, this.gapStart);
+            System.arraycopy(this.buffer, this.gapEnd, newBuffer,
+                    newBuffer.length - tail, tail);
+            this.buffer = newBuffer;
+            this.gapEnd = newBuffer.length - tail;
+        }
+
+        //x goes in the last slot of the gap.
+        this.gapEnd--;
+        this.buffer[this.gapEnd] = x;
+
+        //Update the rightLength.
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final T removeRightFront() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Bring the gap to the position.
+        this.moveGapToPosition();
+
+        //The right front is the first slot after the gap.
+        T result = (T) this.buffer[this.gapEnd];
+        this.buffer[this.gapEnd] = null;
+        this.gapEnd++;
+
+        //Update the this.rightLength.
+        this.rightLength--;
+
+        assert this.conventionHolds();
+
+        return result;
+    }
+
+    @Override
+    public final void advance() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Keep the gap at the position by moving the right front across it.
+        if (this.gapStart == this.leftLength) {
+            if (this.gapStart < this.gapEnd) {
+                this.buffer[this.gapStart] = this.buffer[this.gapEnd];
+                this.buffer[this.gapEnd] = null;
+            }
+            this.gapStart++;
+            this.gapEnd++;
+        }
+
+        //Update the leftLength and rightLength;
+        this.leftLength++;
+        this.rightLength--;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void moveToStart() {
+
+        //Update the leftLength and rightLength; the gap follows lazily.
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.leftLength;
+    }
+
+    @Override
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.rightLength;
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        assert this.conventionHolds();
+        return new GapBufferList3Iterator();
+    }
+
+    /**
+     * Implementation of {@code Iterator} interface for {@code GapBufferList3}.
+     */
+    private final class GapBufferList3Iterator implements Iterator<T> {
+
+        /**
+         * Slot of the next entry in the buffer.
+         */
+        private int current;
+
+        /**
+         * No-argument constructor.
+         */
+        private GapBufferList3Iterator() {
+            this.current = this.skipGap(0);
+            assert GapBufferList3.this.conventionHolds();
+        }
+
+        /**
+         * Returns {@code slot}, or the first slot after the gap if
+         * {@code slot} is the first slot of the gap.
+         *
+         * @param slot
+         *            the slot
+         * @return the slot of the next entry
+         */
+        private int skipGap(int slot) {
+            int result = slot;
+            if (result == GapBufferList3.this.gapStart) {
+                result = GapBufferList3.this.gapEnd;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != GapBufferList3.this.buffer.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            T x = (T) GapBufferList3.this.buffer[this.current];
+            this.current = this.skipGap(this.current + 1);
+            assert GapBufferList3.this.conventionHolds();
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /*
+     * Other methods (overridden for performance reasons) ---------------------
+     */
+
+    @Override
+    public final void moveToFinish() {
+
+        //Update the leftLength and rightLength; the gap follows lazily.
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void retreat() {
+        assert this.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        //Keep the gap at the position by moving the left back across it.
+        if (this.gapStart == this.leftLength) {
+            this.gapStart--;
+            this.gapEnd--;
+            if (this.gapStart < this.gapEnd) {
+                this.buffer[this.gapEnd] = this.buffer[this.gapStart];
+                this.buffer[this.gapStart] = null;
+            }
+        }
+
+        //Update the leftLength and rightLength;
+        this.leftLength--;
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+}
@@ -0,0 +1,608 @@
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} represented as a doubly linked list, done "bare-handed", with a
+ * hash index from each entry to the nodes holding it, with implementations of
+ * primary methods, {@code retreat} secondary method, and {@code contains} and
+ * {@code moveCursorTo} methods.
+ *
+ * <p>
+ * The position is not known right after {@code moveCursorTo}, which only moves
+ * $this.lastLeft; it is counted again, by walking from $this.lastLeft toward
+ * both ends at once until one is reached, the next time {@code leftLength} or
+ * {@code rightLength} is called, and is kept up to date from then on. Keeping
+ * the position of every node up to date instead would make
+ * {@code addRightFront} and {@code removeRightFront} O(n). Entries are found
+ * with {@code equals} and {@code hashCode}, so they must not be changed in
+ * ways that affect those while they are in the list.
+ * </p>
+ *
+ * <p>
+ * Execution-time performance of {@code addRightFront},
+ * {@code removeRightFront}, {@code contains}, and {@code moveCursorTo} is
+ * O(1) expected; execution-time performance of the first {@code leftLength}
+ * or {@code rightLength} call after {@code moveCursorTo} is
+ * O(min(|this.left|, |this.right|)), and O(1) otherwise; execution-time
+ * performance of all other methods implemented in this class is O(1). So
+ * {@code moveCursorTo} is O(1) only until the position is needed: the
+ * secondary methods inherited from {@code ListSecondary} check their
+ * preconditions with {@code leftLength} or {@code rightLength}, and so do
+ * most client loops, so the count is usually paid by the next call.
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code List} entries
+ * @convention <pre>
+ * [$this.length >= 0]  and
+ * [$this.leftLength = UNKNOWN  or  0 <= $this.leftLength <= $this.length]  and
+ * [$this.preStart is not null]  and
+ * [$this.lastLeft is not null]  and
+ * [$this.postFinish is not null]  and
+ * [$this.preStart points to the first node of a doubly linked list
+ *  containing ($this.length + 2) nodes]  and
+ * [$this.lastLeft points to a node in that doubly linked list other than
+ *  the one pointed to by $this.postFinish, and to the
+ *  ($this.leftLength + 1)-th one if $this.leftLength /= UNKNOWN]  and
+ * [$this.postFinish points to the last node in that doubly linked list]  and
+ * [for every node n in the doubly linked list of nodes, except the one
+ *  pointed to by $this.preStart, n.previous.next = n]  and
+ * [for every node n in the doubly linked list of nodes, except the one
+ *  pointed to by $this.postFinish, n.next.previous = n]  and
+ * [for every data node n, $this.index(n.data) points to the first node of
+ *  a chain, doubly linked through sameNext and samePrevious, of exactly the
+ *  data nodes whose data equals n.data]  and
+ * [every key of $this.index is the data of some data node]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([data in nodes starting at $this.preStart.next and running through
+ *    $this.lastLeft],
+ *   [data in nodes starting at $this.lastLeft.next and running through
+ *    $this.postFinish.previous])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class HashIndexedList3<T> extends ListSecondary<T> {
+
+    /**
+     * Value of $this.leftLength when the position is not known.
+     */
+    private static final int UNKNOWN = -1;
+
+    /**
+     * Node class for doubly linked list nodes.
+     */
+    private final class Node {
+
+        /**
+         * Data in node, or, if this is a "smart" Node, irrelevant.
+         */
+        private T data;
+
+        /**
+         * Next node in doubly linked list, or, if this is a trailing "smart"
+         * Node, irrelevant.
+         */
+        private Node next;
+
+        /**
+         * Previous node in doubly linked list, or, if this is a leading "smart"
+         * Node, irrelevant.
+         */
+        private Node previous;
+
+        /**
+         * Next node with equal data, or null.
+         */
+        private Node sameNext;
+
+        /**
+         * Previous node with equal data, or null.
+         */
+        private Node samePrevious;
+
+    }
+
+    /**
+     * "Smart node" before start node of doubly linked list.
+     */
+    private Node preStart;
+
+    /**
+     * Last node of doubly linked list in this.left.
+     */
+    private Node lastLeft;
+
+    /**
+     * "Smart node" after finish node of linked list.
+     */
+    private Node postFinish;
+
+    /**
+     * Length of this.left, or UNKNOWN.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.left * this.right.
+     */
+    private int length;
+
+    /**
+     * Map from each entry to the first node of the chain of nodes holding it.
+     */
+    private Map<T, Node> index;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * [$this.length >= 0]  and
+     * [$this.leftLength = UNKNOWN  or  0 <= $this.leftLength <= $this.length]  and
+     * [$this.preStart is not null]  and
+     * [$this.lastLeft is not null]  and
+     * [$this.postFinish is not null]  and
+     * [$this.preStart points to the first node of a doubly linked list
+     *  containing ($this.length + 2) nodes]  and
+     * [$this.lastLeft points to a node in that doubly linked list other than
+     *  the one pointed to by $this.postFinish, and to the
+     *  ($this.leftLength + 1)-th one if $this.leftLength /= UNKNOWN]  and
+     * [$this.postFinish points to the last node in that doubly linked list]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.preStart, n.previous.next = n]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.postFinish, n.next.previous = n]  and
+     * [for every data node n, $this.index(n.data) points to the first node of
+     *  a chain, doubly linked through sameNext and samePrevious, of exactly the
+     *  data nodes whose data equals n.data]  and
+     * [every key of $this.index is the data of some data node]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.length >= 0 : "Violation of: $this.length >= 0";
+        assert this.leftLength == UNKNOWN || (0 <= this.leftLength
+                && this.leftLength <= this.length) : ""
+                        + "Violation of: [$this.leftLength = UNKNOWN  or"
+                        + "  0 <= $this.leftLength <= $this.length]";
+        assert this.preStart != null : "Violation of: $this.preStart is not null";
+        assert this.lastLeft != null : "Violation of: $this.lastLeft is not null";
+        assert this.postFinish != null : "Violation of: $this.postFinish is not null";
+
+        int count = 0;
+        boolean lastLeftFound = false;
+        Set<Node> dataNodes = Collections
+                .newSetFromMap(new IdentityHashMap<Node, Boolean>());
+        Node n = this.preStart;
+        while ((count < this.length + 1) && (n != this.postFinish)) {
+            count++;
+            if (n == this.lastLeft) {
+                assert this.leftLength == UNKNOWN
+                        || count == this.leftLength + 1 : ""
+                                + "Violation of: [$this.lastLeft points to the"
+                                + " ($this.leftLength + 1)-th node]";
+                lastLeftFound = true;
+            }
+            if (n != this.preStart) {
+                dataNodes.add(n);
+            }
+            assert (n.next != null) && (n.next.previous == n) : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.postFinish, n.next.previous = n]";
+            n = n.next;
+            assert n.previous.next == n : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.preStart, n.previous.next = n]";
+        }
+        count++;
+        assert count == this.length + 2 : ""
+                + "Violation of: [$this.preStart points to the first node of"
+                + " a doubly linked list containing ($this.length + 2) nodes]";
+        assert lastLeftFound : ""
+                + "Violation of: [$this.lastLeft points to a node in that"
+                + " doubly linked list other than the one pointed to by"
+                + " $this.postFinish]";
+        assert n == this.postFinish : ""
+                + "Violation of: [$this.postFinish points to the last"
+                + " node in that doubly linked list]";
+
+        /*
+         * Walk each chain once, from its head in the index. The chains hold
+         * distinct data nodes (each holds the data of its key, and the keys
+         * are distinct), so if they hold this.length of them in all, they
+         * hold every data node exactly once.
+         */
+        int chained = 0;
+        for (Map.Entry<T, Node> entry : this.index.entrySet()) {
+            Node head = entry.getValue();
+            assert head != null && head.samePrevious == null : ""
+                    + "Violation of: [$this.index points to the first node of"
+                    + " each chain]";
+            Node s = head;
+            while ((s != null) && (chained <= this.length)) {
+                chained++;
+                assert dataNodes.contains(s) : ""
+                        + "Violation of: [every key of $this.index is the data"
+                        + " of some data node, and its chain holds only data"
+                        + " nodes]";
+                assert s.data.equals(entry.getKey()) : ""
+                        + "Violation of: [the chain holds exactly the data"
+                        + " nodes whose data equals n.data]";
+                assert (s.sameNext == null)
+                        || (s.sameNext.samePrevious == s) : ""
+                                + "Violation of: [the chain is doubly linked"
+                                + " through sameNext and samePrevious]";
+                s = s.sameNext;
+            }
+        }
+        assert chained == this.length : ""
+                + "Violation of: [the chains hold exactly the data nodes]";
+
+        return true;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        //Declare the preStart node.
+        Node preStart = new Node();
+        preStart.previous = null;
+
+        //Declare the postFinish node.
+        Node postFinish = new Node();
+        postFinish.next = null;
+
+        //Double link the preStart and postFinish nodes.
+        preStart.next = postFinish;
+        postFinish.previous = preStart;
+
+        //Link the nodes with Instance Variables(Fields).
+        this.preStart = preStart;
+        this.lastLeft = preStart;
+        this.postFinish = postFinish;
+
+        //Set leftLength and length to default value 0.
+        this.leftLength = 0;
+        this.length = 0;
+
+        //Start with an empty index.
+        this.index = new HashMap<T, Node>();
+
+    }
+
+    /**
+     * Returns the length of this.left, counting it if it is not known.
+     *
+     * @return the length of this.left
+     * @ensures $this.leftLength /= UNKNOWN
+     */
+    private int knownLeftLength() {
+        if (this.leftLength == UNKNOWN) {
+            //Walk toward both ends at once, and stop at the nearer one.
+            int count = 0;
+            Node back = this.lastLeft;
+            Node ahead = this.lastLeft.next;
+            while (back != this.preStart && ahead != this.postFinish) {
+                back = back.previous;
+                ahead = ahead.next;
+                count++;
+            }
+            if (back == this.preStart) {
+                this.leftLength = count;
+            } else {
+                this.leftLength = this.length - count;
+            }
+        }
+        return this.leftLength;
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public HashIndexedList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final HashIndexedList3<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void transferFrom(List<T> source) {
+        assert source instanceof HashIndexedList3<?> : ""
+                + "Violation of: source is of dynamic type HashIndexedList3<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type
+         * HashIndexedList3<?>, and the ? must be T or the call would not have
+         * compiled.
+         */
+        HashIndexedList3<T> localSource = (HashIndexedList3<T>) source;
+        this.preStart = localSource.preStart;
+        this.lastLeft = localSource.lastLeft;
+        this.postFinish = localSource.postFinish;
+        this.leftLength = localSource.leftLength;
+        this.length = localSource.length;
+        this.index = localSource.index;
+        localSource.createNewRep();
+        assert this.conventionHolds();
+        assert localSource.conventionHolds();
+    }
+
+    @Override
+    public final void addRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        //Declare the new node to add.
+        Node newRightFront = new Node();
+        newRightFront.data = x;
+
+        //Declare the lastLeft and oldRightFront nodes.
+        Node lastLeft = this.lastLeft;
+        Node oldRightFront = lastLeft.next;
+
+        //Insert the newRightFront in the DLL by update the double links.
+        lastLeft.next = newRightFront;
+        newRightFront.next = oldRightFront;
+        oldRightFront.previous = newRightFront;
+        newRightFront.previous = lastLeft;
+
+        //Put the newRightFront first in the chain for x.
+        Node head = this.index.put(x, newRightFront);
+        if (head != null) {
+            newRightFront.sameNext = head;
+            head.samePrevious = newRightFront;
+        }
+
+        //Update the length.
+        this.length++;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final T removeRightFront() {
+        assert this.lastLeft.next != this.postFinish : ""
+                + "Violation of: this.right /= <>";
+
+        //Declare the lastLeft, oldRightFront, and newRightFront nodes.
+        Node lastLeft = this.lastLeft;
+        Node oldRightFront = lastLeft.next;
+        Node newRightFront = oldRightFront.next;
+
+        //The result to return is oldRightFront.data.
+        T result = oldRightFront.data;
+
+        //Remove the oldRightFront from DLL by updating the double links.
+        lastLeft.next = newRightFront;
+        newRightFront.previous = lastLeft;
+
+        //Remove the oldRightFront from the chain for its data.
+        Node samePrevious = oldRightFront.samePrevious;
+        Node sameNext = oldRightFront.sameNext;
+        if (sameNext != null) {
+            sameNext.samePrevious = samePrevious;
+        }
+        if (samePrevious != null) {
+            samePrevious.sameNext = sameNext;
+        } else if (sameNext != null) {
+            this.index.put(result, sameNext);
+        } else {
+            this.index.remove(result);
+        }
+
+        //Update the length.
+        this.length--;
+
+        assert this.conventionHolds();
+
+        return result;
+    }
+
+    @Override
+    public final void advance() {
+        assert this.lastLeft.next != this.postFinish : ""
+                + "Violation of: this.right /= <>";
+
+        //Advance this.lastLeft in DLL by updating the instance variables.
+        this.lastLeft = this.lastLeft.next;
+
+        //Update the leftLength, if it is known.
+        if (this.leftLength != UNKNOWN) {
+            this.leftLength++;
+        }
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void moveToStart() {
+
+        //Move the lastLeft to the front of the DDL.
+        this.lastLeft = this.preStart;
+
+        //Update the leftLength.
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.knownLeftLength();
+    }
+
+    @Override
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.length - this.knownLeftLength();
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        assert this.conventionHolds();
+        return new HashIndexedList3Iterator();
+    }
+
+    /**
+     * Implementation of {@code Iterator} interface for
+     * {@code HashIndexedList3}.
+     */
+    private final class HashIndexedList3Iterator implements Iterator<T> {
+
+        /**
+         * Current node in the linked list.
+         */
+        private Node current;
+
+        /**
+         * No-argument constructor.
+         */
+        private HashIndexedList3Iterator() {
+            this.current = HashIndexedList3.this.preStart.next;
+            assert HashIndexedList3.this.conventionHolds();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != HashIndexedList3.this.postFinish;
+        }
+
+        @Override
+        public T next() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            T x = this.current.data;
+            this.current = this.current.next;
+            assert HashIndexedList3.this.conventionHolds();
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /**
+     * Reports whether {@code x} is an entry of {@code this}.
+     *
+     * @param x
+     *            the entry to look for
+     * @return true iff x is in this.left * this.right
+     * @requires x is not null
+     * @ensures contains = (x is in this.left * this.right)
+     */
+    public final boolean contains(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        return this.index.containsKey(x);
+    }
+
+    /**
+     * Moves the position in {@code this} to just before an entry equal to
+     * {@code x}. If there are several, it is unspecified which one is picked.
+     * The new position is counted by the next {@code leftLength} or
+     * {@code rightLength} call.
+     *
+     * @param x
+     *            the entry to move to
+     * @updates this
+     * @requires x is in this.left * this.right
+     * @ensures <pre>
+     * this.left * this.right = #this.left * #this.right  and
+     * [the first entry of this.right equals x]
+     * </pre>
+     */
+    public final void moveCursorTo(T x) {
+        assert x != null : "Violation of: x is not null";
+        Node n = this.index.get(x);
+        assert n != null : "Violation of: x is in this.left * this.right";
+
+        this.lastLeft = n.previous;
+        this.leftLength = UNKNOWN;
+
+        assert this.conventionHolds();
+    }
+
+    /*
+     * Other methods (overridden for performance reasons) ---------------------
+     */
+
+    @Override
+    public final void moveToFinish() {
+
+        //Move the lastLeft to the last entry of the DDL.
+        this.lastLeft = this.postFinish.previous;
+
+        //Update the leftLength.
+        this.leftLength = this.length;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void retreat() {
+        assert this.lastLeft != this.preStart : ""
+                + "Violation of: this.left /= <>";
+
+        //Retreat this.lastLeft in DLL by updating the instance variables.
+        this.lastLeft = this.lastLeft.previous;
+
+        //Update the leftLength, if it is known.
+        if (this.leftLength != UNKNOWN) {
+            this.leftLength--;
+        }
+
+        assert this.conventionHolds();
+    }
+
+}
@@ -0,0 +1,786 @@
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} represented as a {@code List3} wrapped with metrics: a count of
+ * calls of each method, high-water marks of the lengths of {@code this.left}
+ * and {@code this.right}, and a sampled latency histogram for each method.
+ *
+ * <p>
+ * Instrumentation is opt-in: a plain {@code List3} pays nothing for it. In
+ * this class, counts are kept in {@code LongAdder}s, which are cheap to
+ * increment and may be read from any thread; one call in every
+ * {@value #SAMPLE_PERIOD} is timed and its latency recorded in a histogram
+ * with one bucket per power of 2 nanoseconds. The metrics can be read with
+ * {@code metrics}, which returns a snapshot, or over JMX after
+ * {@code registerMBean}. They belong to the {@code InstrumentedList3} object,
+ * not to its value, so {@code transferFrom} does not move them.
+ * </p>
+ *
+ * <p>
+ * Execution-time performance of every method is that of the same method of
+ * {@code List3}, plus O(1).
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code List} entries
+ * @convention <pre>
+ * [$this.rep is not null]  and
+ * [$this.metrics is not null]  and
+ * [$this.metrics.maxLeftLength >= $this.rep.leftLength and
+ *  $this.metrics.maxRightLength >= $this.rep.rightLength after every
+ *  method]
+ * </pre>
+ * @correspondence this = $this.rep
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class InstrumentedList3<T> extends ListSecondary<T> {
+
+    /**
+     * Methods whose calls are counted and timed.
+     */
+    public enum Operation {
+        /**
+         * {@code addRightFront}.
+         */
+        ADD_RIGHT_FRONT,
+        /**
+         * {@code removeRightFront}.
+         */
+        REMOVE_RIGHT_FRONT,
+        /**
+         * {@code advance}.
+         */
+        ADVANCE,
+        /**
+         * {@code retreat}.
+         */
+        RETREAT,
+        /**
+         * {@code moveToStart}.
+         */
+        MOVE_TO_START,
+        /**
+         * {@code moveToFinish}.
+         */
+        MOVE_TO_FINISH,
+        /**
+         * {@code leftLength}.
+         */
+        LEFT_LENGTH,
+        /**
+         * {@code rightLength}.
+         */
+        RIGHT_LENGTH,
+        /**
+         * {@code clear}.
+         */
+        CLEAR,
+        /**
+         * {@code transferFrom}.
+         */
+        TRANSFER_FROM,
+        /**
+         * {@code append}.
+         */
+        APPEND,
+        /**
+         * {@code swapRights}.
+         */
+        SWAP_RIGHTS,
+        /**
+         * {@code flip}.
+         */
+        FLIP,
+        /**
+         * {@code iterator}.
+         */
+        ITERATOR,
+        /**
+         * {@code next} of an iterator.
+         */
+        ITERATOR_NEXT
+    }
+
+    /**
+     * Number of calls per timed call; a power of 2.
+     */
+    private static final int SAMPLE_PERIOD = 64;
+
+    /**
+     * Number of buckets of each latency histogram; bucket b counts latencies
+     * in [2^(b-1), 2^b) nanoseconds (bucket 0: 0 nanoseconds).
+     */
+    private static final int BUCKETS = Long.SIZE;
+
+    /**
+     * Value of a start time for a call that is not timed.
+     */
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    /**
+     * Point-in-time copy of the metrics of an {@code InstrumentedList3}.
+     */
+    public static final class Snapshot {
+
+        /**
+         * Number of calls of each operation, indexed by ordinal.
+         */
+        private final long[] counts;
+
+        /**
+         * Latency histogram of each operation, indexed by ordinal.
+         */
+        private final long[][] histograms;
+
+        /**
+         * High-water mark of the length of this.left.
+         */
+        private final int maxLeftLength;
+
+        /**
+         * High-water mark of the length of this.right.
+         */
+        private final int maxRightLength;
+
+        /**
+         * Constructor from the copied metrics.
+         *
+         * @param counts
+         *            the counts
+         * @param histograms
+         *            the histograms
+         * @param maxLeftLength
+         *            the high-water mark of the length of this.left
+         * @param maxRightLength
+         *            the high-water mark of the length of this.right
+         */
+        private Snapshot(long[] counts, long[][] histograms,
+                int maxLeftLength, int maxRightLength) {
+            this.counts = counts;
+            this.histograms = histograms;
+            this.maxLeftLength = maxLeftLength;
+            this.maxRightLength = maxRightLength;
+        }
+
+        /**
+         * Reports the number of calls of {@code op}.
+         *
+         * @param op
+         *            the operation
+         * @return the number of calls
+         */
+        public long count(Operation op) {
+            return this.counts[op.ordinal()];
+        }
+
+        /**
+         * Reports the largest length of {@code this.left} seen after a call.
+         *
+         * @return the high-water mark
+         */
+        public int maxLeftLength() {
+            return this.maxLeftLength;
+        }
+
+        /**
+         * Reports the largest length of {@code this.right} seen after a call.
+         *
+         * @return the high-water mark
+         */
+        public int maxRightLength() {
+            return this.maxRightLength;
+        }
+
+        /**
+         * Returns the latency histogram of the timed calls of {@code op}:
+         * element b is the number of calls that took [2^(b-1), 2^b)
+         * nanoseconds (element 0: 0 nanoseconds).
+         *
+         * @param op
+         *            the operation
+         * @return a copy of the histogram
+         */
+        public long[] histogram(Operation op) {
+            return this.histograms[op.ordinal()].clone();
+        }
+
+        /**
+         * Returns an upper bound, within a factor of 2, of the
+         * {@code p}-quantile of the latency of the timed calls of {@code op},
+         * or 0 if none was timed.
+         *
+         * @param op
+         *            the operation
+         * @param p
+         *            the quantile, e.g., 0.99
+         * @return the upper bound in nanoseconds
+         * @requires 0 <= p <= 1
+         */
+        public long latencyQuantile(Operation op, double p) {
+            assert 0 <= p && p <= 1 : "Violation of: 0 <= p <= 1";
+            long[] h = this.histograms[op.ordinal()];
+            long total = 0;
+            for (long c : h) {
+                total += c;
+            }
+            long result = 0;
+            if (total > 0) {
+                long rank = Math.max(1, (long) Math.ceil(p * total));
+                long seen = 0;
+                int b = 0;
+                while (seen + h[b] < rank) {
+                    seen += h[b];
+                    b++;
+                }
+                result = (b == 0) ? 0 : (1L << b) - 1;
+            }
+            return result;
+        }
+
+    }
+
+    /**
+     * Metrics of one {@code InstrumentedList3}, readable from any thread and
+     * over JMX.
+     */
+    private static final class Metrics implements DynamicMBean {
+
+        /**
+         * Number of calls of each operation, indexed by ordinal.
+         */
+        private final LongAdder[] counts;
+
+        /**
+         * Latency histogram of each operation, indexed by ordinal.
+         */
+        private final AtomicLongArray[] histograms;
+
+        /**
+         * High-water mark of the length of this.left.
+         */
+        private volatile int maxLeftLength;
+
+        /**
+         * High-water mark of the length of this.right.
+         */
+        private volatile int maxRightLength;
+
+        /**
+         * No-argument constructor.
+         */
+        private Metrics() {
+            int n = Operation.values().length;
+            this.counts = new LongAdder[n];
+            this.histograms = new AtomicLongArray[n];
+            for (int i = 0; i < n; i++) {
+                this.counts[i] = new LongAdder();
+                this.histograms[i] = new AtomicLongArray(BUCKETS);
+            }
+        }
+
+        /**
+         * Returns a copy of the metrics.
+         *
+         * @return the snapshot
+         */
+        private Snapshot snapshot() {
+            int n = this.counts.length;
+            long[] c = new long[n];
+            long[][] h = new long[n][BUCKETS];
+            for (int i = 0; i < n; i++) {
+                c[i] = this.counts[i].sum();
+                for (int b = 0; b < BUCKETS; b++) {
+                    h[i][b] = this.histograms[i].get(b);
+                }
+            }
+            return new Snapshot(c, h, this.maxLeftLength, this.maxRightLength);
+        }
+
+        @Override
+        public Object getAttribute(String attribute)
+                throws AttributeNotFoundException {
+            Object result;
+            if (attribute.equals("MaxLeftLength")) {
+                result = this.maxLeftLength;
+            } else if (attribute.equals("MaxRightLength")) {
+                result = this.maxRightLength;
+            } else {
+                Snapshot s = this.snapshot();
+                result = null;
+                for (Operation op : Operation.values()) {
+                    if (attribute.equals(op + "Count")) {
+                        result = s.count(op);
+                    } else if (attribute.equals(op + "P50Nanos")) {
+                        result = s.latencyQuantile(op, 0.5);
+                    } else if (attribute.equals(op + "P99Nanos")) {
+                        result = s.latencyQuantile(op, 0.99);
+                    }
+                }
+                if (result == null) {
+                    throw new AttributeNotFoundException(attribute);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute)
+                throws AttributeNotFoundException {
+            throw new AttributeNotFoundException(
+                    "No writable attribute " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList result = new AttributeList();
+            for (String name : attributes) {
+                try {
+                    result.add(new Attribute(name, this.getAttribute(name)));
+                } catch (AttributeNotFoundException e) {
+                    //Attributes that cannot be read are left out.
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params,
+                String[] signature) throws ReflectionException {
+            throw new ReflectionException(
+                    new NoSuchMethodException(actionName),
+                    "No operation " + actionName);
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            Operation[] ops = Operation.values();
+            MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[2
+                    + 3 * ops.length];
+            attributes[0] = new MBeanAttributeInfo("MaxLeftLength", "int",
+                    "High-water mark of the length of this.left", true, false,
+                    false);
+            attributes[1] = new MBeanAttributeInfo("MaxRightLength", "int",
+                    "High-water mark of the length of this.right", true, false,
+                    false);
+            int i = 2;
+            for (Operation op : ops) {
+                attributes[i] = new MBeanAttributeInfo(op + "Count", "long",
+                        "Number of calls of " + op, true, false, false);
+                attributes[i + 1] = new MBeanAttributeInfo(op + "P50Nanos",
+                        "long", "Median latency of " + op + " (upper bound)",
+                        true, false, false);
+                attributes[i + 2] = new MBeanAttributeInfo(op + "P99Nanos",
+                        "long", "99th percentile latency of " + op
+                                + " (upper bound)",
+                        true, false, false);
+                i += 3;
+            }
+            return new MBeanInfo(InstrumentedList3.class.getName(),
+                    "Metrics of an InstrumentedList3", attributes, null,
+                    new MBeanOperationInfo[0], null);
+        }
+
+    }
+
+    /**
+     * The list all calls are passed on to.
+     */
+    private List3<T> rep;
+
+    /**
+     * Metrics of this.
+     */
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * Number of calls so far, for picking the calls to time.
+     */
+    private int calls;
+
+    /**
+     * Name under which this.metrics is registered, or null.
+     */
+    private ObjectName mbeanName;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * [$this.rep is not null]  and
+     * [$this.metrics is not null]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.rep != null : "Violation of: $this.rep is not null";
+        assert this.metrics != null : "Violation of: $this.metrics is not null";
+        return true;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+        this.rep = new List3<T>();
+    }
+
+    /**
+     * Starts a call: returns the current time if the call is to be timed, or
+     * NOT_TIMED.
+     *
+     * @return the start time, or NOT_TIMED
+     */
+    private long start() {
+        this.calls++;
+        long result = NOT_TIMED;
+        if ((this.calls & (SAMPLE_PERIOD - 1)) == 0) {
+            result = System.nanoTime();
+        }
+        return result;
+    }
+
+    /**
+     * Ends a call of {@code op} started at {@code start}: counts it and, if it
+     * was timed, records its latency.
+     *
+     * @param op
+     *            the operation
+     * @param start
+     *            the start time, or NOT_TIMED
+     */
+    private void end(Operation op, long start) {
+        if (start != NOT_TIMED) {
+            long nanos = Math.max(0, System.nanoTime() - start);
+            int bucket = BUCKETS - Long.numberOfLeadingZeros(nanos);
+            this.metrics.histograms[op.ordinal()].incrementAndGet(
+                    Math.min(bucket, BUCKETS - 1));
+        }
+        this.metrics.counts[op.ordinal()].increment();
+    }
+
+    /**
+     * Ends a call of {@code op} started at {@code start} that may have made
+     * this.left or this.right longer, and updates the high-water marks.
+     *
+     * @param op
+     *            the operation
+     * @param start
+     *            the start time, or NOT_TIMED
+     */
+    private void endAndTrack(Operation op, long start) {
+        this.end(op, start);
+        this.track();
+    }
+
+    /**
+     * Updates the high-water marks for the current lengths of this.left and
+     * this.right.
+     */
+    private void track() {
+        int left = this.rep.leftLength();
+        int right = this.rep.rightLength();
+        if (left > this.metrics.maxLeftLength) {
+            this.metrics.maxLeftLength = left;
+        }
+        if (right > this.metrics.maxRightLength) {
+            this.metrics.maxRightLength = right;
+        }
+    }
+
+    /**
+     * Returns the list to pass on to this.rep for {@code list}: its rep if it
+     * is an {@code InstrumentedList3}, otherwise {@code list} itself.
+     *
+     * @param <T>
+     *            type of {@code List} entries
+     * @param list
+     *            the list
+     * @return the list to pass on
+     */
+    private static <T> List<T> unwrap(List<T> list) {
+        List<T> result = list;
+        if (list instanceof InstrumentedList3<?>) {
+            result = ((InstrumentedList3<T>) list).rep;
+        }
+        return result;
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public InstrumentedList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Returns a snapshot of the metrics of {@code this}. May be called from
+     * any thread.
+     *
+     * @return the snapshot
+     */
+    public final Snapshot metrics() {
+        return this.metrics.snapshot();
+    }
+
+    /**
+     * Registers the metrics of {@code this} with the platform MBean server
+     * under the name {@code List3:type=InstrumentedList3,name=<name>}, so
+     * they can be watched with, e.g., JConsole.
+     *
+     * @param name
+     *            the value of the name key
+     * @requires name is not null and [no metrics are registered for this]
+     */
+    public final void registerMBean(String name) {
+        assert name != null : "Violation of: name is not null";
+        assert this.mbeanName == null : ""
+                + "Violation of: [no metrics are registered for this]";
+
+        try {
+            ObjectName objectName = new ObjectName(
+                    "List3:type=InstrumentedList3,name="
+                            + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this.metrics, objectName);
+            this.mbeanName = objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register MBean " + name,
+                    e);
+        }
+    }
+
+    /**
+     * Unregisters the metrics of {@code this} from the platform MBean server,
+     * if they are registered.
+     */
+    public final void unregisterMBean() {
+        if (this.mbeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .unregisterMBean(this.mbeanName);
+            } catch (JMException e) {
+                throw new IllegalStateException(
+                        "Cannot unregister MBean " + this.mbeanName, e);
+            }
+            this.mbeanName = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final InstrumentedList3<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        long start = this.start();
+        this.rep.clear();
+        this.end(Operation.CLEAR, start);
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void transferFrom(List<T> source) {
+        assert source instanceof InstrumentedList3<?> : ""
+                + "Violation of: source is of dynamic type InstrumentedList3<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type
+         * InstrumentedList3<?>, and the ? must be T or the call would not have
+         * compiled.
+         */
+        InstrumentedList3<T> localSource = (InstrumentedList3<T>) source;
+        long start = this.start();
+        this.rep.transferFrom(localSource.rep);
+        this.endAndTrack(Operation.TRANSFER_FROM, start);
+        assert this.conventionHolds();
+        assert localSource.conventionHolds();
+    }
+
+    @Override
+    public final void addRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        long start = this.start();
+        this.rep.addRightFront(x);
+        this.endAndTrack(Operation.ADD_RIGHT_FRONT, start);
+    }
+
+    @Override
+    public final T removeRightFront() {
+        assert this.rep.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        long start = this.start();
+        T result = this.rep.removeRightFront();
+        this.end(Operation.REMOVE_RIGHT_FRONT, start);
+        return result;
+    }
+
+    @Override
+    public final void advance() {
+        assert this.rep.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        long start = this.start();
+        this.rep.advance();
+        this.endAndTrack(Operation.ADVANCE, start);
+    }
+
+    @Override
+    public final void moveToStart() {
+        long start = this.start();
+        this.rep.moveToStart();
+        this.endAndTrack(Operation.MOVE_TO_START, start);
+    }
+
+    @Override
+    public final int leftLength() {
+        long start = this.start();
+        int result = this.rep.leftLength();
+        this.end(Operation.LEFT_LENGTH, start);
+        return result;
+    }
+
+    @Override
+    public final int rightLength() {
+        long start = this.start();
+        int result = this.rep.rightLength();
+        this.end(Operation.RIGHT_LENGTH, start);
+        return result;
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        long start = this.start();
+        Iterator<T> it = this.rep.iterator();
+        this.end(Operation.ITERATOR, start);
+        return new InstrumentedList3Iterator(it);
+    }
+
+    /**
+     * Implementation of {@code Iterator} interface for
+     * {@code InstrumentedList3}, counting the calls of {@code next}.
+     */
+    private final class InstrumentedList3Iterator implements Iterator<T> {
+
+        /**
+         * Iterator of this.rep.
+         */
+        private final Iterator<T> it;
+
+        /**
+         * Constructor from the iterator of this.rep.
+         *
+         * @param it
+         *            the iterator
+         */
+        private InstrumentedList3Iterator(Iterator<T> it) {
+            this.it = it;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.it.hasNext();
+        }
+
+        @Override
+        public T next() {
+            InstrumentedList3.this.metrics.counts[Operation.ITERATOR_NEXT
+                    .ordinal()].increment();
+            return this.it.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /*
+     * Other methods (overridden for performance reasons) ---------------------
+     */
+
+    @Override
+    public final void moveToFinish() {
+        long start = this.start();
+        this.rep.moveToFinish();
+        this.endAndTrack(Operation.MOVE_TO_FINISH, start);
+    }
+
+    @Override
+    public final void retreat() {
+        assert this.rep.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        long start = this.start();
+        this.rep.retreat();
+        this.endAndTrack(Operation.RETREAT, start);
+    }
+
+    @Override
+    public final void append(List<T> extension) {
+        assert extension != null : "Violation of: extension is not null";
+        assert extension != this : "Violation of: extension is not this";
+
+        long start = this.start();
+        this.rep.append(unwrap(extension));
+        this.endAndTrack(Operation.APPEND, start);
+    }
+
+    @Override
+    public final void swapRights(List<T> list) {
+        assert list != null : "Violation of: list is not null";
+        assert list != this : "Violation of: list is not this";
+
+        long start = this.start();
+        this.rep.swapRights(unwrap(list));
+        this.endAndTrack(Operation.SWAP_RIGHTS, start);
+        if (list instanceof InstrumentedList3<?>) {
+            ((InstrumentedList3<T>) list).track();
+        }
+    }
+
+    @Override
+    public final void flip() {
+        long start = this.start();
+        this.rep.flip();
+        this.endAndTrack(Operation.FLIP, start);
+    }
+
+}
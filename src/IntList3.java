@@ -0,0 +1,493 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * List of {@code int} entries represented as a doubly linked list, done
+ * "bare-handed", with the same left/right cursor kernel as {@code List3} but
+ * with entries stored unboxed.
+ *
+ * <p>
+ * Execution-time performance of all methods implemented in this class is O(1)
+ * (except {@code equals}, {@code hashCode}, and {@code toString}).
+ * </p>
+ *
+ * @convention <pre>
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [$this.preStart is not null]  and
+ * [$this.lastLeft is not null]  and
+ * [$this.postFinish is not null]  and
+ * [$this.preStart points to the first node of a doubly linked list
+ *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+ * [$this.lastLeft points to the ($this.leftLength + 1)-th node in
+ *  that doubly linked list]  and
+ * [$this.postFinish points to the last node in that doubly linked list]  and
+ * [for every node n in the doubly linked list of nodes, except the one
+ *  pointed to by $this.preStart, n.previous.next = n]  and
+ * [for every node n in the doubly linked list of nodes, except the one
+ *  pointed to by $this.postFinish, n.next.previous = n]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([data in nodes starting at $this.preStart.next and running through
+ *    $this.lastLeft],
+ *   [data in nodes starting at $this.lastLeft.next and running through
+ *    $this.postFinish.previous])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class IntList3 {
+
+    /**
+     * Node class for doubly linked list nodes.
+     */
+    private static final class Node {
+
+        /**
+         * Data in node, or, if this is a "smart" Node, irrelevant.
+         */
+        private int data;
+
+        /**
+         * Next node in doubly linked list, or, if this is a trailing "smart"
+         * Node, irrelevant.
+         */
+        private Node next;
+
+        /**
+         * Previous node in doubly linked list, or, if this is a leading "smart"
+         * Node, irrelevant.
+         */
+        private Node previous;
+
+    }
+
+    /**
+     * "Smart node" before start node of doubly linked list.
+     */
+    private Node preStart;
+
+    /**
+     * Last node of doubly linked list in this.left.
+     */
+    private Node lastLeft;
+
+    /**
+     * "Smart node" after finish node of linked list.
+     */
+    private Node postFinish;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [$this.preStart is not null]  and
+     * [$this.lastLeft is not null]  and
+     * [$this.postFinish is not null]  and
+     * [$this.preStart points to the first node of a doubly linked list
+     *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+     * [$this.lastLeft points to the ($this.leftLength + 1)-th node in
+     *  that doubly linked list]  and
+     * [$this.postFinish points to the last node in that doubly linked list]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.preStart, n.previous.next = n]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.postFinish, n.next.previous = n]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert this.preStart != null : "Violation of: $this.preStart is not null";
+        assert this.lastLeft != null : "Violation of: $this.lastLeft is not null";
+        assert this.postFinish != null : "Violation of: $this.postFinish is not null";
+
+        int count = 0;
+        boolean lastLeftFound = false;
+        Node n = this.preStart;
+        while ((count < this.leftLength + this.rightLength + 1)
+                && (n != this.postFinish)) {
+            count++;
+            if (n == this.lastLeft) {
+                assert count == this.leftLength + 1 : ""
+                        + "Violation of: [$this.lastLeft points to the"
+                        + " ($this.leftLength + 1)-th node in that doubly linked list]";
+                lastLeftFound = true;
+            }
+            assert (n.next != null) && (n.next.previous == n) : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.postFinish, n.next.previous = n]";
+            n = n.next;
+            assert n.previous.next == n : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.preStart, n.previous.next = n]";
+        }
+        count++;
+        assert count == this.leftLength + this.rightLength + 2 : ""
+                + "Violation of: [$this.preStart points to the first node of"
+                + " a doubly linked list containing"
+                + " ($this.leftLength + $this.rightLength + 2) nodes]";
+        assert lastLeftFound : ""
+                + "Violation of: [$this.lastLeft points to the"
+                + " ($this.leftLength + 1)-th node in that doubly linked list]";
+        assert n == this.postFinish : ""
+                + "Violation of: [$this.postFinish points to the last"
+                + " node in that doubly linked list]";
+
+        return true;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        //Declare and double link the preStart and postFinish nodes.
+        Node preStart = new Node();
+        Node postFinish = new Node();
+        preStart.next = postFinish;
+        postFinish.previous = preStart;
+
+        //Link the nodes with Instance Variables(Fields).
+        this.preStart = preStart;
+        this.lastLeft = preStart;
+        this.postFinish = postFinish;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public IntList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Returns a new object with the same <i>dynamic</i> type as {@code this},
+     * having an initial value.
+     *
+     * @return new object "like" {@code this} with an initial value
+     */
+    public final IntList3 newInstance() {
+        return new IntList3();
+    }
+
+    /**
+     * Resets {@code this} to an initial value.
+     *
+     * @clears this
+     */
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Sets {@code this} to the incoming value of {@code source}, and resets
+     * {@code source} to an initial value.
+     *
+     * @param source
+     *            {@code IntList3} whose value is to be transferred
+     * @replaces this
+     * @clears source
+     * @ensures this = #source
+     */
+    public final void transferFrom(IntList3 source) {
+        assert source != null : "Violation of: source is not null";
+        assert source != this : "Violation of: source is not this";
+        this.preStart = source.preStart;
+        this.lastLeft = source.lastLeft;
+        this.postFinish = source.postFinish;
+        this.leftLength = source.leftLength;
+        this.rightLength = source.rightLength;
+        source.createNewRep();
+        assert this.conventionHolds();
+        assert source.conventionHolds();
+    }
+
+    /**
+     * Adds {@code x} to the beginning of {@code this.right}.
+     *
+     * @param x
+     *            the entry to be added
+     * @updates this.right
+     * @ensures this.right = <x> * #this.right
+     */
+    public final void addRightFront(int x) {
+
+        //Declare the new node to add.
+        Node newRightFront = new Node();
+        newRightFront.data = x;
+
+        //Insert the newRightFront in the DLL by update the double links.
+        Node lastLeft = this.lastLeft;
+        Node oldRightFront = lastLeft.next;
+        lastLeft.next = newRightFront;
+        newRightFront.next = oldRightFront;
+        oldRightFront.previous = newRightFront;
+        newRightFront.previous = lastLeft;
+
+        //Update the rightLength.
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Removes and returns the entry at the front of {@code this.right}.
+     *
+     * @return the front entry of {@code this.right}
+     * @updates this.right
+     * @requires this.right /= <>
+     * @ensures #this.right = <removeRightFront> * this.right
+     */
+    public final int removeRightFront() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Remove the oldRightFront from DLL by updating the double links.
+        Node lastLeft = this.lastLeft;
+        Node oldRightFront = lastLeft.next;
+        Node newRightFront = oldRightFront.next;
+        lastLeft.next = newRightFront;
+        newRightFront.previous = lastLeft;
+
+        //Update the this.rightLength.
+        this.rightLength--;
+
+        assert this.conventionHolds();
+
+        return oldRightFront.data;
+    }
+
+    /**
+     * Advances the position in {@code this} by one.
+     *
+     * @updates this
+     * @requires this.right /= <>
+     * @ensures <pre>
+     * this.left * this.right = #this.left * #this.right  and
+     * |this.left| = |#this.left| + 1
+     * </pre>
+     */
+    public final void advance() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        this.lastLeft = this.lastLeft.next;
+        this.leftLength++;
+        this.rightLength--;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Moves the position in {@code this} one back.
+     *
+     * @updates this
+     * @requires this.left /= <>
+     * @ensures <pre>
+     * this.left * this.right = #this.left * #this.right  and
+     * |this.left| = |#this.left| - 1
+     * </pre>
+     */
+    public final void retreat() {
+        assert this.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        this.lastLeft = this.lastLeft.previous;
+        this.leftLength--;
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Moves the position in {@code this} to the beginning.
+     *
+     * @updates this
+     * @ensures this.left = <> and this.right = #this.left * #this.right
+     */
+    public final void moveToStart() {
+
+        this.lastLeft = this.preStart;
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Moves the position in {@code this} to the end.
+     *
+     * @updates this
+     * @ensures this.left = #this.left * #this.right and this.right = <>
+     */
+    public final void moveToFinish() {
+
+        this.lastLeft = this.postFinish.previous;
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Reports length of {@code this.left}.
+     *
+     * @return the length of {@code this.left}
+     * @ensures leftLength = |this.left|
+     */
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.leftLength;
+    }
+
+    /**
+     * Reports length of {@code this.right}.
+     *
+     * @return the length of {@code this.right}
+     * @ensures rightLength = |this.right|
+     */
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.rightLength;
+    }
+
+    /**
+     * Returns an iterator over {@code this.left * this.right} whose
+     * {@code nextInt} does not box the entries.
+     *
+     * @return the iterator
+     */
+    public final PrimitiveIterator.OfInt iterator() {
+        assert this.conventionHolds();
+        return new IntList3Iterator();
+    }
+
+    /**
+     * Implementation of {@code PrimitiveIterator.OfInt} interface for
+     * {@code IntList3}.
+     */
+    private final class IntList3Iterator implements PrimitiveIterator.OfInt {
+
+        /**
+         * Current node in the linked list.
+         */
+        private Node current;
+
+        /**
+         * No-argument constructor.
+         */
+        private IntList3Iterator() {
+            this.current = IntList3.this.preStart.next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != IntList3.this.postFinish;
+        }
+
+        @Override
+        public int nextInt() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            int x = this.current.data;
+            this.current = this.current.next;
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /*
+     * Common methods (from Object) -------------------------------------------
+     */
+
+    @Override
+    public final boolean equals(Object obj) {
+        boolean result = obj == this;
+        if (!result && obj instanceof IntList3) {
+            IntList3 other = (IntList3) obj;
+            result = this.leftLength == other.leftLength
+                    && this.rightLength == other.rightLength;
+            Node n = this.preStart.next;
+            Node m = other.preStart.next;
+            while (result && n != this.postFinish) {
+                result = n.data == m.data;
+                n = n.next;
+                m = m.next;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public final int hashCode() {
+        final int a = 37;
+        int result = this.leftLength;
+        for (Node n = this.preStart.next; n != this.postFinish; n = n.next) {
+            result = a * result + Integer.hashCode(n.data);
+        }
+        return result;
+    }
+
+    @Override
+    public final String toString() {
+        StringBuilder result = new StringBuilder("(<");
+        for (Node n = this.preStart.next; n != this.postFinish; n = n.next) {
+            result.append(n.data);
+            if (n == this.lastLeft) {
+                result.append(">,<");
+            } else if (n.next != this.postFinish) {
+                result.append(",");
+            }
+        }
+        if (this.lastLeft == this.preStart) {
+            result.insert(2, ">,<");
+        }
+        result.append(">)");
+        return result.toString();
+    }
+
+}
@@ -1,15 +1,87 @@
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import components.list.List;
 import components.list.ListSecondary;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
 
 /**
  * {@code List} represented as a doubly linked list, done "bare-handed", with
  * implementations of primary methods and {@code retreat} secondary method.
  *
  * <p>
- * Execution-time performance of all methods implemented in this class is O(1).
+ * Execution-time performance of all methods implemented in this class is O(1),
+ * except:
+ * </p>
+ * <ul>
+ * <li>{@code sort} and {@code parallelSort}: O(n log n);</li>
+ * <li>{@code removeRight(k)}: O(k);</li>
+ * <li>{@code addAllRightFront}: O(number of entries added);</li>
+ * <li>{@code jumpToPosition}: O(distance to the nearest of the start, the
+ * current position, the finish, and the markers), or O(log n) (expected)
+ * with the index on (see {@code setIndexed}), which also makes
+ * {@code addRightFront} and {@code removeRightFront} O(log n) (expected) and
+ * whose first build after it is dropped is O(n);</li>
+ * <li>{@code setRecycleLimit}: O(number of recycled nodes released);</li>
+ * <li>{@code checkConvention}: O(n);</li>
+ * <li>{@code append} and {@code swapRights} between lists not flipped alike:
+ * O(n) (see below);</li>
+ * <li>with assertion checking on, every method in the default {@code sampled}
+ * validation level: amortized O(1), with an O(n) check once every
+ * max({@value #SAMPLE_PERIOD}, n) calls, and in the {@code full} level:
+ * O(n).</li>
+ * </ul>
+ * <p>
+ * Each marker (see {@code setMarker}) adds O(1) to the cost of
+ * {@code addRightFront} and {@code removeRightFront}.
+ * </p>
+ *
+ * <p>
+ * With assertion checking on, how much of the convention is checked by each
+ * method is selected by the system property {@code List3.validation}:
+ * {@code none}; {@code local}, which checks only the fields and the nodes
+ * around {@code lastLeft} and the "smart" nodes, in O(1); {@code sampled}
+ * (the default), which adds a full O(n) check once every
+ * max({@value #SAMPLE_PERIOD}, n) calls for each list, so that each call is
+ * still amortized O(1); or {@code full}, which checks the whole list on every
+ * call. {@code checkConvention} runs a full check on demand.
+ * </p>
+ *
+ * <p>
+ * {@code flip} is O(1): it only exchanges the roles of the "smart" nodes and
+ * of the {@code next} and {@code previous} links, which every method reads
+ * through {@code after} and {@code before}. {@code append} and
+ * {@code swapRights} splice in O(1) only between lists flipped alike; otherwise
+ * they fall back to the entry-by-entry versions.
+ * </p>
+ *
+ * <p>
+ * For Java Flight Recorder, {@code List3} emits events in category "List3"
+ * for work that may be O(n): full convention checks and iterations that last
+ * at least 1 ms, and transfers, cursor walks (runs of {@code advance} or
+ * {@code retreat} calls, and walks of {@code jumpToPosition}) of at least
+ * {@value #EVENT_MIN_LENGTH} entries. Each event has a stack trace, which shows
+ * the call site. A run of {@code advance} or {@code retreat} calls, and an
+ * iteration that stops before the end, are reported when the value of the
+ * list next changes, its position next changes some other way, or
+ * {@code iterator} is called again, so their stack trace is that of the call
+ * that ended them.
  * </p>
  *
  * @param <T>
@@ -20,15 +92,33 @@ import components.list.ListSecondary;
  * [$this.preStart is not null]  and
  * [$this.lastLeft is not null]  and
  * [$this.postFinish is not null]  and
+ * [in the doubly linked list of nodes, and in the correspondence, next
+ *  means previous and previous means next if $this.flipped]  and
  * [$this.preStart points to the first node of a doubly linked list
  *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
  * [$this.lastLeft points to the ($this.leftLength + 1)-th node in
  *  that doubly linked list]  and
  * [$this.postFinish points to the last node in that doubly linked list]  and
+ * [$this.preStart.previous = null]  and  [$this.postFinish.next = null]  and
  * [for every node n in the doubly linked list of nodes, except the one
  *  pointed to by $this.preStart, n.previous.next = n]  and
  * [for every node n in the doubly linked list of nodes, except the one
- *  pointed to by $this.postFinish, n.next.previous = n]
+ *  pointed to by $this.postFinish, n.next.previous = n]  and
+ * [0 <= $this.spareCount <= $this.spareLimit]  and
+ * [$this.spare points to the first node of a singly linked list, linked
+ *  through next (never flipped), of $this.spareCount nodes that are not
+ *  in the doubly linked list of nodes]  and
+ * [if $this.indexTop is not null, it is the head of the top one of
+ *  $this.indexLevels levels of express entries, where each level is a
+ *  chain, linked through next, whose first entry refers to $this.preStart,
+ *  every entry e refers to a node in the doubly linked list (in order along
+ *  the chain), e.width is the distance from e.node to the node referred
+ *  to by e.next (or to $this.postFinish if e.next is null), and e.down is
+ *  the entry for e.node one level lower (null at the lowest level)]  and
+ * [for i in [0, $this.markerCount), $this.markers[i].node points to the
+ *  ($this.markers[i].pos + 1)-th node in the doubly linked list, and
+ *  $this.markers[i].pos <= $this.leftLength + $this.rightLength]  and
+ * [the names of $this.markers[0, $this.markerCount) are distinct]
  * </pre>
  * @correspondence <pre>
  * this =
@@ -69,135 +159,1771 @@ public class List3<T> extends ListSecondary<T> {
     }
 
     /**
-     * "Smart node" before start node of doubly linked list.
+     * Express entry of the indexable skip list over the doubly linked list of
+     * nodes.
+     */
+    private final class Express {
+
+        /**
+         * Node of the doubly linked list this entry refers to.
+         */
+        private Node node;
+
+        /**
+         * Number of positions from this.node to the node of this.next, or to
+         * postFinish if this.next is null.
+         */
+        private int width;
+
+        /**
+         * Next entry at the same level, or null.
+         */
+        private Express next;
+
+        /**
+         * Entry for the same node one level lower, or null at the lowest
+         * level.
+         */
+        private Express down;
+
+    }
+
+    /**
+     * Named marker: a saved position and the node at it.
+     */
+    private final class Marker {
+
+        /**
+         * Name of the marker.
+         */
+        private String name;
+
+        /**
+         * Node at the marked position, i.e., the last node of the left part
+         * when the position is this.pos.
+         */
+        private Node node;
+
+        /**
+         * Marked position, as a length of this.left.
+         */
+        private int pos;
+
+    }
+
+    /**
+     * JFR event for a full O(n) check of the convention.
+     */
+    @Name("List3.FullCheck")
+    @Label("List3 Full Convention Check")
+    @Category("List3")
+    @Description("Full O(n) check of the convention of a List3")
+    @StackTrace(true)
+    @Threshold("1 ms")
+    private static final class FullCheckEvent extends Event {
+
+        /**
+         * Length of the list checked.
+         */
+        @Label("Length")
+        private int length;
+
+    }
+
+    /**
+     * JFR event for an iteration, from the call of {@code iterator} to the
+     * last call of {@code next}.
+     */
+    @Name("List3.Iteration")
+    @Label("List3 Iteration")
+    @Category("List3")
+    @Description("Iteration over a List3, from iterator() to the last next()"
+            + " call")
+    @StackTrace(true)
+    @Threshold("1 ms")
+    private static final class IterationEvent extends Event {
+
+        /**
+         * Number of entries returned.
+         */
+        @Label("Entries")
+        private int entries;
+
+    }
+
+    /**
+     * JFR event for a transferFrom of a long list.
+     */
+    @Name("List3.Transfer")
+    @Label("List3 Transfer")
+    @Category("List3")
+    @Description("transferFrom of a List3 of at least " + EVENT_MIN_LENGTH
+            + " entries")
+    @StackTrace(true)
+    private static final class TransferEvent extends Event {
+
+        /**
+         * Length of the list transferred.
+         */
+        @Label("Length")
+        private int length;
+
+    }
+
+    /**
+     * JFR event for a long walk of the position.
+     */
+    @Name("List3.CursorWalk")
+    @Label("List3 Cursor Walk")
+    @Category("List3")
+    @Description("Walk of the position of a List3 over at least "
+            + EVENT_MIN_LENGTH + " entries")
+    @StackTrace(true)
+    private static final class CursorWalkEvent extends Event {
+
+        /**
+         * How the walk was made: "advance/retreat" or "jumpToPosition".
+         */
+        @Label("Method")
+        private String method;
+
+        /**
+         * Number of entries walked over.
+         */
+        @Label("Steps")
+        private int steps;
+
+        /**
+         * Length of the list.
+         */
+        @Label("Length")
+        private int length;
+
+    }
+
+    /**
+     * Minimum number of entries for a transfer or a cursor walk to be
+     * reported to JFR.
+     */
+    private static final int EVENT_MIN_LENGTH = 1 << 12;
+
+    /**
+     * Maximum number of levels of the indexable skip list.
+     */
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * Number of entries up to which {@code parallelSort} sorts a chain in the
+     * current thread.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
+    /**
+     * Fork-join task that sorts a chain of nodes, linked through next, by
+     * sorting its two halves in parallel and merging them.
+     */
+    private final class SortTask extends RecursiveTask<Node> {
+
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * First node of the chain.
+         */
+        private final Node first;
+
+        /**
+         * Number of nodes in the chain.
+         */
+        private final int count;
+
+        /**
+         * Order to sort by.
+         */
+        private final Comparator<? super T> order;
+
+        /**
+         * Constructor from the chain and the order.
+         *
+         * @param first
+         *            the first node of the chain
+         * @param count
+         *            the number of nodes in the chain
+         * @param order
+         *            the order
+         */
+        private SortTask(Node first, int count, Comparator<? super T> order) {
+            this.first = first;
+            this.count = count;
+            this.order = order;
+        }
+
+        @Override
+        protected Node compute() {
+            Node result;
+            if (this.count <= PARALLEL_SORT_THRESHOLD) {
+                result = List3.this.sortChain(this.first, this.order);
+            } else {
+                //Cut the chain in two halves.
+                int half = this.count / 2;
+                Node last = this.first;
+                for (int i = 1; i < half; i++) {
+                    last = last.next;
+                }
+                Node second = last.next;
+                last.next = null;
+
+                //Sort the first half in another thread, the second here.
+                SortTask firstHalf = new SortTask(this.first, half, this.order);
+                firstHalf.fork();
+                Node sortedSecond = new SortTask(second, this.count - half,
+                        this.order).compute();
+                result = List3.this.merge(firstHalf.join(), sortedSecond,
+                        this.order);
+            }
+            return result;
+        }
+
+    }
+
+    /**
+     * How much of the convention {@code conventionHolds} checks.
+     */
+    enum Validation {
+        /**
+         * Nothing is checked.
+         */
+        NONE,
+        /**
+         * O(1) checks of the fields and the nodes around them.
+         */
+        LOCAL,
+        /**
+         * Local checks, plus a full check once every max(SAMPLE_PERIOD, n)
+         * times.
+         */
+        SAMPLED,
+        /**
+         * Full O(n) check every time.
+         */
+        FULL
+    }
+
+    /**
+     * Least number of calls of {@code conventionHolds} per full check, at
+     * level SAMPLED.
+     */
+    private static final int SAMPLE_PERIOD = 1024;
+
+    /**
+     * Validation level, from the system property {@code List3.validation}.
+     */
+    private static final Validation VALIDATION = validationLevel(
+            System.getProperty("List3.validation"));
+
+    /**
+     * "Smart node" before start node of doubly linked list.
+     */
+    private Node preStart;
+
+    /**
+     * Last node of doubly linked list in this.left.
+     */
+    private Node lastLeft;
+
+    /**
+     * "Smart node" after finish node of linked list.
+     */
+    private Node postFinish;
+
+    /**
+     * Number of advance and retreat calls since the position last changed
+     * some other way or the value changed.
+     */
+    private int walkSteps;
+
+    /**
+     * JFR event of the iteration over this last started, while it may still
+     * be in progress, or null.
+     */
+    private IterationEvent openIteration;
+
+    /**
+     * Whether the list is flipped, i.e., runs from preStart to postFinish
+     * through the previous links instead of the next links.
+     */
+    private boolean flipped;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * First node of the pool of recycled nodes, or null if the pool is empty.
+     */
+    private Node spare;
+
+    /**
+     * Number of nodes in the pool of recycled nodes.
+     */
+    private int spareCount;
+
+    /**
+     * Maximum number of nodes kept in the pool of recycled nodes; 0 means
+     * node recycling is off.
+     */
+    private int spareLimit;
+
+    /**
+     * Number of calls of {@code conventionHolds} since the last full check.
+     */
+    private int checksSinceFull;
+
+    /**
+     * Whether {@code jumpToPosition} may build and use the indexable skip
+     * list.
+     */
+    private boolean indexed;
+
+    /**
+     * Head of the top level of the indexable skip list, or null if there is
+     * currently no index.
+     */
+    private Express indexTop;
+
+    /**
+     * Number of levels of the indexable skip list.
+     */
+    private int indexLevels;
+
+    /**
+     * Scratch space for the last entry before a position at each level,
+     * indexed by level (0 is the lowest).
+     */
+    private Express[] update;
+
+    /**
+     * Scratch space for the positions of the entries in this.update.
+     */
+    private int[] updatePos;
+
+    /**
+     * Named markers, in [0, markerCount), or null if there have never been
+     * any.
+     */
+    private Marker[] markers;
+
+    /**
+     * Number of named markers.
+     */
+    private int markerCount;
+
+    /**
+     * Returns the validation level named by {@code level}, the value of the
+     * system property {@code List3.validation}.
+     *
+     * @param level
+     *            the name of the level, in any case, or null
+     * @return the level named by level, or SAMPLED if level is null or not
+     *         recognized
+     */
+    static Validation validationLevel(String level) {
+        Validation result = Validation.SAMPLED;
+        if (level != null) {
+            for (Validation v : Validation.values()) {
+                if (v.name().equalsIgnoreCase(level.trim())) {
+                    result = v;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the node after {@code n} in the doubly linked list, i.e.,
+     * {@code n.next}, or {@code n.previous} if {@code this} is flipped.
+     *
+     * @param n
+     *            the node
+     * @return the node after n
+     */
+    private Node after(Node n) {
+        return this.flipped ? n.previous : n.next;
+    }
+
+    /**
+     * Returns the node before {@code n} in the doubly linked list, i.e.,
+     * {@code n.previous}, or {@code n.next} if {@code this} is flipped.
+     *
+     * @param n
+     *            the node
+     * @return the node before n
+     */
+    private Node before(Node n) {
+        return this.flipped ? n.next : n.previous;
+    }
+
+    /**
+     * Double links {@code b} right after {@code a} in the doubly linked list.
+     *
+     * @param a
+     *            the earlier node
+     * @param b
+     *            the later node
+     * @ensures after(a) = b  and  before(b) = a
+     */
+    private void link(Node a, Node b) {
+        if (this.flipped) {
+            a.previous = b;
+            b.next = a;
+        } else {
+            a.next = b;
+            b.previous = a;
+        }
+    }
+
+    /**
+     * Reports whether {@code conventionHolds} should check the whole
+     * convention at validation level {@code level}, after {@code checks}
+     * calls since the last full check, of a list of length {@code length}.
+     * At level SAMPLED, a full check is due once every
+     * max(SAMPLE_PERIOD, length) calls, so its O(length) cost adds only O(1)
+     * to each call, amortized.
+     *
+     * @param level
+     *            the validation level
+     * @param checks
+     *            the number of calls since the last full check, this one
+     *            included
+     * @param length
+     *            the length of the list
+     * @return true iff a full check is due
+     * @requires checks > 0  and  length >= 0
+     */
+    static boolean fullCheckDue(Validation level, int checks, int length) {
+        boolean result;
+        switch (level) {
+            case NONE:
+            case LOCAL:
+                result = false;
+                break;
+            case SAMPLED:
+                result = checks >= Math.max(SAMPLE_PERIOD, length);
+                break;
+            default:
+                result = true;
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Checks the convention to the extent selected by the validation level.
+     *
+     * @return true if the checked part of the convention holds (or if
+     *         assertion checking is off); otherwise reports a violated
+     *         assertion
+     */
+    private boolean conventionHolds() {
+        switch (VALIDATION) {
+            case NONE:
+                break;
+            case LOCAL:
+                this.conventionHoldsLocally();
+                break;
+            case SAMPLED:
+                this.conventionHoldsLocally();
+                this.checksSinceFull++;
+                if (fullCheckDue(VALIDATION, this.checksSinceFull,
+                        this.leftLength + this.rightLength)) {
+                    this.checksSinceFull = 0;
+                    this.conventionHoldsFully();
+                }
+                break;
+            default:
+                this.conventionHoldsFully();
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Checks, in O(1), the parts of the convention that involve only the
+     * fields and the nodes next to $this.preStart, $this.lastLeft, and
+     * $this.postFinish.
+     *
+     * @return true if those parts of the convention hold (or if assertion
+     *         checking is off); otherwise reports a violated assertion
+     */
+    private boolean conventionHoldsLocally() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert this.preStart != null : "Violation of: $this.preStart is not null";
+        assert this.lastLeft != null : "Violation of: $this.lastLeft is not null";
+        assert this.postFinish != null : "Violation of: $this.postFinish is not null";
+        assert this.before(this.preStart) == null : ""
+                + "Violation of: [$this.preStart.previous = null]";
+        assert this.after(this.postFinish) == null : ""
+                + "Violation of: [$this.postFinish.next = null]";
+
+        assert (this.leftLength == 0) == (this.lastLeft == this.preStart) : ""
+                + "Violation of: [$this.lastLeft points to the"
+                + " ($this.leftLength + 1)-th node in that doubly linked list]";
+        assert (this.rightLength == 0) == (this.after(
+                this.lastLeft) == this.postFinish) : ""
+                        + "Violation of: [$this.preStart points to the first"
+                        + " node of a doubly linked list containing"
+                        + " ($this.leftLength + $this.rightLength + 2) nodes]";
+        assert (this.after(this.preStart) != null)
+                && (this.before(this.after(this.preStart)) == this.preStart) : ""
+                        + "Violation of: [for every node n in the doubly linked"
+                        + " list of nodes, except the one pointed to by"
+                        + " $this.postFinish, n.next.previous = n]";
+        assert (this.after(this.lastLeft) != null)
+                && (this.before(this.after(this.lastLeft)) == this.lastLeft) : ""
+                        + "Violation of: [for every node n in the doubly linked"
+                        + " list of nodes, except the one pointed to by"
+                        + " $this.postFinish, n.next.previous = n]";
+        assert (this.lastLeft == this.preStart)
+                || (this.after(this.before(this.lastLeft)) == this.lastLeft) : ""
+                        + "Violation of: [for every node n in the doubly linked"
+                        + " list of nodes, except the one pointed to by"
+                        + " $this.preStart, n.previous.next = n]";
+        assert (this.before(this.postFinish) != null)
+                && (this.after(this.before(this.postFinish)) == this.postFinish) : ""
+                        + "Violation of: [for every node n in the doubly linked"
+                        + " list of nodes, except the one pointed to by"
+                        + " $this.preStart, n.previous.next = n]";
+        assert 0 <= this.spareCount && this.spareCount <= this.spareLimit : ""
+                + "Violation of: [0 <= $this.spareCount <= $this.spareLimit]";
+
+        return true;
+    }
+
+    /**
+     * Checks the whole convention, regardless of the validation level. This is
+     * O(n); it is meant for on-demand checks, e.g., at checkpoints or in tests.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     */
+    public final boolean checkConvention() {
+        return this.conventionHoldsFully();
+    }
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [$this.preStart is not null]  and
+     * [$this.lastLeft is not null]  and
+     * [$this.postFinish is not null]  and
+     * [$this.preStart points to the first node of a doubly linked list
+     *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+     * [$this.lastLeft points to the ($this.leftLength + 1)-th node in
+     *  that doubly linked list]  and
+     * [$this.postFinish points to the last node in that doubly linked list]  and
+     * [$this.preStart.previous = null]  and  [$this.postFinish.next = null]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.preStart, n.previous.next = n]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.postFinish, n.next.previous = n]  and
+     * [0 <= $this.spareCount <= $this.spareLimit]  and
+     * [$this.spare points to the first node of a singly linked list, linked
+     *  through next (never flipped), of $this.spareCount nodes that are not
+     *  in the doubly linked list of nodes]  and
+     * [if $this.indexTop is not null, it is the head of the top one of
+     *  $this.indexLevels levels of express entries, where each level is a
+     *  chain, linked through next, whose first entry refers to
+     *  $this.preStart, e.width is the distance from e.node to the node
+     *  referred to by e.next (or to $this.postFinish if e.next is null), and
+     *  e.down is the entry for e.node one level lower]  and
+     * [for i in [0, $this.markerCount), $this.markers[i].node points to the
+     *  ($this.markers[i].pos + 1)-th node in the doubly linked list]
+     * </pre>
+     */
+    private boolean conventionHoldsFully() {
+        FullCheckEvent event = new FullCheckEvent();
+        event.begin();
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert this.preStart != null : "Violation of: $this.preStart is not null";
+        assert this.lastLeft != null : "Violation of: $this.lastLeft is not null";
+        assert this.postFinish != null : "Violation of: $this.postFinish is not null";
+        assert this.before(this.preStart) == null : ""
+                + "Violation of: [$this.preStart.previous = null]";
+        assert this.after(this.postFinish) == null : ""
+                + "Violation of: [$this.postFinish.next = null]";
+
+        int count = 0;
+        boolean lastLeftFound = false;
+        Node n = this.preStart;
+        while ((count < this.leftLength + this.rightLength + 1)
+                && (n != this.postFinish)) {
+            count++;
+            if (n == this.lastLeft) {
+                /*
+                 * Check $this.lastLeft points to the ($this.leftLength + 1)-th
+                 * node in that doubly linked list
+                 */
+                assert count == this.leftLength + 1 : ""
+                        + "Violation of: [$this.lastLeft points to the"
+                        + " ($this.leftLength + 1)-th node in that doubly linked list]";
+                lastLeftFound = true;
+            }
+            /*
+             * Check for every node n in the doubly linked list of nodes, except
+             * the one pointed to by $this.postFinish, n.next.previous = n
+             */
+            assert (this.after(n) != null)
+                    && (this.before(this.after(n)) == n) : ""
+                            + "Violation of: [for every node n in the doubly"
+                            + " linked list of nodes, except the one pointed to"
+                            + " by $this.postFinish, n.next.previous = n]";
+            n = this.after(n);
+            /*
+             * Check for every node n in the doubly linked list of nodes, except
+             * the one pointed to by $this.preStart, n.previous.next = n
+             */
+            assert this.after(this.before(n)) == n : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.preStart, n.previous.next = n]";
+        }
+        count++;
+        assert count == this.leftLength + this.rightLength + 2 : ""
+                + "Violation of: [$this.preStart points to the first node of"
+                + " a doubly linked list containing"
+                + " ($this.leftLength + $this.rightLength + 2) nodes]";
+        assert lastLeftFound : ""
+                + "Violation of: [$this.lastLeft points to the"
+                + " ($this.leftLength + 1)-th node in that doubly linked list]";
+        assert n == this.postFinish : ""
+                + "Violation of: [$this.postFinish points to the last"
+                + " node in that doubly linked list]";
+
+        assert 0 <= this.spareCount && this.spareCount <= this.spareLimit : ""
+                + "Violation of: [0 <= $this.spareCount <= $this.spareLimit]";
+        int spares = 0;
+        Node s = this.spare;
+        while ((s != null) && (spares <= this.spareCount)) {
+            spares++;
+            s = s.next;
+        }
+        assert spares == this.spareCount : ""
+                + "Violation of: [$this.spare points to the first node of a"
+                + " singly linked list, linked through next, of"
+                + " $this.spareCount nodes]";
+
+        for (int i = 0; i < this.markerCount; i++) {
+            Marker m = this.markers[i];
+            assert 0 <= m.pos && m.pos <= this.leftLength + this.rightLength : ""
+                    + "Violation of: [$this.markers[i].pos <="
+                    + " $this.leftLength + $this.rightLength]";
+            Node mn = this.preStart;
+            for (int k = 0; k < m.pos; k++) {
+                mn = this.after(mn);
+            }
+            assert mn == m.node : ""
+                    + "Violation of: [$this.markers[i].node points to the"
+                    + " ($this.markers[i].pos + 1)-th node in the doubly"
+                    + " linked list]";
+        }
+
+        if (this.indexTop != null) {
+            Express head = this.indexTop;
+            for (int level = this.indexLevels - 1; level >= 0; level--) {
+                assert head.node == this.preStart : ""
+                        + "Violation of: [the first entry of each level"
+                        + " refers to $this.preStart]";
+                int widths = 0;
+                for (Express e = head; e != null; e = e.next) {
+                    assert (level == 0) == (e.down == null)
+                            && (e.down == null || e.down.node == e.node) : ""
+                                    + "Violation of: [e.down is the entry for"
+                                    + " e.node one level lower]";
+                    widths += e.width;
+                }
+                assert widths == this.leftLength + this.rightLength + 1 : ""
+                        + "Violation of: [e.width is the distance from e.node"
+                        + " to the node referred to by e.next]";
+                head = head.down;
+            }
+            int pos = 0;
+            Express e = this.indexTop;
+            while (e.down != null) {
+                e = e.down;
+            }
+            for (n = this.preStart; n != this.postFinish; n = this.after(n)) {
+                if ((e != null) && (e.node == n)) {
+                    assert pos + e.width <= this.leftLength
+                            + this.rightLength + 1 : ""
+                                    + "Violation of: [e.width is the distance"
+                                    + " from e.node to the node referred to by"
+                                    + " e.next]";
+                    pos += e.width;
+                    e = e.next;
+                }
+                pos--;
+                assert pos >= 0 : ""
+                        + "Violation of: [e.width is the distance from e.node"
+                        + " to the node referred to by e.next]";
+            }
+        }
+
+        event.length = this.leftLength + this.rightLength;
+        event.commit();
+
+        return true;
+    }
+
+    /**
+     * Ends the current run of advance and retreat calls and the iteration last
+     * started, reporting them to JFR if they are long. Called by every method
+     * that changes the value or moves the position other than by
+     * {@code advance} and {@code retreat}, and by {@code iterator}, so that an
+     * iteration stopped early is reported too.
+     */
+    private void endRuns() {
+        if (this.walkSteps > 0) {
+            this.endWalk();
+        }
+        if (this.openIteration != null) {
+            this.openIteration.commit();
+            this.openIteration = null;
+        }
+    }
+
+    /**
+     * Ends the current run of advance and retreat calls, reporting it to JFR
+     * if it is long.
+     */
+    private void endWalk() {
+        if (this.walkSteps >= EVENT_MIN_LENGTH) {
+            CursorWalkEvent event = new CursorWalkEvent();
+            if (event.shouldCommit()) {
+                event.method = "advance/retreat";
+                event.steps = this.walkSteps;
+                event.length = this.leftLength + this.rightLength;
+                event.commit();
+            }
+        }
+        this.walkSteps = 0;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        //Declare the preStart node.
+        Node preStart = new Node();
+        preStart.previous = null;
+
+        //Declare the postFinish node.
+        Node postFinish = new Node();
+        postFinish.next = null;
+
+        //Double link the preStart and postFinish nodes.
+        preStart.next = postFinish;
+        postFinish.previous = preStart;
+        this.flipped = false;
+
+        //Link the nodes with Instance Variables(Fields).
+        this.preStart = preStart;
+        this.lastLeft = preStart;
+        this.postFinish = postFinish;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+        //There is no index until one is needed; markers go to the start.
+        this.indexTop = null;
+        this.moveMarkersAfter(-1, preStart, 0);
+
+    }
+
+    /**
+     * Resets the representation to an empty list reusing the current "smart"
+     * nodes, so that no allocation takes place. The data nodes are unlinked
+     * but not touched, so they may be in use elsewhere.
+     *
+     * @requires $this.preStart and $this.postFinish are not null
+     */
+    private void reuseRep() {
+        Node preStart = this.preStart;
+        Node postFinish = this.postFinish;
+
+        //Double link the preStart and postFinish nodes, unflipped, and drop
+        //their outer links, which may still point into the old chain.
+        preStart.next = postFinish;
+        postFinish.previous = preStart;
+        preStart.previous = null;
+        postFinish.next = null;
+        this.flipped = false;
+
+        //Link the nodes with Instance Variables(Fields).
+        this.lastLeft = preStart;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+        //There is no index until one is needed; markers go to the start.
+        this.indexTop = null;
+        this.moveMarkersAfter(-1, preStart, 0);
+    }
+
+    /**
+     * Returns a node for a new entry, taken from the pool of recycled nodes
+     * if possible.
+     *
+     * @return the node
+     * @ensures newNode is not in the doubly linked list of nodes
+     */
+    private Node newNode() {
+        Node n = this.spare;
+        if (n == null) {
+            n = new Node();
+        } else {
+            this.spare = n.next;
+            this.spareCount--;
+        }
+        return n;
+    }
+
+    /**
+     * Gives {@code n}, which has just been unlinked from the doubly linked
+     * list, back to the pool of recycled nodes, unless the pool is full, in
+     * which case {@code n} is left to the garbage collector.
+     *
+     * @param n
+     *            the node to recycle
+     * @requires n is not in the doubly linked list of nodes
+     */
+    private void recycle(Node n) {
+        if (this.spareCount < this.spareLimit) {
+            n.data = null;
+            n.previous = null;
+            n.next = this.spare;
+            this.spare = n;
+            this.spareCount++;
+        }
+    }
+
+    /**
+     * Sets the maximum number of nodes kept for reuse by {@code this}; nodes
+     * above the new limit are released to the garbage collector right away.
+     * With a positive limit, {@code removeRightFront} keeps unlinked nodes
+     * for later {@code addRightFront} calls, and {@code clear} and
+     * {@code transferFrom} reuse the existing "smart" nodes, so a list at a
+     * steady size allocates nothing. A limit of 0 (the default) turns node
+     * recycling off.
+     *
+     * @param limit
+     *            the maximum number of recycled nodes to keep
+     * @requires limit >= 0
+     */
+    public final void setRecycleLimit(int limit) {
+        assert limit >= 0 : "Violation of: limit >= 0";
+
+        this.spareLimit = limit;
+        while (this.spareCount > limit) {
+            Node n = this.spare;
+            this.spare = n.next;
+            n.next = null;
+            this.spareCount--;
+        }
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Builds the indexable skip list over the current doubly linked list, in
+     * O(n). The node at position i (counting $this.preStart as position 0)
+     * gets one express entry for each factor of 2 in i.
+     *
+     * @ensures $this.indexTop is not null
+     */
+    private void buildIndex() {
+        int length = this.leftLength + this.rightLength;
+        int levels = Math.max(1, 31 - Integer.numberOfLeadingZeros(length));
+
+        //Make the heads of all the levels, referring to preStart.
+        Express below = null;
+        for (int level = 0; level < levels; level++) {
+            Express head = new Express();
+            head.node = this.preStart;
+            head.down = below;
+            this.update[level] = head;
+            this.updatePos[level] = 0;
+            below = head;
+        }
+        this.indexTop = below;
+        this.indexLevels = levels;
+
+        //Add the entries for the data nodes, level by level.
+        Node n = this.after(this.preStart);
+        for (int pos = 1; pos <= length; pos++) {
+            int height = Math.min(Integer.numberOfTrailingZeros(pos), levels);
+            below = null;
+            for (int level = 0; level < height; level++) {
+                Express e = new Express();
+                e.node = n;
+                e.down = below;
+                this.update[level].width = pos - this.updatePos[level];
+                this.update[level].next = e;
+                this.update[level] = e;
+                this.updatePos[level] = pos;
+                below = e;
+            }
+            n = this.after(n);
+        }
+        for (int level = 0; level < levels; level++) {
+            this.update[level].width = length + 1 - this.updatePos[level];
+        }
+    }
+
+    /**
+     * Records in {@code this.update} and {@code this.updatePos}, for every
+     * level of the index, the last entry at position {@code pos} or before.
+     *
+     * @param pos
+     *            the position
+     * @return the position of the entry found at the lowest level
+     * @requires $this.indexTop is not null and
+     *           0 <= pos <= $this.leftLength + $this.rightLength
+     */
+    private int findPredecessors(int pos) {
+        Express e = this.indexTop;
+        int ePos = 0;
+        for (int level = this.indexLevels - 1; level >= 0; level--) {
+            while ((e.next != null) && (ePos + e.width <= pos)) {
+                ePos += e.width;
+                e = e.next;
+            }
+            this.update[level] = e;
+            this.updatePos[level] = ePos;
+            if (level > 0) {
+                e = e.down;
+            }
+        }
+        return ePos;
+    }
+
+    /**
+     * Updates the index for {@code newNode}, which has just been linked in
+     * right after $this.lastLeft.
+     *
+     * @param newNode
+     *            the new node
+     * @requires $this.indexTop is not null
+     */
+    private void indexInsert(Node newNode) {
+        int pos = this.leftLength + 1;
+
+        //Pick a random height, growing the index by at most one level.
+        int height = Integer
+                .numberOfTrailingZeros(ThreadLocalRandom.current().nextInt());
+        if (height > this.indexLevels) {
+            height = this.indexLevels;
+            if (this.indexLevels < MAX_LEVEL) {
+                Express head = new Express();
+                head.node = this.preStart;
+                head.down = this.indexTop;
+                head.width = this.leftLength + this.rightLength + 1;
+                this.indexTop = head;
+                this.indexLevels++;
+                height++;
+            }
+        }
+
+        //Link in entries for newNode and widen the spans over it.
+        this.findPredecessors(this.leftLength);
+        Express below = null;
+        for (int level = 0; level < this.indexLevels; level++) {
+            Express pred = this.update[level];
+            int predPos = this.updatePos[level];
+            if (level < height) {
+                Express e = new Express();
+                e.node = newNode;
+                e.down = below;
+                e.width = predPos + pred.width + 1 - pos;
+                e.next = pred.next;
+                pred.next = e;
+                pred.width = pos - predPos;
+                below = e;
+            } else {
+                pred.width++;
+            }
+        }
+    }
+
+    /**
+     * Updates the index for the removal of the node right after
+     * $this.lastLeft, which is still linked in.
+     *
+     * @requires $this.indexTop is not null and $this.rightLength > 0
+     */
+    private void indexRemove() {
+        int pos = this.leftLength + 1;
+        this.findPredecessors(this.leftLength);
+        for (int level = 0; level < this.indexLevels; level++) {
+            Express pred = this.update[level];
+            Express e = pred.next;
+            if ((e != null) && (this.updatePos[level] + pred.width == pos)) {
+                //Unlink the entry for the removed node.
+                pred.width += e.width - 1;
+                pred.next = e.next;
+            } else {
+                pred.width--;
+            }
+        }
+    }
+
+    /**
+     * Turns the position index of {@code this} on or off. With the index on,
+     * {@code jumpToPosition} is O(log n) (expected), at the cost of O(log n)
+     * (expected) {@code addRightFront} and {@code removeRightFront} and about
+     * one extra object per entry. The index is built, in O(n), by the next
+     * {@code jumpToPosition}. {@code addRightFront} and
+     * {@code removeRightFront} keep it up to date; every other method that
+     * changes the value or the order of the entries drops it, to be rebuilt by
+     * the next {@code jumpToPosition}: {@code clear}, {@code transferFrom},
+     * {@code clearLeft}, {@code clearRight}, {@code removeRight},
+     * {@code addAllRightFront}, {@code sort}, {@code parallelSort},
+     * {@code flip}, {@code append}, {@code swapRights}, and
+     * {@code splitRight}.
+     *
+     * @param on
+     *            whether the index should be on
+     */
+    public final void setIndexed(boolean on) {
+        this.indexed = on;
+        this.indexTop = null;
+        if (on && this.update == null) {
+            @SuppressWarnings("unchecked")
+            Express[] update = (Express[]) new List3<?>.Express[MAX_LEVEL];
+            this.update = update;
+
+            this.updatePos = new int[MAX_LEVEL];
+        }
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Moves the position in {@code this} to {@code pos}, walking from
+     * whichever of the start, the current position, the finish, and the
+     * markers (see {@code setMarker}) is nearest. With the index on (see
+     * {@code setIndexed}), long walks are replaced by an O(log n) expected
+     * search.
+     *
+     * @param pos
+     *            the new length of {@code this.left}
+     * @updates this
+     * @requires 0 <= pos <= |this.left| + |this.right|
+     * @ensures <pre>
+     * this.left * this.right = #this.left * #this.right  and
+     * |this.left| = pos
+     * </pre>
+     */
+    public final void jumpToPosition(int pos) {
+        int length = this.leftLength + this.rightLength;
+        assert 0 <= pos : "Violation of: 0 <= pos";
+        assert pos <= length : "Violation of: pos <= |this.left| + |this.right|";
+
+        //Find the nearest known node: the ends, the cursor, or a marker.
+        Node n = this.lastLeft;
+        int nPos = this.leftLength;
+        if (pos < Math.abs(pos - nPos)) {
+            n = this.preStart;
+            nPos = 0;
+        }
+        if (length - pos < Math.abs(pos - nPos)) {
+            n = this.before(this.postFinish);
+            nPos = length;
+        }
+        for (int i = 0; i < this.markerCount; i++) {
+            if (Math.abs(pos - this.markers[i].pos) < Math.abs(pos - nPos)) {
+                n = this.markers[i].node;
+                nPos = this.markers[i].pos;
+            }
+        }
+
+        //Use the index when the walk from there would be long.
+        if (this.indexed && Math.abs(pos - nPos) > MAX_LEVEL) {
+            if (this.indexTop == null) {
+                this.buildIndex();
+            }
+            nPos = this.findPredecessors(pos);
+            n = this.update[0].node;
+        }
+
+        //Walk the rest of the way.
+        this.endRuns();
+        if (Math.abs(pos - nPos) >= EVENT_MIN_LENGTH) {
+            CursorWalkEvent event = new CursorWalkEvent();
+            if (event.shouldCommit()) {
+                event.method = "jumpToPosition";
+                event.steps = Math.abs(pos - nPos);
+                event.length = length;
+                event.commit();
+            }
+        }
+        while (nPos < pos) {
+            n = this.after(n);
+            nPos++;
+        }
+        while (nPos > pos) {
+            n = this.before(n);
+            nPos--;
+        }
+
+        this.lastLeft = n;
+        this.leftLength = pos;
+        this.rightLength = length - pos;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Moves every marker whose position is greater than {@code after} to
+     * {@code node}, at position {@code pos}.
+     *
+     * @param after
+     *            the last position whose markers stay put
+     * @param node
+     *            the node at position {@code pos}
+     * @param pos
+     *            the new position of the moved markers
+     */
+    private void moveMarkersAfter(int after, Node node, int pos) {
+        for (int i = 0; i < this.markerCount; i++) {
+            Marker m = this.markers[i];
+            if (m.pos > after) {
+                m.node = node;
+                m.pos = pos;
+            }
+        }
+    }
+
+    /**
+     * Shifts the positions of the markers right of the cursor for an entry
+     * added to ({@code delta} = 1) or about to be removed from
+     * ({@code delta} = -1) the front of $this.right.
+     *
+     * @param delta
+     *            the change in length
+     */
+    private void shiftMarkers(int delta) {
+        int front = this.leftLength + 1;
+        for (int i = 0; i < this.markerCount; i++) {
+            Marker m = this.markers[i];
+            if (m.pos > front || (delta > 0 && m.pos == front)) {
+                m.pos += delta;
+            } else if (m.pos == front) {
+                //The marked node is the one being removed.
+                m.node = this.lastLeft;
+                m.pos = this.leftLength;
+            }
+        }
+    }
+
+    /**
+     * Returns the index in $this.markers of the marker named {@code name}, or
+     * -1 if there is none.
+     *
+     * @param name
+     *            the name of the marker
+     * @return the index of the marker
+     */
+    private int findMarker(String name) {
+        int result = -1;
+        for (int i = 0; i < this.markerCount && result < 0; i++) {
+            if (this.markers[i].name.equals(name)) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks the current position of {@code this} with {@code name}, replacing
+     * any marker with the same name. A marker stays on the same entry as
+     * entries are added and removed elsewhere; if its entry is removed, it
+     * moves to the position where that entry was. Methods that replace the
+     * whole value ({@code clear}, {@code transferFrom}) move all markers to the
+     * start, and {@code swapRights} moves the markers in {@code this.right} to
+     * the current position. Each marker adds O(1) to the cost of
+     * {@code addRightFront} and {@code removeRightFront}, so this is meant for
+     * a handful of markers.
+     *
+     * @param name
+     *            the name of the marker
+     * @requires name is not null
+     */
+    public final void setMarker(String name) {
+        assert name != null : "Violation of: name is not null";
+
+        int i = this.findMarker(name);
+        if (i < 0) {
+            if (this.markers == null) {
+                @SuppressWarnings("unchecked")
+                Marker[] markers = (Marker[]) new List3<?>.Marker[2];
+                this.markers = markers;
+
+            } else if (this.markerCount == this.markers.length) {
+                this.markers = Arrays.copyOf(this.markers,
+                        2 * this.markerCount);
+            }
+            i = this.markerCount;
+            this.markers[i] = new Marker();
+            this.markers[i].name = name;
+            this.markerCount++;
+        }
+        this.markers[i].node = this.lastLeft;
+        this.markers[i].pos = this.leftLength;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Removes the marker named {@code name}, if there is one.
+     *
+     * @param name
+     *            the name of the marker
+     * @requires name is not null
+     */
+    public final void removeMarker(String name) {
+        assert name != null : "Violation of: name is not null";
+
+        int i = this.findMarker(name);
+        if (i >= 0) {
+            this.markerCount--;
+            this.markers[i] = this.markers[this.markerCount];
+            this.markers[this.markerCount] = null;
+        }
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Reports whether {@code this} has a marker named {@code name}.
+     *
+     * @param name
+     *            the name of the marker
+     * @return true iff there is a marker named {@code name}
+     * @requires name is not null
+     */
+    public final boolean hasMarker(String name) {
+        assert name != null : "Violation of: name is not null";
+
+        return this.findMarker(name) >= 0;
+    }
+
+    /**
+     * Moves the position in {@code this} to the marker named {@code name}.
+     *
+     * @param name
+     *            the name of the marker
+     * @updates this
+     * @requires this has a marker named name
+     * @ensures <pre>
+     * this.left * this.right = #this.left * #this.right  and
+     * |this.left| = [the position of the marker named name]
+     * </pre>
+     */
+    public final void jumpToMarker(String name) {
+        assert name != null : "Violation of: name is not null";
+        int i = this.findMarker(name);
+        assert i >= 0 : "Violation of: this has a marker named name";
+
+        Marker m = this.markers[i];
+        this.endRuns();
+        this.lastLeft = m.node;
+        this.rightLength += this.leftLength - m.pos;
+        this.leftLength = m.pos;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Updates the markers for the removal of the entries at positions
+     * {@code from + 1} through {@code to}: markers on those entries move to
+     * {@code node}, at position {@code from}, and markers after them move
+     * back by {@code to - from}.
+     *
+     * @param from
+     *            the position before the removed entries
+     * @param node
+     *            the node at position {@code from}
+     * @param to
+     *            the position of the last removed entry
+     */
+    private void dropMarkers(int from, Node node, int to) {
+        for (int i = 0; i < this.markerCount; i++) {
+            Marker m = this.markers[i];
+            if (m.pos > to) {
+                m.pos -= to - from;
+            } else if (m.pos > from) {
+                m.node = node;
+                m.pos = from;
+            }
+        }
+    }
+
+    /**
+     * Removes all of {@code this.right}, in O(1). The removed nodes are left
+     * to the garbage collector, even with node recycling on.
+     *
+     * @updates this
+     * @ensures this = (#this.left, <>)
+     */
+    public final void clearRight() {
+        this.endRuns();
+        int length = this.leftLength + this.rightLength;
+
+        //Link lastLeft straight to postFinish.
+        this.link(this.lastLeft, this.postFinish);
+        this.indexTop = null;
+        if (this.markerCount > 0) {
+            this.dropMarkers(this.leftLength, this.lastLeft, length);
+        }
+
+        //Update the rightLength.
+        this.rightLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Removes all of {@code this.left}, in O(1). The removed nodes are left
+     * to the garbage collector, even with node recycling on.
+     *
+     * @updates this
+     * @ensures this = (<>, #this.right)
+     */
+    public final void clearLeft() {
+        this.endRuns();
+
+        //Link preStart straight to the front of the right part.
+        this.link(this.preStart, this.after(this.lastLeft));
+        this.indexTop = null;
+        if (this.markerCount > 0) {
+            this.dropMarkers(0, this.preStart, this.leftLength);
+        }
+
+        //Update the lastLeft and leftLength.
+        this.lastLeft = this.preStart;
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Removes the first {@code k} entries of {@code this.right}, in O(k) with
+     * a single relinking of the remaining nodes.
+     *
+     * @param k
+     *            the number of entries to remove
+     * @updates this
+     * @requires 0 <= k <= |this.right|
+     * @ensures <pre>
+     * this.left = #this.left  and
+     * there exists s: string of T
+     *  (#this.right = s * this.right  and  |s| = k)
+     * </pre>
+     */
+    public final void removeRight(int k) {
+        assert 0 <= k : "Violation of: 0 <= k";
+        assert k <= this.rightLength : "Violation of: k <= |this.right|";
+        this.endRuns();
+
+        //Walk past the removed nodes, recycling them if there is room.
+        Node n = this.after(this.lastLeft);
+        for (int i = 0; i < k; i++) {
+            Node removed = n;
+            n = this.after(n);
+            this.recycle(removed);
+        }
+
+        //Link lastLeft to the first node kept.
+        this.link(this.lastLeft, n);
+        this.indexTop = null;
+        if (this.markerCount > 0) {
+            this.dropMarkers(this.leftLength, this.lastLeft,
+                    this.leftLength + k);
+        }
+
+        //Update the rightLength.
+        this.rightLength -= k;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Splices the chain of {@code count} new nodes from {@code first} through
+     * {@code last} in right after $this.lastLeft.
+     *
+     * @param first
+     *            the first node of the chain
+     * @param last
+     *            the last node of the chain
+     * @param count
+     *            the number of nodes in the chain
+     * @requires count > 0 and the chain is linked like the doubly linked list
+     */
+    private void spliceRightFront(Node first, Node last, int count) {
+        this.endRuns();
+        Node oldRightFront = this.after(this.lastLeft);
+        this.link(this.lastLeft, first);
+        this.link(last, oldRightFront);
+        this.indexTop = null;
+        for (int i = 0; i < this.markerCount; i++) {
+            if (this.markers[i].pos > this.leftLength) {
+                this.markers[i].pos += count;
+            }
+        }
+        this.rightLength += count;
+    }
+
+    /**
+     * Adds the entries of {@code entries}, in order, at the front of
+     * {@code this.right}. The new nodes are linked to each other off to the
+     * side and spliced in at once, so this is much cheaper than one
+     * {@code addRightFront} per entry.
+     *
+     * @param entries
+     *            the entries to add
+     * @updates this
+     * @requires entries is not null and every entry of entries is not null
+     * @ensures <pre>
+     * this.left = #this.left  and  this.right = [entries] * #this.right
+     * </pre>
+     */
+    public final void addAllRightFront(T[] entries) {
+        assert entries != null : "Violation of: entries is not null";
+
+        if (entries.length > 0) {
+            assert entries[0] != null : ""
+                    + "Violation of: every entry of entries is not null";
+            Node first = this.newNode();
+            first.data = entries[0];
+            Node last = first;
+            for (int i = 1; i < entries.length; i++) {
+                assert entries[i] != null : ""
+                        + "Violation of: every entry of entries is not null";
+                Node n = this.newNode();
+                n.data = entries[i];
+                this.link(last, n);
+                last = n;
+            }
+            this.spliceRightFront(first, last, entries.length);
+        }
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Adds the entries of {@code entries}, in iteration order, at the front
+     * of {@code this.right}, linking them off to the side and splicing them in
+     * at once.
+     *
+     * @param entries
+     *            the entries to add
+     * @updates this
+     * @requires <pre>
+     * entries is not null and every entry of entries is not null and
+     * entries is not this
+     * </pre>
+     * @ensures <pre>
+     * this.left = #this.left  and  this.right = [entries] * #this.right
+     * </pre>
+     */
+    public final void addAllRightFront(Iterable<T> entries) {
+        assert entries != null : "Violation of: entries is not null";
+        assert entries != this : "Violation of: entries is not this";
+
+        this.addAllRightFront(entries.iterator());
+    }
+
+    /**
+     * Adds the entries not yet returned by {@code entries}, in order, at the
+     * front of {@code this.right}, linking them off to the side and splicing
+     * them in at once. {@code entries} is used up.
+     *
+     * @param entries
+     *            the entries to add
+     * @updates this, entries
+     * @requires <pre>
+     * entries is not null and every entry of entries is not null and
+     * entries does not iterate over this
+     * </pre>
+     * @ensures <pre>
+     * this.left = #this.left  and
+     * this.right = [#entries.unseen] * #this.right
+     * </pre>
+     */
+    public final void addAllRightFront(Iterator<T> entries) {
+        assert entries != null : "Violation of: entries is not null";
+
+        if (entries.hasNext()) {
+            Node first = this.newNode();
+            first.data = entries.next();
+            assert first.data != null : ""
+                    + "Violation of: every entry of entries is not null";
+            Node last = first;
+            int count = 1;
+            while (entries.hasNext()) {
+                Node n = this.newNode();
+                n.data = entries.next();
+                assert n.data != null : ""
+                        + "Violation of: every entry of entries is not null";
+                this.link(last, n);
+                last = n;
+                count++;
+            }
+            this.spliceRightFront(first, last, count);
+        }
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Unlinks the data nodes from the "smart" nodes and returns them as a
+     * chain linked through next (whether or not {@code this} is flipped) and
+     * ending in null.
+     *
+     * @return the first node of the chain
+     * @requires $this.leftLength + $this.rightLength > 0
      */
-    private Node preStart;
+    private Node detachChain() {
+        Node first = this.after(this.preStart);
+        Node tail = first;
+        Node n = this.after(first);
+        while (n != this.postFinish) {
+            tail.next = n;
+            tail = n;
+            n = this.after(n);
+        }
+        tail.next = null;
+        return first;
+    }
 
     /**
-     * Last node of doubly linked list in this.left.
+     * Links the chain starting at {@code first}, linked through next and
+     * ending in null, in between the "smart" nodes, unflipped, and brings
+     * $this.lastLeft and the markers to their positions in it.
+     *
+     * @param first
+     *            the first node of the chain
+     * @requires the chain has $this.leftLength + $this.rightLength nodes
      */
-    private Node lastLeft;
+    private void attachChain(Node first) {
+        this.endRuns();
+        this.flipped = false;
+        this.preStart.previous = null;
+        this.postFinish.next = null;
+        this.indexTop = null;
+        this.lastLeft = this.preStart;
+        this.placeMarkers(0, this.preStart);
+
+        Node previous = this.preStart;
+        Node n = first;
+        int pos = 0;
+        while (n != null) {
+            previous.next = n;
+            n.previous = previous;
+            pos++;
+            if (pos == this.leftLength) {
+                this.lastLeft = n;
+            }
+            if (this.markerCount > 0) {
+                this.placeMarkers(pos, n);
+            }
+            previous = n;
+            n = n.next;
+        }
+        previous.next = this.postFinish;
+        this.postFinish.previous = previous;
+    }
 
     /**
-     * "Smart node" after finish node of linked list.
+     * Points the markers at position {@code pos} to {@code node}.
+     *
+     * @param pos
+     *            the position
+     * @param node
+     *            the node at position {@code pos}
      */
-    private Node postFinish;
+    private void placeMarkers(int pos, Node node) {
+        for (int i = 0; i < this.markerCount; i++) {
+            if (this.markers[i].pos == pos) {
+                this.markers[i].node = node;
+            }
+        }
+    }
 
     /**
-     * Length of this.left.
+     * Sorts the chain starting at {@code first}, linked through next and
+     * ending in null, by {@code order}, with a bottom-up merge sort that keeps
+     * equal entries in their original order.
+     *
+     * @param first
+     *            the first node of the chain
+     * @param order
+     *            the order
+     * @return the first node of the sorted chain
      */
-    private int leftLength;
+    private Node sortChain(Node first, Comparator<? super T> order) {
+        //bins[i] is null or a sorted chain of 2^i nodes, from before the
+        //nodes in the lower bins.
+        @SuppressWarnings("unchecked")
+        Node[] bins = (Node[]) new List3<?>.Node[Integer.SIZE];
+
+        Node n = first;
+        while (n != null) {
+            Node carry = n;
+            n = n.next;
+            carry.next = null;
+            int i = 0;
+            while (bins[i] != null) {
+                carry = this.merge(bins[i], carry, order);
+                bins[i] = null;
+                i++;
+            }
+            bins[i] = carry;
+        }
+        Node result = null;
+        for (Node bin : bins) {
+            if (bin != null) {
+                result = this.merge(bin, result, order);
+            }
+        }
+        return result;
+    }
 
     /**
-     * Length of this.right.
+     * Merges the sorted chains starting at {@code a} and {@code b}, linked
+     * through next and ending in null, into one, by relinking; among equal
+     * entries, those from {@code a} come first.
+     *
+     * @param a
+     *            the first node of the earlier chain, or null
+     * @param b
+     *            the first node of the later chain, or null
+     * @param order
+     *            the order
+     * @return the first node of the merged chain
      */
-    private int rightLength;
+    private Node merge(Node a, Node b, Comparator<? super T> order) {
+        Node result;
+        if (a == null) {
+            result = b;
+        } else if (b == null) {
+            result = a;
+        } else {
+            Node restA = a;
+            Node restB = b;
+            if (order.compare(restB.data, restA.data) < 0) {
+                result = restB;
+                restB = restB.next;
+            } else {
+                result = restA;
+                restA = restA.next;
+            }
+            Node tail = result;
+            while (restA != null && restB != null) {
+                if (order.compare(restB.data, restA.data) < 0) {
+                    tail.next = restB;
+                    restB = restB.next;
+                } else {
+                    tail.next = restA;
+                    restA = restA.next;
+                }
+                tail = tail.next;
+            }
+            if (restA != null) {
+                tail.next = restA;
+            } else {
+                tail.next = restB;
+            }
+        }
+        return result;
+    }
 
     /**
-     * Checks that the part of the convention repeated below holds for the
-     * current representation.
+     * Sorts {@code this} by {@code order} in place, relinking the existing
+     * nodes with a bottom-up merge sort, in O(n log n) time and without
+     * allocating nodes. Equal entries keep their order. The position stays at
+     * the same length of {@code this.left}; the index is dropped, and markers
+     * stay at the same positions.
      *
-     * @return true if the convention holds (or if assertion checking is off);
-     *         otherwise reports a violated assertion
-     * @convention <pre>
-     * $this.leftLength >= 0  and
-     * [$this.rightLength >= 0] and
-     * [$this.preStart is not null]  and
-     * [$this.lastLeft is not null]  and
-     * [$this.postFinish is not null]  and
-     * [$this.preStart points to the first node of a doubly linked list
-     *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
-     * [$this.lastLeft points to the ($this.leftLength + 1)-th node in
-     *  that doubly linked list]  and
-     * [$this.postFinish points to the last node in that doubly linked list]  and
-     * [for every node n in the doubly linked list of nodes, except the one
-     *  pointed to by $this.preStart, n.previous.next = n]  and
-     * [for every node n in the doubly linked list of nodes, except the one
-     *  pointed to by $this.postFinish, n.next.previous = n]
+     * @param order
+     *            ordering by which to sort
+     * @updates this
+     * @requires IS_TOTAL_PREORDER([relation computed by order.compare method])
+     * @ensures <pre>
+     * perms(this.left * this.right, #this.left * #this.right)  and
+     * IS_SORTED(this.left * this.right, [relation computed by order.compare
+     *  method])  and
+     * |this.left| = |#this.left|
      * </pre>
      */
-    private boolean conventionHolds() {
-        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
-        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
-        assert this.preStart != null : "Violation of: $this.preStart is not null";
-        assert this.lastLeft != null : "Violation of: $this.lastLeft is not null";
-        assert this.postFinish != null : "Violation of: $this.postFinish is not null";
+    public final void sort(Comparator<? super T> order) {
+        assert order != null : "Violation of: order is not null";
 
-        int count = 0;
-        boolean lastLeftFound = false;
-        Node n = this.preStart;
-        while ((count < this.leftLength + this.rightLength + 1)
-                && (n != this.postFinish)) {
-            count++;
-            if (n == this.lastLeft) {
-                /*
-                 * Check $this.lastLeft points to the ($this.leftLength + 1)-th
-                 * node in that doubly linked list
-                 */
-                assert count == this.leftLength + 1 : ""
-                        + "Violation of: [$this.lastLeft points to the"
-                        + " ($this.leftLength + 1)-th node in that doubly linked list]";
-                lastLeftFound = true;
-            }
-            /*
-             * Check for every node n in the doubly linked list of nodes, except
-             * the one pointed to by $this.postFinish, n.next.previous = n
-             */
-            assert (n.next != null) && (n.next.previous == n) : ""
-                    + "Violation of: [for every node n in the doubly linked"
-                    + " list of nodes, except the one pointed to by"
-                    + " $this.postFinish, n.next.previous = n]";
-            n = n.next;
-            /*
-             * Check for every node n in the doubly linked list of nodes, except
-             * the one pointed to by $this.preStart, n.previous.next = n
-             */
-            assert n.previous.next == n : ""
-                    + "Violation of: [for every node n in the doubly linked"
-                    + " list of nodes, except the one pointed to by"
-                    + " $this.preStart, n.previous.next = n]";
+        if (this.leftLength + this.rightLength > 1) {
+            this.attachChain(this.sortChain(this.detachChain(), order));
         }
-        count++;
-        assert count == this.leftLength + this.rightLength + 2 : ""
-                + "Violation of: [$this.preStart points to the first node of"
-                + " a doubly linked list containing"
-                + " ($this.leftLength + $this.rightLength + 2) nodes]";
-        assert lastLeftFound : ""
-                + "Violation of: [$this.lastLeft points to the"
-                + " ($this.leftLength + 1)-th node in that doubly linked list]";
-        assert n == this.postFinish : ""
-                + "Violation of: [$this.postFinish points to the last"
-                + " node in that doubly linked list]";
 
-        return true;
+        assert this.conventionHolds();
     }
 
     /**
-     * Creator of initial representation.
+     * Sorts {@code this} by {@code order} like {@code sort}, but for long
+     * lists sorts sublists in parallel in the common fork-join pool and
+     * merges them by relinking. {@code order} must be safe to call from
+     * several threads at once.
+     *
+     * @param order
+     *            ordering by which to sort
+     * @updates this
+     * @requires IS_TOTAL_PREORDER([relation computed by order.compare method])
+     * @ensures <pre>
+     * perms(this.left * this.right, #this.left * #this.right)  and
+     * IS_SORTED(this.left * this.right, [relation computed by order.compare
+     *  method])  and
+     * |this.left| = |#this.left|
+     * </pre>
      */
-    private void createNewRep() {
-
-        //Declare the preStart node.
-        Node preStart = new Node();
-        preStart.previous = null;
-
-        //Declare the postFinish node.
-        Node postFinish = new Node();
-        postFinish.next = null;
-
-        //Double link the preStart and postFinish nodes.
-        preStart.next = postFinish;
-        postFinish.previous = preStart;
-
-        //Link the nodes with Instance Variables(Fields).
-        this.preStart = preStart;
-        this.lastLeft = preStart;
-        this.postFinish = postFinish;
-
-        //Set leftLength and rightLength to default value 0.
-        this.leftLength = 0;
-        this.rightLength = 0;
+    public final void parallelSort(Comparator<? super T> order) {
+        assert order != null : "Violation of: order is not null";
+
+        int length = this.leftLength + this.rightLength;
+        if (length > PARALLEL_SORT_THRESHOLD) {
+            this.attachChain(ForkJoinPool.commonPool()
+                    .invoke(new SortTask(this.detachChain(), length, order)));
+        } else if (length > 1) {
+            this.attachChain(this.sortChain(this.detachChain(), order));
+        }
 
+        assert this.conventionHolds();
     }
 
     /**
@@ -223,7 +1949,12 @@ public class List3<T> extends ListSecondary<T> {
 
     @Override
     public final void clear() {
-        this.createNewRep();
+        this.endRuns();
+        if (this.spareLimit > 0) {
+            this.reuseRep();
+        } else {
+            this.createNewRep();
+        }
         assert this.conventionHolds();
     }
 
@@ -237,12 +1968,38 @@ public class List3<T> extends ListSecondary<T> {
          * the ? must be T or the call would not have compiled.
          */
         List3<T> localSource = (List3<T>) source;
+        this.endRuns();
+        int length = localSource.leftLength + localSource.rightLength;
+        if (length >= EVENT_MIN_LENGTH) {
+            TransferEvent event = new TransferEvent();
+            if (event.shouldCommit()) {
+                event.length = length;
+                event.commit();
+            }
+        }
+        Node oldPreStart = this.preStart;
+        Node oldPostFinish = this.postFinish;
         this.preStart = localSource.preStart;
         this.lastLeft = localSource.lastLeft;
         this.postFinish = localSource.postFinish;
+        this.flipped = localSource.flipped;
         this.leftLength = localSource.leftLength;
         this.rightLength = localSource.rightLength;
-        localSource.createNewRep();
+        if (this.indexed) {
+            this.indexTop = localSource.indexTop;
+            this.indexLevels = localSource.indexLevels;
+        } else {
+            this.indexTop = null;
+        }
+        this.moveMarkersAfter(-1, this.preStart, 0);
+        if (localSource.spareLimit > 0) {
+            //Hand the old "smart" nodes of this over to source.
+            localSource.preStart = oldPreStart;
+            localSource.postFinish = oldPostFinish;
+            localSource.reuseRep();
+        } else {
+            localSource.createNewRep();
+        }
         assert this.conventionHolds();
         assert localSource.conventionHolds();
     }
@@ -251,19 +2008,25 @@ public class List3<T> extends ListSecondary<T> {
     public final void addRightFront(T x) {
         assert x != null : "Violation of: x is not null";
 
+        this.endRuns();
+
         //Declare the new node to add.
-        Node newRightFront = new Node();
+        Node newRightFront = this.newNode();
         newRightFront.data = x;
 
         //Declare the lastLeft and oldRightFront nodes.
         Node lastLeft = this.lastLeft;
-        Node oldRightFront = lastLeft.next;
+        Node oldRightFront = this.after(lastLeft);
 
         //Insert the newRightFront in the DLL by update the double links.
-        lastLeft.next = newRightFront;
-        newRightFront.next = oldRightFront;
-        oldRightFront.previous = newRightFront;
-        newRightFront.previous = lastLeft;
+        this.link(lastLeft, newRightFront);
+        this.link(newRightFront, oldRightFront);
+        if (this.indexTop != null) {
+            this.indexInsert(newRightFront);
+        }
+        if (this.markerCount > 0) {
+            this.shiftMarkers(1);
+        }
 
         //Update the rightLength.
         this.rightLength++;
@@ -275,17 +2038,25 @@ public class List3<T> extends ListSecondary<T> {
     public final T removeRightFront() {
         assert this.rightLength() > 0 : "Violation of: this.right /= <>";
 
+        this.endRuns();
+
         //Declare the lastLeft, oldRightFront, and newRightFront nodes.
         Node lastLeft = this.lastLeft;
-        Node oldRightFront = lastLeft.next;
-        Node newRightFront = oldRightFront.next;
+        Node oldRightFront = this.after(lastLeft);
+        Node newRightFront = this.after(oldRightFront);
 
         //The result to return is oldRightFront.data.
         T result = oldRightFront.data;
 
         //Remove the oldRightFront from DLL by updating the double links.
-        lastLeft.next = newRightFront;
-        newRightFront.previous = lastLeft;
+        if (this.indexTop != null) {
+            this.indexRemove();
+        }
+        if (this.markerCount > 0) {
+            this.shiftMarkers(-1);
+        }
+        this.link(lastLeft, newRightFront);
+        this.recycle(oldRightFront);
 
         //Update the this.rightLength.
         this.rightLength--;
@@ -301,10 +2072,11 @@ public class List3<T> extends ListSecondary<T> {
 
         //Declare the oldLastLeft and newLastLeft nodes.
         Node oldLastLeft = this.lastLeft;
-        Node newLastLeft = oldLastLeft.next;
+        Node newLastLeft = this.after(oldLastLeft);
 
         //Advance this.lastLeft in DLL by updating the instance variables.
         this.lastLeft = newLastLeft;
+        this.walkSteps++;
 
         //Update the leftLength and rightLength;
         this.leftLength++;
@@ -316,6 +2088,8 @@ public class List3<T> extends ListSecondary<T> {
     @Override
     public final void moveToStart() {
 
+        this.endRuns();
+
         //Declare preStart node.
         Node preStart = this.preStart;
 
@@ -348,6 +2122,7 @@ public class List3<T> extends ListSecondary<T> {
     @Override
     public final Iterator<T> iterator() {
         assert this.conventionHolds();
+        this.endRuns();
         return new List3Iterator();
     }
 
@@ -361,11 +2136,23 @@ public class List3<T> extends ListSecondary<T> {
          */
         private Node current;
 
+        /**
+         * JFR event for this iteration, or null if iteration events are not
+         * being recorded.
+         */
+        private IterationEvent event;
+
         /**
          * No-argument constructor.
          */
         private List3Iterator() {
-            this.current = List3.this.preStart.next;
+            this.current = List3.this.after(List3.this.preStart);
+            IterationEvent e = new IterationEvent();
+            if (e.isEnabled()) {
+                e.begin();
+                this.event = e;
+                List3.this.openIteration = e;
+            }
             assert List3.this.conventionHolds();
         }
 
@@ -386,7 +2173,21 @@ public class List3<T> extends ListSecondary<T> {
                 throw new NoSuchElementException();
             }
             T x = this.current.data;
-            this.current = this.current.next;
+            this.current = List3.this.after(this.current);
+            if (this.event != null) {
+                if (List3.this.openIteration != this.event) {
+                    //The list already reported this iteration as stopped.
+                    this.event = null;
+                } else {
+                    this.event.entries++;
+                    this.event.end();
+                    if (this.current == List3.this.postFinish) {
+                        this.event.commit();
+                        this.event = null;
+                        List3.this.openIteration = null;
+                    }
+                }
+            }
             assert List3.this.conventionHolds();
             return x;
         }
@@ -399,6 +2200,136 @@ public class List3<T> extends ListSecondary<T> {
 
     }
 
+    @Override
+    public final Spliterator<T> spliterator() {
+        assert this.conventionHolds();
+        return new List3Spliterator();
+    }
+
+    /**
+     * Returns a sequential {@code Stream} over {@code this.left * this.right}.
+     * {@code this} must not be changed while the stream is in use.
+     *
+     * @return the stream
+     */
+    public final Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a possibly parallel {@code Stream} over
+     * {@code this.left * this.right}. {@code this} must not be changed while
+     * the stream is in use.
+     *
+     * @return the stream
+     */
+    public final Stream<T> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    /**
+     * Implementation of {@code Spliterator} interface for {@code List3}. It
+     * walks the nodes itself and splits by copying batches of growing size
+     * into arrays, which are then split further by the array spliterator.
+     */
+    private final class List3Spliterator implements Spliterator<T> {
+
+        /**
+         * Increase in size of each batch split off.
+         */
+        private static final int BATCH_UNIT = 1 << 10;
+
+        /**
+         * Maximum size of a batch split off.
+         */
+        private static final int MAX_BATCH = 1 << 25;
+
+        /**
+         * Current node in the linked list.
+         */
+        private Node current;
+
+        /**
+         * Number of entries not yet traversed or split off.
+         */
+        private int remaining;
+
+        /**
+         * Size of the last batch split off.
+         */
+        private int batch;
+
+        /**
+         * No-argument constructor.
+         */
+        private List3Spliterator() {
+            this.current = List3.this.after(List3.this.preStart);
+            this.remaining = List3.this.leftLength + List3.this.rightLength;
+            this.batch = 0;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            assert action != null : "Violation of: action is not null";
+            boolean result = false;
+            if (this.remaining > 0) {
+                T x = this.current.data;
+                this.current = List3.this.after(this.current);
+                this.remaining--;
+                action.accept(x);
+                result = true;
+            }
+            return result;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            assert action != null : "Violation of: action is not null";
+            Node n = this.current;
+            int k = this.remaining;
+            this.current = List3.this.postFinish;
+            this.remaining = 0;
+            while (k > 0) {
+                action.accept(n.data);
+                n = List3.this.after(n);
+                k--;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> result = null;
+            if (this.remaining > 1) {
+                int n = Math.min(Math.min(this.batch + BATCH_UNIT, MAX_BATCH),
+                        this.remaining);
+                Object[] entries = new Object[n];
+                Node node = this.current;
+                for (int i = 0; i < n; i++) {
+                    entries[i] = node.data;
+                    node = List3.this.after(node);
+                }
+                this.current = node;
+                this.remaining -= n;
+                this.batch = n;
+                result = Spliterators.spliterator(entries, 0, n,
+                        Spliterator.ORDERED | Spliterator.NONNULL);
+            }
+            return result;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED
+                    | Spliterator.SUBSIZED;
+        }
+
+    }
+
     /*
      * Other methods (overridden for performance reasons) ---------------------
      */
@@ -406,9 +2337,11 @@ public class List3<T> extends ListSecondary<T> {
     @Override
     public final void moveToFinish() {
 
+        this.endRuns();
+
         //Declare postFinish node and the lastEntry nodes.
         Node postFinish = this.postFinish;
-        Node lastEntry = postFinish.previous;
+        Node lastEntry = this.before(postFinish);
 
         //Move the lastLeft to the front of the DDL.
         this.lastLeft = lastEntry;
@@ -426,10 +2359,11 @@ public class List3<T> extends ListSecondary<T> {
 
         //Declare the oldLastLeft and newLastLeft nodes.
         Node oldLastLeft = this.lastLeft;
-        Node newLastLeft = oldLastLeft.previous;
+        Node newLastLeft = this.before(oldLastLeft);
 
         //Retreat this.lastLeft in DLL by updating the instance variables.
         this.lastLeft = newLastLeft;
+        this.walkSteps++;
 
         //Update the leftLength and rightLength;
         this.leftLength--;
@@ -438,4 +2372,146 @@ public class List3<T> extends ListSecondary<T> {
         assert this.conventionHolds();
     }
 
+    @Override
+    public final void append(List<T> extension) {
+        assert extension != null : "Violation of: extension is not null";
+        assert extension != this : "Violation of: extension is not this";
+        this.endRuns();
+
+        if (extension instanceof List3<?>
+                && ((List3<?>) extension).flipped == this.flipped) {
+            /*
+             * This cast cannot fail: extension is of dynamic type List3<?>,
+             * and the ? must be T or the call would not have compiled.
+             */
+            List3<T> localExtension = (List3<T>) extension;
+            int extensionLength = localExtension.leftLength
+                    + localExtension.rightLength;
+            if (extensionLength > 0) {
+
+                //Declare the first and last nodes of the chain to splice in.
+                Node first = localExtension.after(localExtension.preStart);
+                Node last = localExtension.before(localExtension.postFinish);
+
+                //Splice the chain in between the last entry and postFinish.
+                Node postFinish = this.postFinish;
+                Node oldLastEntry = this.before(postFinish);
+                this.link(oldLastEntry, first);
+                this.link(last, postFinish);
+
+                //Update the rightLength and empty extension in place.
+                this.rightLength += extensionLength;
+                this.indexTop = null;
+                localExtension.reuseRep();
+            }
+            assert localExtension.conventionHolds();
+        } else {
+            super.append(extension);
+        }
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void swapRights(List<T> list) {
+        assert list != null : "Violation of: list is not null";
+        assert list != this : "Violation of: list is not this";
+        this.endRuns();
+
+        if (list instanceof List3<?>
+                && ((List3<?>) list).flipped == this.flipped) {
+            /*
+             * This cast cannot fail: list is of dynamic type List3<?>, and the
+             * ? must be T or the call would not have compiled.
+             */
+            List3<T> localList = (List3<T>) list;
+
+            //Declare the first nodes of both right parts (maybe postFinish).
+            Node thisRightFront = this.after(this.lastLeft);
+            Node listRightFront = localList.after(localList.lastLeft);
+
+            //Exchange the right parts, postFinish nodes included.
+            this.link(this.lastLeft, listRightFront);
+            this.link(localList.lastLeft, thisRightFront);
+
+            Node tempPostFinish = this.postFinish;
+            this.postFinish = localList.postFinish;
+            localList.postFinish = tempPostFinish;
+
+            int tempRightLength = this.rightLength;
+            this.rightLength = localList.rightLength;
+            localList.rightLength = tempRightLength;
+
+            //Positions right of the cursors have changed; drop the indexes
+            //and bring the markers there back to the cursors.
+            this.indexTop = null;
+            localList.indexTop = null;
+            this.moveMarkersAfter(this.leftLength, this.lastLeft,
+                    this.leftLength);
+            localList.moveMarkersAfter(localList.leftLength,
+                    localList.lastLeft, localList.leftLength);
+
+            assert localList.conventionHolds();
+        } else {
+            super.swapRights(list);
+        }
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void flip() {
+        this.endRuns();
+
+        //The boundary stays between the same two nodes, seen from the other
+        //side; so do the markers, at mirrored positions.
+        int length = this.leftLength + this.rightLength;
+        Node newLastLeft = this.after(this.lastLeft);
+        for (int i = 0; i < this.markerCount; i++) {
+            Marker m = this.markers[i];
+            m.node = this.after(m.node);
+            m.pos = length - m.pos;
+        }
+
+        //Exchange the roles of the "smart" nodes and of the links.
+        Node tempPreStart = this.preStart;
+        this.preStart = this.postFinish;
+        this.postFinish = tempPreStart;
+        this.flipped = !this.flipped;
+        this.lastLeft = newLastLeft;
+
+        //Update the leftLength and rightLength;
+        int tempLeftLength = this.leftLength;
+        this.leftLength = this.rightLength;
+        this.rightLength = tempLeftLength;
+
+        //Positions have all changed; drop the index.
+        this.indexTop = null;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Removes {@code this.right} from {@code this} and returns it as the right
+     * part of a new list.
+     *
+     * @return the new list holding {@code #this.right}
+     * @updates this
+     * @ensures <pre>
+     * this = (#this.left, <>)  and
+     * splitRight = (<>, #this.right)
+     * </pre>
+     */
+    public final List3<T> splitRight() {
+        List3<T> result = this.newInstance();
+
+        //Flip the new (empty) list like this, so swapRights splices in O(1).
+        if (this.flipped) {
+            result.flip();
+        }
+        this.swapRights(result);
+
+        return result;
+    }
+
 }
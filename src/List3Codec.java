@@ -0,0 +1,397 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import components.list.List;
+
+/**
+ * Streaming binary codec for lists of strings, e.g., for checkpointing a
+ * {@code List3<String>} to a file.
+ *
+ * <p>
+ * Format: the 4-byte magic number {@value #MAGIC}, then the length of
+ * {@code list.left * list.right} and the length of {@code list.left}, then
+ * each entry as its length in bytes followed by its UTF-8 bytes; all lengths
+ * are unsigned LEB128 varints. Both {@code write} and {@code read} go through
+ * a fixed-size buffer, so neither holds the whole list in memory in encoded
+ * form, and {@code read} links the entries into the new list as it decodes
+ * them, with no intermediate collection.
+ * </p>
+ *
+ * <p>
+ * {@code read} never takes bytes past the end of the encoded list from its
+ * channel, so several lists, or other data, may follow one another on one
+ * channel. It asks the channel for no more than the least number of bytes
+ * the rest of the list can take (each entry still to come takes at least
+ * one), which keeps the number of reads logarithmic in the length of the
+ * list for short entries. The space for a long entry grows as its bytes
+ * arrive, so a corrupt length cannot make {@code read} allocate more than
+ * twice what the channel actually holds.
+ * </p>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public final class List3Codec {
+
+    /**
+     * No-argument constructor--private to prevent instantiation.
+     */
+    private List3Codec() {
+    }
+
+    /**
+     * Magic number at the start of every encoded list ("L3S" and version 1).
+     */
+    private static final int MAGIC = 0x4C335301;
+
+    /**
+     * Size of the buffer used for reading and writing.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Maximum number of bytes of an int encoded as a varint.
+     */
+    private static final int MAX_VARINT = 5;
+
+    /**
+     * Writes all of {@code buffer}'s remaining bytes to {@code out} and
+     * clears {@code buffer}.
+     *
+     * @param buffer
+     *            the buffer, ready to be read
+     * @param out
+     *            the channel
+     * @throws IOException
+     *             if writing fails
+     */
+    private static void drain(ByteBuffer buffer, WritableByteChannel out)
+            throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Puts {@code value} in {@code buffer} as an unsigned LEB128 varint.
+     *
+     * @param buffer
+     *            the buffer, with room for MAX_VARINT bytes
+     * @param value
+     *            the value
+     */
+    private static void putVarint(ByteBuffer buffer, int value) {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            buffer.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+    }
+
+    /**
+     * Writes {@code list} to {@code out}. The position of {@code list} is
+     * written too, and {@code list} is not changed.
+     *
+     * @param list
+     *            the list to write
+     * @param out
+     *            the channel to write to
+     * @throws IOException
+     *             if writing fails
+     * @requires list and out are not null and every entry of list is not null
+     */
+    public static void write(List<String> list, WritableByteChannel out)
+            throws IOException {
+        assert list != null : "Violation of: list is not null";
+        assert out != null : "Violation of: out is not null";
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC);
+        putVarint(buffer, list.leftLength() + list.rightLength());
+        putVarint(buffer, list.leftLength());
+        for (String x : list) {
+            byte[] bytes = x.getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < MAX_VARINT) {
+                drain(buffer, out);
+            }
+            putVarint(buffer, bytes.length);
+            int done = 0;
+            while (done < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    drain(buffer, out);
+                }
+                int k = Math.min(buffer.remaining(), bytes.length - done);
+                buffer.put(bytes, done, k);
+                done += k;
+            }
+        }
+        drain(buffer, out);
+    }
+
+    /**
+     * Buffered reader of the encoded form from a channel.
+     */
+    private static final class Reader {
+
+        /**
+         * The channel.
+         */
+        private final ReadableByteChannel in;
+
+        /**
+         * The buffer, ready to be read.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Least number of bytes of the encoded list known to follow the read
+         * position, in this.buffer or still in the channel.
+         */
+        private long ahead;
+
+        /**
+         * Constructor from the channel and the least number of bytes the
+         * encoded list takes.
+         *
+         * @param in
+         *            the channel
+         * @param ahead
+         *            the least number of bytes to come
+         */
+        private Reader(ReadableByteChannel in, long ahead) {
+            this.in = in;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            this.buffer.flip();
+            this.ahead = ahead;
+        }
+
+        /**
+         * Records that at least {@code bytes} more bytes of the encoded list
+         * are to come than was known.
+         *
+         * @param bytes
+         *            the number of bytes
+         */
+        private void expect(long bytes) {
+            this.ahead += bytes;
+        }
+
+        /**
+         * Makes sure there is at least one byte to read in this.buffer,
+         * reading no more than this.ahead bytes from the channel.
+         *
+         * @throws IOException
+         *             if reading fails, the channel is at its end, or the
+         *             channel has no bytes ready
+         */
+        private void fill() throws IOException {
+            assert this.ahead > 0 : "Violation of: a byte is to come";
+            if (!this.buffer.hasRemaining()) {
+                this.buffer.clear();
+                this.buffer.limit(
+                        (int) Math.min(this.buffer.capacity(), this.ahead));
+                int n = this.in.read(this.buffer);
+                this.buffer.flip();
+                if (n < 0) {
+                    throw new EOFException("Encoded list is cut short");
+                }
+                if (n == 0) {
+                    throw new IOException(
+                            "Channel has no bytes ready; it must be blocking");
+                }
+            }
+        }
+
+        /**
+         * Reads an int in big-endian order.
+         *
+         * @return the int
+         * @throws IOException
+         *             if reading fails or the channel is at its end
+         */
+        private int readInt() throws IOException {
+            int result = 0;
+            for (int i = 0; i < Integer.BYTES; i++) {
+                this.fill();
+                result = (result << Byte.SIZE) | (this.buffer.get() & 0xFF);
+                this.ahead--;
+            }
+            return result;
+        }
+
+        /**
+         * Reads an unsigned LEB128 varint.
+         *
+         * @return the value
+         * @throws IOException
+         *             if reading fails, the channel is at its end, or the
+         *             value is not a non-negative int
+         */
+        private int readVarint() throws IOException {
+            int result = 0;
+            int shift = 0;
+            int b = 0x80;
+            while ((b & 0x80) != 0) {
+                if (shift >= MAX_VARINT * 7) {
+                    throw new IOException("Malformed length in encoded list");
+                }
+                this.fill();
+                b = this.buffer.get();
+                result |= (b & 0x7F) << shift;
+                shift += 7;
+            }
+            //Each byte but the last was followed by at least one more.
+            this.ahead--;
+            if (result < 0) {
+                throw new IOException("Malformed length in encoded list");
+            }
+            return result;
+        }
+
+        /**
+         * Reads an entry: its length, then its UTF-8 bytes.
+         *
+         * @return the entry
+         * @throws IOException
+         *             if reading fails or the channel is at its end
+         */
+        private String readEntry() throws IOException {
+            int length = this.readVarint();
+            this.expect(length);
+            String result;
+            if (length <= this.buffer.remaining()) {
+                //Decode straight from the buffer.
+                result = new String(this.buffer.array(),
+                        this.buffer.arrayOffset() + this.buffer.position(),
+                        length, StandardCharsets.UTF_8);
+                this.buffer.position(this.buffer.position() + length);
+                this.ahead -= length;
+            } else {
+                //Grow the array as the bytes arrive, not from the length.
+                byte[] bytes = new byte[Math.min(length, BUFFER_SIZE)];
+                int done = 0;
+                while (done < length) {
+                    this.fill();
+                    if (done == bytes.length) {
+                        bytes = Arrays.copyOf(bytes,
+                                (int) Math.min(length, 2L * bytes.length));
+                    }
+                    int k = Math.min(this.buffer.remaining(),
+                            bytes.length - done);
+                    this.buffer.get(bytes, done, k);
+                    done += k;
+                    this.ahead -= k;
+                }
+                result = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return result;
+        }
+
+    }
+
+    /**
+     * Iterator that decodes a given number of entries from a
+     * {@code Reader}. An {@code IOException} is rethrown wrapped in an
+     * {@code UncheckedIOException}.
+     */
+    private static final class EntryIterator implements Iterator<String> {
+
+        /**
+         * The reader.
+         */
+        private final Reader reader;
+
+        /**
+         * Number of entries left to decode.
+         */
+        private int remaining;
+
+        /**
+         * Constructor from the reader and the number of entries.
+         *
+         * @param reader
+         *            the reader
+         * @param count
+         *            the number of entries
+         */
+        private EntryIterator(Reader reader, int count) {
+            this.reader = reader;
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.remaining > 0;
+        }
+
+        @Override
+        public String next() {
+            if (this.remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            this.remaining--;
+            try {
+                return this.reader.readEntry();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    /**
+     * Reads a list written by {@code write} from {@code in}, with the same
+     * entries and position. Nothing after the encoded list is read from
+     * {@code in}.
+     *
+     * @param in
+     *            the channel to read from
+     * @return the list read
+     * @throws IOException
+     *             if reading fails, {@code in} has no bytes ready, or
+     *             {@code in} does not hold a list written by {@code write}
+     * @requires in is not null and in is in blocking mode
+     */
+    public static List3<String> read(ReadableByteChannel in)
+            throws IOException {
+        assert in != null : "Violation of: in is not null";
+
+        //The magic number and the two lengths take at least 6 bytes.
+        Reader reader = new Reader(in, Integer.BYTES + 2);
+        if (reader.readInt() != MAGIC) {
+            throw new IOException("Not an encoded list");
+        }
+        int length = reader.readVarint();
+        //Each entry takes at least the byte of its length.
+        reader.expect(length);
+        int leftLength = reader.readVarint();
+        if (leftLength > length) {
+            throw new IOException("Malformed position in encoded list");
+        }
+
+        //Link in the left part, move past it, and link in the right part.
+        List3<String> result = new List3<String>();
+        try {
+            result.addAllRightFront(new EntryIterator(reader, leftLength));
+            result.moveToFinish();
+            result.addAllRightFront(
+                    new EntryIterator(reader, length - leftLength));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,901 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} of strings represented as a doubly linked list whose nodes are
+ * fixed-size records in a memory-mapped file (links are record numbers rather
+ * than Java references), with implementations of primary methods and
+ * {@code retreat} and {@code moveToFinish} secondary methods.
+ *
+ * <p>
+ * Every record is {@value #RECORD_SIZE} bytes: the next and previous links, the
+ * length in bytes of the UTF-8 encoded entry, the first overflow record, and
+ * up to {@value #INLINE_SIZE} bytes of the entry inline. The rest of a longer
+ * entry goes out of line, in a chain of overflow records. Records no longer in
+ * use are put on a free-record chain and handed out again before the file is
+ * grown. A header at the start of the file holds {@code preStart},
+ * {@code postFinish}, {@code lastLeft}, both lengths, and the free-record
+ * chain, so {@code MappedList3(Path)} reopens a list without reading any of
+ * its nodes. The entries live in the file, not on the Java heap, and are
+ * decoded on each read.
+ * </p>
+ *
+ * <p>
+ * Every change is written straight to the mapped file, so it survives the end
+ * of the process; {@code force} (or {@code close}) also writes it through to
+ * the storage device. The records are mapped in chunks of
+ * {@value #CHUNK_RECORDS} records so that the file is not limited to the 2 GiB
+ * of a single mapping. A list stays backed by the same file for its whole
+ * life: {@code transferFrom} copies the records of {@code source} into the
+ * file of {@code this}, and {@code clear} keeps the file at its size and
+ * reuses its records.
+ * </p>
+ *
+ * <p>
+ * {@code close} forces the changes out and drops the mappings, and deletes the
+ * file of a list made by the no-argument constructor. Java cannot unmap a
+ * file on demand: the mappings go away only when the garbage collector
+ * reclaims them, and until then some systems (Windows, for one) refuse to
+ * delete the file. A temporary file that cannot be deleted on {@code close}
+ * is deleted when the virtual machine exits, if the system allows it then.
+ * </p>
+ *
+ * <p>
+ * Execution-time performance of {@code addRightFront} and
+ * {@code removeRightFront} is amortized O(1 + |x| / {@value #OVERFLOW_SIZE})
+ * (the file is doubled when full); execution-time performance of
+ * {@code transferFrom} is O(number of records used by {@code source}), and of
+ * {@code iterator}'s {@code next}, which decodes the entry, O(|entry|);
+ * execution-time performance of all other methods implemented in this class
+ * is O(1).
+ * </p>
+ *
+ * @convention <pre>
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [record PRE_START is the first node of a doubly linked list
+ *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+ * [$this.lastLeft is the ($this.leftLength + 1)-th node in
+ *  that doubly linked list]  and
+ * [record POST_FINISH is the last node in that doubly linked list]  and
+ * [for every node n in the doubly linked list of nodes, except
+ *  PRE_START, next(previous(n)) = n]  and
+ * [for every node n in the doubly linked list of nodes, except
+ *  POST_FINISH, previous(next(n)) = n]  and
+ * [2 <= $this.top <= $this.capacity]  and
+ * [$this.chunks map records [0, $this.capacity) of $this.file]  and
+ * [$this.freeHead is the first record of a chain, linked through next and
+ *  ending in NONE, of the records in [2, $this.top) that are neither in
+ *  the doubly linked list of nodes nor in the overflow chain of one of its
+ *  nodes]  and
+ * [the header of $this.file holds $this.lastLeft, $this.leftLength,
+ *  $this.rightLength, $this.top, $this.freeHead and $this.capacity]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([entries in nodes starting at next(PRE_START) and running through
+ *    $this.lastLeft],
+ *   [entries in nodes starting at next($this.lastLeft) and running
+ *    through previous(POST_FINISH)])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class MappedList3 extends ListSecondary<String>
+        implements AutoCloseable {
+
+    /**
+     * Record of the "smart node" before start node of doubly linked list.
+     */
+    private static final int PRE_START = 0;
+
+    /**
+     * Record of the "smart node" after finish node of doubly linked list.
+     */
+    private static final int POST_FINISH = 1;
+
+    /**
+     * Link value meaning "no record".
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Magic number at the start of the file ("ML3" and version 1).
+     */
+    private static final int MAGIC = 0x4D4C3301;
+
+    /**
+     * Size of the header at the start of the file.
+     */
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     * Offsets of the fields of the header.
+     */
+    private static final int MAGIC_AT = 0, PRE_START_AT = 4,
+            POST_FINISH_AT = 8, LAST_LEFT_AT = 12, LEFT_LENGTH_AT = 16,
+            RIGHT_LENGTH_AT = 20, TOP_AT = 24, FREE_HEAD_AT = 28,
+            CAPACITY_AT = 32;
+
+    /**
+     * Size of a record.
+     */
+    private static final int RECORD_SIZE = 64;
+
+    /**
+     * Offsets of the fields of a node record.
+     */
+    private static final int NEXT_AT = 0, PREVIOUS_AT = 4, LENGTH_AT = 8,
+            OVERFLOW_AT = 12, INLINE_AT = 16;
+
+    /**
+     * Number of bytes of an entry kept in its node record.
+     */
+    private static final int INLINE_SIZE = RECORD_SIZE - INLINE_AT;
+
+    /**
+     * Offset of the bytes of an entry in an overflow record (which starts
+     * with its next link).
+     */
+    private static final int OVERFLOW_DATA_AT = 4;
+
+    /**
+     * Number of bytes of an entry kept in an overflow record.
+     */
+    private static final int OVERFLOW_SIZE = RECORD_SIZE - OVERFLOW_DATA_AT;
+
+    /**
+     * Log2 of the number of records in a mapped chunk.
+     */
+    private static final int CHUNK_SHIFT = 16;
+
+    /**
+     * Number of records in a mapped chunk (the first chunk is smaller while
+     * the file is small).
+     */
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+
+    /**
+     * Initial number of records in the file.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Maximum number of records in the file.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * The file.
+     */
+    private Path file;
+
+    /**
+     * Whether this.file is a temporary file, to be deleted on close.
+     */
+    private boolean temporary;
+
+    /**
+     * Mapping of the header of this.file.
+     */
+    private MappedByteBuffer header;
+
+    /**
+     * Mappings of the records of this.file; record r is in chunk
+     * r >>> CHUNK_SHIFT.
+     */
+    private MappedByteBuffer[] chunks;
+
+    /**
+     * Last record of doubly linked list in this.left.
+     */
+    private int lastLeft;
+
+    /**
+     * First record of the free-record chain, or NONE.
+     */
+    private int freeHead;
+
+    /**
+     * Number of records that have ever been handed out (records [top,
+     * capacity) have never been used).
+     */
+    private int top;
+
+    /**
+     * Number of records in this.file.
+     */
+    private int capacity;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Returns the int at {@code offset} in record {@code r}.
+     *
+     * @param r
+     *            the record
+     * @param offset
+     *            the offset of the field in the record
+     * @return the int
+     */
+    private int get(int r, int offset) {
+        return this.chunks[r >>> CHUNK_SHIFT]
+                .getInt((r & (CHUNK_RECORDS - 1)) * RECORD_SIZE + offset);
+    }
+
+    /**
+     * Sets the int at {@code offset} in record {@code r} to {@code value}.
+     *
+     * @param r
+     *            the record
+     * @param offset
+     *            the offset of the field in the record
+     * @param value
+     *            the int
+     */
+    private void put(int r, int offset, int value) {
+        this.chunks[r >>> CHUNK_SHIFT]
+                .putInt((r & (CHUNK_RECORDS - 1)) * RECORD_SIZE + offset, value);
+    }
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [record PRE_START is the first node of a doubly linked list
+     *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+     * [$this.lastLeft is the ($this.leftLength + 1)-th node in
+     *  that doubly linked list]  and
+     * [record POST_FINISH is the last node in that doubly linked list]  and
+     * [for every node n in the doubly linked list of nodes, except
+     *  POST_FINISH, previous(next(n)) = n]  and
+     * [2 <= $this.top <= $this.capacity]  and
+     * [$this.freeHead is the first record of a chain, linked through next and
+     *  ending in NONE, of the records in [2, $this.top) that are neither in
+     *  the doubly linked list of nodes nor in the overflow chain of one of its
+     *  nodes]  and
+     * [the header of $this.file holds $this.lastLeft, $this.leftLength,
+     *  $this.rightLength, $this.top, $this.freeHead and $this.capacity]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert 2 <= this.top && this.top <= this.capacity : ""
+                + "Violation of: [2 <= $this.top <= $this.capacity]";
+
+        int count = 0;
+        int overflow = 0;
+        boolean lastLeftFound = false;
+        int n = PRE_START;
+        while ((count < this.leftLength + this.rightLength + 1)
+                && (n != POST_FINISH)) {
+            count++;
+            if (n == this.lastLeft) {
+                assert count == this.leftLength + 1 : ""
+                        + "Violation of: [$this.lastLeft is the"
+                        + " ($this.leftLength + 1)-th node in that doubly linked list]";
+                lastLeftFound = true;
+            }
+            if (n != PRE_START) {
+                int s = this.get(n, OVERFLOW_AT);
+                while ((s != NONE) && (overflow < this.top)) {
+                    overflow++;
+                    s = this.get(s, NEXT_AT);
+                }
+            }
+            int m = this.get(n, NEXT_AT);
+            assert (0 <= m) && (m < this.top)
+                    && (this.get(m, PREVIOUS_AT) == n) : ""
+                            + "Violation of: [for every node n in the doubly linked"
+                            + " list of nodes, except POST_FINISH,"
+                            + " previous(next(n)) = n]";
+            n = m;
+        }
+        count++;
+        assert count == this.leftLength + this.rightLength + 2 : ""
+                + "Violation of: [record PRE_START is the first node of"
+                + " a doubly linked list containing"
+                + " ($this.leftLength + $this.rightLength + 2) nodes]";
+        assert lastLeftFound : ""
+                + "Violation of: [$this.lastLeft is the"
+                + " ($this.leftLength + 1)-th node in that doubly linked list]";
+        assert n == POST_FINISH : ""
+                + "Violation of: [record POST_FINISH is the last"
+                + " node in that doubly linked list]";
+
+        int free = 0;
+        int s = this.freeHead;
+        while ((s != NONE) && (free < this.top)) {
+            free++;
+            s = this.get(s, NEXT_AT);
+        }
+        assert count + overflow + free == this.top : ""
+                + "Violation of: [$this.freeHead is the first record of a"
+                + " chain, linked through next and ending in NONE, of the"
+                + " records in [2, $this.top) that are neither in the doubly"
+                + " linked list of nodes nor in the overflow chain of one of"
+                + " its nodes]";
+
+        assert this.header.getInt(MAGIC_AT) == MAGIC
+                && this.header.getInt(LAST_LEFT_AT) == this.lastLeft
+                && this.header.getInt(LEFT_LENGTH_AT) == this.leftLength
+                && this.header.getInt(RIGHT_LENGTH_AT) == this.rightLength
+                && this.header.getInt(TOP_AT) == this.top
+                && this.header.getInt(FREE_HEAD_AT) == this.freeHead
+                && this.header.getInt(CAPACITY_AT) == this.capacity : ""
+                        + "Violation of: [the header of $this.file holds"
+                        + " $this.lastLeft, $this.leftLength,"
+                        + " $this.rightLength, $this.top, $this.freeHead and"
+                        + " $this.capacity]";
+
+        return true;
+    }
+
+    /**
+     * Writes the fields of the representation kept in the header to the
+     * header of this.file.
+     */
+    private void saveHeader() {
+        this.header.putInt(MAGIC_AT, MAGIC);
+        this.header.putInt(PRE_START_AT, PRE_START);
+        this.header.putInt(POST_FINISH_AT, POST_FINISH);
+        this.header.putInt(LAST_LEFT_AT, this.lastLeft);
+        this.header.putInt(LEFT_LENGTH_AT, this.leftLength);
+        this.header.putInt(RIGHT_LENGTH_AT, this.rightLength);
+        this.header.putInt(TOP_AT, this.top);
+        this.header.putInt(FREE_HEAD_AT, this.freeHead);
+        this.header.putInt(CAPACITY_AT, this.capacity);
+    }
+
+    /**
+     * Maps the header and records [0, this.capacity) of this.file, growing
+     * the file if it is shorter. Chunks that are already mapped at their full
+     * size are kept.
+     *
+     * @throws IOException
+     *             if this.file cannot be opened or mapped
+     */
+    private void map() throws IOException {
+        int chunkCount = (this.capacity + CHUNK_RECORDS - 1) >>> CHUNK_SHIFT;
+        MappedByteBuffer[] mapped = (this.chunks == null)
+                ? new MappedByteBuffer[chunkCount]
+                : Arrays.copyOf(this.chunks, chunkCount);
+        /*
+         * A mapping stays valid after its channel is closed, so no file stays
+         * open between calls.
+         */
+        try (FileChannel channel = FileChannel.open(this.file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (this.header == null) {
+                this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_SIZE);
+            }
+            for (int c = 0; c < chunkCount; c++) {
+                int records = Math.min(this.capacity - (c << CHUNK_SHIFT),
+                        CHUNK_RECORDS);
+                if (mapped[c] == null
+                        || mapped[c].capacity() < records * RECORD_SIZE) {
+                    mapped[c] = channel.map(FileChannel.MapMode.READ_WRITE,
+                            HEADER_SIZE + ((long) c << CHUNK_SHIFT) * RECORD_SIZE,
+                            (long) records * RECORD_SIZE);
+                }
+            }
+        }
+        this.chunks = mapped;
+    }
+
+    /**
+     * Creator of initial representation, in the records already mapped.
+     */
+    private void createNewRep() {
+
+        //Double link the preStart and postFinish records.
+        this.put(PRE_START, NEXT_AT, POST_FINISH);
+        this.put(PRE_START, PREVIOUS_AT, NONE);
+        this.put(POST_FINISH, NEXT_AT, NONE);
+        this.put(POST_FINISH, PREVIOUS_AT, PRE_START);
+
+        //Set up the cursor and the (empty) free-record chain.
+        this.lastLeft = PRE_START;
+        this.freeHead = NONE;
+        this.top = 2;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+        this.saveHeader();
+    }
+
+    /**
+     * Returns an unused record, taken from the free-record chain if possible
+     * and otherwise from the never-used records, doubling the file if
+     * necessary.
+     *
+     * @return the record
+     * @ensures allocate is not in the doubly linked list of nodes
+     */
+    private int allocate() {
+        int r = this.freeHead;
+        if (r != NONE) {
+            this.freeHead = this.get(r, NEXT_AT);
+        } else {
+            if (this.top == this.capacity) {
+                if (this.capacity == MAX_CAPACITY) {
+                    throw new IllegalStateException("MappedList3 is full");
+                }
+                this.capacity = 2 * this.capacity;
+                try {
+                    this.map();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            r = this.top;
+            this.top++;
+        }
+        return r;
+    }
+
+    /**
+     * Puts node record {@code r} and its overflow chain on the free-record
+     * chain.
+     *
+     * @param r
+     *            the record
+     */
+    private void release(int r) {
+        //The overflow records are already linked through next.
+        int last = r;
+        int s = this.get(r, OVERFLOW_AT);
+        while (s != NONE) {
+            this.put(last, NEXT_AT, s);
+            last = s;
+            s = this.get(s, NEXT_AT);
+        }
+        this.put(last, NEXT_AT, this.freeHead);
+        this.freeHead = r;
+    }
+
+    /**
+     * Writes {@code x} into node record {@code r}, inline and in a new
+     * overflow chain as needed.
+     *
+     * @param r
+     *            the record
+     * @param x
+     *            the entry
+     */
+    private void writeEntry(int r, String x) {
+        byte[] bytes = x.getBytes(StandardCharsets.UTF_8);
+        this.put(r, LENGTH_AT, bytes.length);
+        int done = Math.min(bytes.length, INLINE_SIZE);
+        this.chunks[r >>> CHUNK_SHIFT].put(
+                (r & (CHUNK_RECORDS - 1)) * RECORD_SIZE + INLINE_AT, bytes, 0,
+                done);
+        int link = r;
+        int linkAt = OVERFLOW_AT;
+        while (done < bytes.length) {
+            int s = this.allocate();
+            this.put(link, linkAt, s);
+            int k = Math.min(bytes.length - done, OVERFLOW_SIZE);
+            this.chunks[s >>> CHUNK_SHIFT].put(
+                    (s & (CHUNK_RECORDS - 1)) * RECORD_SIZE + OVERFLOW_DATA_AT,
+                    bytes, done, k);
+            done += k;
+            link = s;
+            linkAt = NEXT_AT;
+        }
+        this.put(link, linkAt, NONE);
+    }
+
+    /**
+     * Reads the entry in node record {@code r}.
+     *
+     * @param r
+     *            the record
+     * @return the entry
+     */
+    private String readEntry(int r) {
+        byte[] bytes = new byte[this.get(r, LENGTH_AT)];
+        int done = Math.min(bytes.length, INLINE_SIZE);
+        this.chunks[r >>> CHUNK_SHIFT].get(
+                (r & (CHUNK_RECORDS - 1)) * RECORD_SIZE + INLINE_AT, bytes, 0,
+                done);
+        int s = this.get(r, OVERFLOW_AT);
+        while (done < bytes.length) {
+            int k = Math.min(bytes.length - done, OVERFLOW_SIZE);
+            this.chunks[s >>> CHUNK_SHIFT].get(
+                    (s & (CHUNK_RECORDS - 1)) * RECORD_SIZE + OVERFLOW_DATA_AT,
+                    bytes, done, k);
+            done += k;
+            s = this.get(s, NEXT_AT);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * No-argument constructor: the list is backed by a new temporary file,
+     * deleted on {@code close} or when the virtual machine exits.
+     */
+    public MappedList3() {
+        try {
+            this.file = Files.createTempFile("MappedList3", ".dat");
+            this.file.toFile().deleteOnExit();
+            this.temporary = true;
+            this.capacity = INITIAL_CAPACITY;
+            this.map();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Constructor from a file: if {@code file} is empty or does not exist,
+     * the list is empty and is backed by {@code file}; otherwise the list
+     * last written to {@code file} is reopened, with the same entries and
+     * position, by reading only the header.
+     *
+     * @param file
+     *            the file
+     * @throws IOException
+     *             if {@code file} cannot be opened or mapped, or does not
+     *             hold a {@code MappedList3}
+     * @requires file is not null
+     */
+    public MappedList3(Path file) throws IOException {
+        assert file != null : "Violation of: file is not null";
+
+        this.file = file;
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            this.capacity = INITIAL_CAPACITY;
+            this.map();
+            this.createNewRep();
+        } else {
+            //Check the header before mapping, so nothing stays mapped.
+            ByteBuffer check;
+            try (InputStream in = Files.newInputStream(file)) {
+                check = ByteBuffer.wrap(in.readNBytes(HEADER_SIZE));
+            }
+            if (check.capacity() < HEADER_SIZE
+                    || check.getInt(MAGIC_AT) != MAGIC
+                    || check.getInt(PRE_START_AT) != PRE_START
+                    || check.getInt(POST_FINISH_AT) != POST_FINISH) {
+                throw new IOException("Not a MappedList3 file: " + file);
+            }
+            this.map();
+            this.lastLeft = this.header.getInt(LAST_LEFT_AT);
+            this.leftLength = this.header.getInt(LEFT_LENGTH_AT);
+            this.rightLength = this.header.getInt(RIGHT_LENGTH_AT);
+            this.top = this.header.getInt(TOP_AT);
+            this.freeHead = this.header.getInt(FREE_HEAD_AT);
+            this.capacity = this.header.getInt(CAPACITY_AT);
+            this.map();
+        }
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final MappedList3 newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void transferFrom(List<String> source) {
+        assert source instanceof MappedList3 : ""
+                + "Violation of: source is of dynamic type MappedList3";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case.
+         */
+        MappedList3 localSource = (MappedList3) source;
+
+        //Grow this.file until it can hold every record source has used.
+        if (this.capacity < localSource.top) {
+            while (this.capacity < localSource.top) {
+                this.capacity = 2 * this.capacity;
+            }
+            try {
+                this.map();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        //Copy the records, links and all, chunk by chunk.
+        for (int c = 0; (c << CHUNK_SHIFT) < localSource.top; c++) {
+            int records = Math.min(localSource.top - (c << CHUNK_SHIFT),
+                    CHUNK_RECORDS);
+            this.chunks[c].put(0, localSource.chunks[c], 0,
+                    records * RECORD_SIZE);
+        }
+        this.lastLeft = localSource.lastLeft;
+        this.freeHead = localSource.freeHead;
+        this.top = localSource.top;
+        this.leftLength = localSource.leftLength;
+        this.rightLength = localSource.rightLength;
+        this.saveHeader();
+        localSource.createNewRep();
+
+        assert this.conventionHolds();
+        assert localSource.conventionHolds();
+    }
+
+    @Override
+    public final void addRightFront(String x) {
+        assert x != null : "Violation of: x is not null";
+
+        //Declare the new record to add.
+        int newRightFront = this.allocate();
+        this.writeEntry(newRightFront, x);
+
+        //Declare the lastLeft and oldRightFront records.
+        int lastLeft = this.lastLeft;
+        int oldRightFront = this.get(lastLeft, NEXT_AT);
+
+        //Insert the newRightFront in the DLL by update the double links.
+        this.put(lastLeft, NEXT_AT, newRightFront);
+        this.put(newRightFront, NEXT_AT, oldRightFront);
+        this.put(oldRightFront, PREVIOUS_AT, newRightFront);
+        this.put(newRightFront, PREVIOUS_AT, lastLeft);
+
+        //Update the rightLength.
+        this.rightLength++;
+        this.saveHeader();
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final String removeRightFront() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Declare the lastLeft, oldRightFront, and newRightFront records.
+        int lastLeft = this.lastLeft;
+        int oldRightFront = this.get(lastLeft, NEXT_AT);
+        int newRightFront = this.get(oldRightFront, NEXT_AT);
+
+        //The result to return is the entry in oldRightFront.
+        String result = this.readEntry(oldRightFront);
+
+        //Remove the oldRightFront from DLL by updating the double links.
+        this.put(lastLeft, NEXT_AT, newRightFront);
+        this.put(newRightFront, PREVIOUS_AT, lastLeft);
+
+        //Put oldRightFront and its overflow records on the free chain.
+        this.release(oldRightFront);
+
+        //Update the this.rightLength.
+        this.rightLength--;
+        this.saveHeader();
+
+        assert this.conventionHolds();
+
+        return result;
+    }
+
+    @Override
+    public final void advance() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Advance this.lastLeft in DLL.
+        this.lastLeft = this.get(this.lastLeft, NEXT_AT);
+
+        //Update the leftLength and rightLength;
+        this.leftLength++;
+        this.rightLength--;
+        this.saveHeader();
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void moveToStart() {
+
+        //Move the lastLeft to the front of the DDL.
+        this.lastLeft = PRE_START;
+
+        //Update the leftLength and rightLength;
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+        this.saveHeader();
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.leftLength;
+    }
+
+    @Override
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.rightLength;
+    }
+
+    @Override
+    public final Iterator<String> iterator() {
+        assert this.conventionHolds();
+        return new MappedList3Iterator();
+    }
+
+    /**
+     * Implementation of {@code Iterator} interface for {@code MappedList3}.
+     */
+    private final class MappedList3Iterator implements Iterator<String> {
+
+        /**
+         * Current record in the linked list.
+         */
+        private int current;
+
+        /**
+         * No-argument constructor.
+         */
+        private MappedList3Iterator() {
+            this.current = MappedList3.this.get(PRE_START, NEXT_AT);
+            assert MappedList3.this.conventionHolds();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != POST_FINISH;
+        }
+
+        @Override
+        public String next() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            String x = MappedList3.this.readEntry(this.current);
+            this.current = MappedList3.this.get(this.current, NEXT_AT);
+            assert MappedList3.this.conventionHolds();
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /**
+     * Writes all changes to {@code this} through to the storage device that
+     * holds its file.
+     */
+    public final void force() {
+        this.header.force();
+        for (MappedByteBuffer chunk : this.chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Writes all changes to {@code this} through to the storage device that
+     * holds its file and drops the mappings of the file, which are released
+     * once they are garbage collected. If {@code this} was made by the
+     * no-argument constructor, its file is deleted as well, or, if the system
+     * refuses while the mappings are live, when the virtual machine exits.
+     * {@code this} must not be used afterwards; closing it again does nothing.
+     */
+    @Override
+    public final void close() {
+        if (this.header != null) {
+            this.force();
+            this.header = null;
+            this.chunks = null;
+            if (this.temporary) {
+                try {
+                    Files.deleteIfExists(this.file);
+                } catch (IOException e) {
+                    //Left for deleteOnExit.
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports the file that backs {@code this}.
+     *
+     * @return the file
+     */
+    public final Path file() {
+        return this.file;
+    }
+
+    /*
+     * Other methods (overridden for performance reasons) ---------------------
+     */
+
+    @Override
+    public final void moveToFinish() {
+
+        //Move the lastLeft to the last entry of the DDL.
+        this.lastLeft = this.get(POST_FINISH, PREVIOUS_AT);
+
+        //Update the leftLength and rightLength;
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+        this.saveHeader();
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void retreat() {
+        assert this.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        //Retreat this.lastLeft in DLL.
+        this.lastLeft = this.get(this.lastLeft, PREVIOUS_AT);
+
+        //Update the leftLength and rightLength;
+        this.leftLength--;
+        this.rightLength++;
+        this.saveHeader();
+
+        assert this.conventionHolds();
+    }
+
+}
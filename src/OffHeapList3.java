@@ -0,0 +1,752 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * List of fixed-size records (e.g., {@code long}s, UUIDs, small structs)
+ * represented as a doubly linked list, done "bare-handed", whose nodes are
+ * kept outside the Java heap, with the same left/right cursor kernel as
+ * {@code List3}.
+ *
+ * <p>
+ * Each node is the two links (as node numbers) followed by the bytes of its
+ * record, in a slab of {@value #SLAB_NODES} nodes allocated with
+ * {@code ByteBuffer.allocateDirect}. The only heap objects are one buffer per
+ * slab, so a list of 100M records adds only a few thousand objects to garbage
+ * collection. Removed nodes are put on a free-node chain and handed out again
+ * before a new slab is allocated; slabs are never copied. Records are copied
+ * in on {@code addRightFront} and out on {@code removeRightFront}; everywhere
+ * else (the iterator and {@code rightFront}) a record is exposed as a
+ * read-only slice of its slab, without copying.
+ * </p>
+ *
+ * <p>
+ * Execution-time performance of {@code addRightFront} and
+ * {@code removeRightFront} is O(record size) (plus, now and then, the
+ * allocation of a slab); execution-time performance of all other methods
+ * implemented in this class is O(1) (except {@code equals}, {@code hashCode},
+ * and {@code toString}).
+ * </p>
+ *
+ * @convention <pre>
+ * $this.slabs is not null  and
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [node PRE_START is the first node of a doubly linked list
+ *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+ * [$this.lastLeft is the ($this.leftLength + 1)-th node in
+ *  that doubly linked list]  and
+ * [node POST_FINISH is the last node in that doubly linked list]  and
+ * [for every node n in the doubly linked list of nodes, except
+ *  PRE_START, next(previous(n)) = n]  and
+ * [for every node n in the doubly linked list of nodes, except
+ *  POST_FINISH, previous(next(n)) = n]  and
+ * [2 <= $this.top <= |$this.slabs| * SLAB_NODES]  and
+ * [$this.freeHead is the first node of a chain, linked through next and
+ *  ending in NONE, of the nodes in [2, $this.top) that are not in the
+ *  doubly linked list of nodes]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([records in nodes starting at next(PRE_START) and running through
+ *    $this.lastLeft],
+ *   [records in nodes starting at next($this.lastLeft) and running through
+ *    previous(POST_FINISH)])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class OffHeapList3 implements Iterable<ByteBuffer> {
+
+    /**
+     * Node number of the "smart node" before start node of doubly linked
+     * list.
+     */
+    private static final int PRE_START = 0;
+
+    /**
+     * Node number of the "smart node" after finish node of doubly linked
+     * list.
+     */
+    private static final int POST_FINISH = 1;
+
+    /**
+     * Link value meaning "no node".
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Offsets of the links in a node.
+     */
+    private static final int NEXT_AT = 0, PREVIOUS_AT = 4;
+
+    /**
+     * Offset of the record in a node.
+     */
+    private static final int RECORD_AT = 8;
+
+    /**
+     * Log2 of the number of nodes in a slab.
+     */
+    private static final int SLAB_SHIFT = 12;
+
+    /**
+     * Number of nodes in a slab.
+     */
+    private static final int SLAB_NODES = 1 << SLAB_SHIFT;
+
+    /**
+     * Size in bytes of every record.
+     */
+    private final int recordSize;
+
+    /**
+     * Size in bytes of a node: the links and the record, rounded up to a
+     * multiple of 8 so that links stay aligned.
+     */
+    private final int nodeSize;
+
+    /**
+     * The slabs; node n is in slab n >>> SLAB_SHIFT, or null once
+     * {@code this} is closed.
+     */
+    private ByteBuffer[] slabs;
+
+    /**
+     * Last node of doubly linked list in this.left.
+     */
+    private int lastLeft;
+
+    /**
+     * First node of the free-node chain, or NONE.
+     */
+    private int freeHead;
+
+    /**
+     * Number of nodes that have ever been handed out.
+     */
+    private int top;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Returns the slab that holds node {@code n}.
+     *
+     * @param n
+     *            the node
+     * @return the slab
+     */
+    private ByteBuffer slab(int n) {
+        return this.slabs[n >>> SLAB_SHIFT];
+    }
+
+    /**
+     * Returns the offset of node {@code n} in its slab.
+     *
+     * @param n
+     *            the node
+     * @return the offset
+     */
+    private int at(int n) {
+        return (n & (SLAB_NODES - 1)) * this.nodeSize;
+    }
+
+    /**
+     * Returns the next link of node {@code n}.
+     *
+     * @param n
+     *            the node
+     * @return the next node
+     */
+    private int next(int n) {
+        return this.slab(n).getInt(this.at(n) + NEXT_AT);
+    }
+
+    /**
+     * Returns the previous link of node {@code n}.
+     *
+     * @param n
+     *            the node
+     * @return the previous node
+     */
+    private int previous(int n) {
+        return this.slab(n).getInt(this.at(n) + PREVIOUS_AT);
+    }
+
+    /**
+     * Sets the next link of node {@code n}.
+     *
+     * @param n
+     *            the node
+     * @param m
+     *            the next node
+     */
+    private void setNext(int n, int m) {
+        this.slab(n).putInt(this.at(n) + NEXT_AT, m);
+    }
+
+    /**
+     * Sets the previous link of node {@code n}.
+     *
+     * @param n
+     *            the node
+     * @param m
+     *            the previous node
+     */
+    private void setPrevious(int n, int m) {
+        this.slab(n).putInt(this.at(n) + PREVIOUS_AT, m);
+    }
+
+    /**
+     * Returns a read-only slice of the record in node {@code n}.
+     *
+     * @param n
+     *            the node
+     * @return the record
+     */
+    private ByteBuffer record(int n) {
+        return this.slab(n).slice(this.at(n) + RECORD_AT, this.recordSize)
+                .asReadOnlyBuffer();
+    }
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.slabs is not null  and
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [node PRE_START is the first node of a doubly linked list
+     *  containing ($this.leftLength + $this.rightLength + 2) nodes]  and
+     * [$this.lastLeft is the ($this.leftLength + 1)-th node in
+     *  that doubly linked list]  and
+     * [node POST_FINISH is the last node in that doubly linked list]  and
+     * [for every node n in the doubly linked list of nodes, except
+     *  POST_FINISH, previous(next(n)) = n]  and
+     * [2 <= $this.top <= |$this.slabs| * SLAB_NODES]  and
+     * [$this.freeHead is the first node of a chain, linked through next and
+     *  ending in NONE, of the nodes in [2, $this.top) that are not in the
+     *  doubly linked list of nodes]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.slabs != null : "Violation of: $this.slabs is not null";
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert 2 <= this.top
+                && this.top <= (long) this.slabs.length * SLAB_NODES : ""
+                        + "Violation of: [2 <= $this.top <="
+                        + " |$this.slabs| * SLAB_NODES]";
+
+        int count = 0;
+        boolean lastLeftFound = false;
+        int n = PRE_START;
+        while ((count < this.leftLength + this.rightLength + 1)
+                && (n != POST_FINISH)) {
+            count++;
+            if (n == this.lastLeft) {
+                assert count == this.leftLength + 1 : ""
+                        + "Violation of: [$this.lastLeft is the"
+                        + " ($this.leftLength + 1)-th node in that doubly linked list]";
+                lastLeftFound = true;
+            }
+            int m = this.next(n);
+            assert (0 <= m) && (m < this.top) && (this.previous(m) == n) : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except POST_FINISH,"
+                    + " previous(next(n)) = n]";
+            n = m;
+        }
+        count++;
+        assert count == this.leftLength + this.rightLength + 2 : ""
+                + "Violation of: [node PRE_START is the first node of"
+                + " a doubly linked list containing"
+                + " ($this.leftLength + $this.rightLength + 2) nodes]";
+        assert lastLeftFound : ""
+                + "Violation of: [$this.lastLeft is the"
+                + " ($this.leftLength + 1)-th node in that doubly linked list]";
+        assert n == POST_FINISH : ""
+                + "Violation of: [node POST_FINISH is the last"
+                + " node in that doubly linked list]";
+
+        int free = 0;
+        int s = this.freeHead;
+        while ((s != NONE) && (free < this.top)) {
+            free++;
+            s = this.next(s);
+        }
+        assert count + free == this.top : ""
+                + "Violation of: [$this.freeHead is the first node of a chain,"
+                + " linked through next and ending in NONE, of the nodes"
+                + " in [2, $this.top) that are not in the doubly linked list"
+                + " of nodes]";
+
+        return true;
+    }
+
+    /**
+     * Returns a new slab.
+     *
+     * @return the slab
+     */
+    private ByteBuffer newSlab() {
+        return ByteBuffer.allocateDirect(SLAB_NODES * this.nodeSize)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        //Allocate the first slab.
+        this.slabs = new ByteBuffer[] { this.newSlab() };
+
+        //Double link the preStart and postFinish nodes.
+        this.setNext(PRE_START, POST_FINISH);
+        this.setPrevious(PRE_START, NONE);
+        this.setNext(POST_FINISH, NONE);
+        this.setPrevious(POST_FINISH, PRE_START);
+
+        //Set up the cursor and the (empty) free-node chain.
+        this.lastLeft = PRE_START;
+        this.freeHead = NONE;
+        this.top = 2;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+    }
+
+    /**
+     * Returns an unused node, taken from the free-node chain if possible and
+     * otherwise from the never-used nodes, allocating a slab if necessary.
+     *
+     * @return the node
+     * @ensures allocate is not in the doubly linked list of nodes
+     */
+    private int allocate() {
+        int n = this.freeHead;
+        if (n != NONE) {
+            this.freeHead = this.next(n);
+        } else {
+            if (this.top == this.slabs.length * SLAB_NODES) {
+                if (this.top > Integer.MAX_VALUE - SLAB_NODES) {
+                    throw new IllegalStateException("OffHeapList3 is full");
+                }
+                this.slabs = Arrays.copyOf(this.slabs, this.slabs.length + 1);
+                this.slabs[this.slabs.length - 1] = this.newSlab();
+            }
+            n = this.top;
+            this.top++;
+        }
+        return n;
+    }
+
+    /**
+     * Constructor from the record size.
+     *
+     * @param recordSize
+     *            the size in bytes of every record
+     * @requires recordSize > 0
+     */
+    public OffHeapList3(int recordSize) {
+        assert recordSize > 0 : "Violation of: recordSize > 0";
+        assert recordSize <= (Integer.MAX_VALUE >> SLAB_SHIFT)
+                - RECORD_AT : "Violation of: recordSize is not too large";
+
+        this.recordSize = recordSize;
+        this.nodeSize = (RECORD_AT + recordSize + Long.BYTES - 1)
+                & -Long.BYTES;
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Returns a new object with the same <i>dynamic</i> type and record size
+     * as {@code this}, having an initial value.
+     *
+     * @return new object "like" {@code this} with an initial value
+     */
+    public final OffHeapList3 newInstance() {
+        return new OffHeapList3(this.recordSize);
+    }
+
+    /**
+     * Reports the size in bytes of every record of {@code this}.
+     *
+     * @return the record size
+     */
+    public final int recordSize() {
+        return this.recordSize;
+    }
+
+    /**
+     * Resets {@code this} to an initial value.
+     *
+     * @clears this
+     */
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Sets {@code this} to the incoming value of {@code source}, and resets
+     * {@code source} to an initial value.
+     *
+     * @param source
+     *            {@code OffHeapList3} whose value is to be transferred
+     * @replaces this
+     * @clears source
+     * @requires source.recordSize() = this.recordSize()
+     * @ensures this = #source
+     */
+    public final void transferFrom(OffHeapList3 source) {
+        assert source != null : "Violation of: source is not null";
+        assert source != this : "Violation of: source is not this";
+        assert source.recordSize == this.recordSize : ""
+                + "Violation of: source.recordSize() = this.recordSize()";
+        this.slabs = source.slabs;
+        this.lastLeft = source.lastLeft;
+        this.freeHead = source.freeHead;
+        this.top = source.top;
+        this.leftLength = source.leftLength;
+        this.rightLength = source.rightLength;
+        source.createNewRep();
+        assert this.conventionHolds();
+        assert source.conventionHolds();
+    }
+
+    /**
+     * Adds a copy of the remaining bytes of {@code x} to the beginning of
+     * {@code this.right}. The position of {@code x} is not changed.
+     *
+     * @param x
+     *            the record to be added
+     * @updates this.right
+     * @requires x.remaining() = this.recordSize()
+     * @ensures this.right = <x.remaining> * #this.right
+     */
+    public final void addRightFront(ByteBuffer x) {
+        assert x != null : "Violation of: x is not null";
+        assert x.remaining() == this.recordSize : ""
+                + "Violation of: x.remaining() = this.recordSize()";
+
+        //Declare the new node to add and copy the record into it.
+        int newRightFront = this.allocate();
+        this.slab(newRightFront).put(this.at(newRightFront) + RECORD_AT, x,
+                x.position(), this.recordSize);
+
+        //Insert the newRightFront in the DLL by update the double links.
+        int lastLeft = this.lastLeft;
+        int oldRightFront = this.next(lastLeft);
+        this.setNext(lastLeft, newRightFront);
+        this.setNext(newRightFront, oldRightFront);
+        this.setPrevious(oldRightFront, newRightFront);
+        this.setPrevious(newRightFront, lastLeft);
+
+        //Update the rightLength.
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Removes the record at the front of {@code this.right}, copying it into
+     * {@code x} at its position, which is advanced past it.
+     *
+     * @param x
+     *            the buffer to copy the front record of {@code this.right}
+     *            into
+     * @updates this.right, x
+     * @requires this.right /= <> and x.remaining() >= this.recordSize()
+     * @ensures #this.right = <[record copied into x]> * this.right
+     */
+    public final void removeRightFront(ByteBuffer x) {
+        assert x != null : "Violation of: x is not null";
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+        assert x.remaining() >= this.recordSize : ""
+                + "Violation of: x.remaining() >= this.recordSize()";
+
+        //Remove the oldRightFront from DLL by updating the double links.
+        int lastLeft = this.lastLeft;
+        int oldRightFront = this.next(lastLeft);
+        int newRightFront = this.next(oldRightFront);
+        this.setNext(lastLeft, newRightFront);
+        this.setPrevious(newRightFront, lastLeft);
+
+        //Copy the record out and put oldRightFront on the free-node chain.
+        x.put(x.position(), this.slab(oldRightFront),
+                this.at(oldRightFront) + RECORD_AT, this.recordSize);
+        x.position(x.position() + this.recordSize);
+        this.setNext(oldRightFront, this.freeHead);
+        this.freeHead = oldRightFront;
+
+        //Update the this.rightLength.
+        this.rightLength--;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Returns a read-only view of the record at the front of
+     * {@code this.right}, without copying it. The view is valid only until
+     * {@code this} is next changed.
+     *
+     * @return the front record of {@code this.right}
+     * @requires this.right /= <>
+     * @ensures <rightFront.remaining> is prefix of this.right
+     */
+    public final ByteBuffer rightFront() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        return this.record(this.next(this.lastLeft));
+    }
+
+    /**
+     * Advances the position in {@code this} by one.
+     *
+     * @updates this
+     * @requires this.right /= <>
+     * @ensures <pre>
+     * this.left * this.right = #this.left * #this.right  and
+     * |this.left| = |#this.left| + 1
+     * </pre>
+     */
+    public final void advance() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        this.lastLeft = this.next(this.lastLeft);
+        this.leftLength++;
+        this.rightLength--;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Moves the position in {@code this} one back.
+     *
+     * @updates this
+     * @requires this.left /= <>
+     * @ensures <pre>
+     * this.left * this.right = #this.left * #this.right  and
+     * |this.left| = |#this.left| - 1
+     * </pre>
+     */
+    public final void retreat() {
+        assert this.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        this.lastLeft = this.previous(this.lastLeft);
+        this.leftLength--;
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Moves the position in {@code this} to the beginning.
+     *
+     * @updates this
+     * @ensures this.left = <> and this.right = #this.left * #this.right
+     */
+    public final void moveToStart() {
+
+        this.lastLeft = PRE_START;
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Moves the position in {@code this} to the end.
+     *
+     * @updates this
+     * @ensures this.left = #this.left * #this.right and this.right = <>
+     */
+    public final void moveToFinish() {
+
+        this.lastLeft = this.previous(POST_FINISH);
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    /**
+     * Reports length of {@code this.left}.
+     *
+     * @return the length of {@code this.left}
+     * @ensures leftLength = |this.left|
+     */
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.leftLength;
+    }
+
+    /**
+     * Reports length of {@code this.right}.
+     *
+     * @return the length of {@code this.right}
+     * @ensures rightLength = |this.right|
+     */
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.rightLength;
+    }
+
+    /**
+     * Returns an iterator over {@code this.left * this.right} whose
+     * {@code next} returns a read-only view of each record, without copying
+     * it. The views are valid only until {@code this} is next changed.
+     *
+     * @return the iterator
+     */
+    @Override
+    public final Iterator<ByteBuffer> iterator() {
+        assert this.conventionHolds();
+        return new OffHeapList3Iterator();
+    }
+
+    /**
+     * Implementation of {@code Iterator} interface for {@code OffHeapList3}.
+     */
+    private final class OffHeapList3Iterator implements Iterator<ByteBuffer> {
+
+        /**
+         * Current node in the linked list.
+         */
+        private int current;
+
+        /**
+         * No-argument constructor.
+         */
+        private OffHeapList3Iterator() {
+            this.current = OffHeapList3.this.next(PRE_START);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != POST_FINISH;
+        }
+
+        @Override
+        public ByteBuffer next() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            ByteBuffer x = OffHeapList3.this.record(this.current);
+            this.current = OffHeapList3.this.next(this.current);
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /**
+     * Releases the slabs of {@code this}. The memory of a direct buffer is
+     * returned to the operating system when the buffer is garbage collected,
+     * so after this call it is up to the collector; {@code this} must not be
+     * used afterwards.
+     */
+    public final void close() {
+        this.slabs = null;
+    }
+
+    /*
+     * Common methods (from Object) -------------------------------------------
+     */
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof OffHeapList3)) {
+            return false;
+        }
+        OffHeapList3 other = (OffHeapList3) obj;
+        if (this.recordSize != other.recordSize
+                || this.leftLength != other.leftLength
+                || this.rightLength != other.rightLength) {
+            return false;
+        }
+        int n = this.next(PRE_START);
+        int m = other.next(PRE_START);
+        while (n != POST_FINISH) {
+            if (!this.record(n).equals(other.record(m))) {
+                return false;
+            }
+            n = this.next(n);
+            m = other.next(m);
+        }
+        return true;
+    }
+
+    @Override
+    public final int hashCode() {
+        final int a = 37;
+        int result = this.leftLength;
+        for (int n = this.next(PRE_START); n != POST_FINISH; n = this
+                .next(n)) {
+            result = a * result + this.record(n).hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public final String toString() {
+        StringBuilder result = new StringBuilder("(<");
+        for (int n = this.next(PRE_START); n != POST_FINISH; n = this
+                .next(n)) {
+            ByteBuffer x = this.record(n);
+            while (x.hasRemaining()) {
+                result.append(String.format("%02x", x.get()));
+            }
+            if (n == this.lastLeft) {
+                result.append(">,<");
+            } else if (this.next(n) != POST_FINISH) {
+                result.append(",");
+            }
+        }
+        if (this.lastLeft == PRE_START) {
+            result.insert(2, ">,<");
+        }
+        result.append(">)");
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,492 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} represented as a "zipper" of two persistent (immutable) singly
+ * linked lists of cells, with implementations of primary methods and
+ * {@code retreat} secondary method, and an O(1) {@code snapshot} operation.
+ *
+ * <p>
+ * Cells are never changed once made, so a snapshot just keeps the two
+ * current chains; later changes to {@code this} make new cells near the
+ * cursor (path copying) and share everything else with the snapshots. Readers
+ * of a snapshot never block, or are blocked by, changes to {@code this}, even
+ * from other threads.
+ * </p>
+ *
+ * <p>
+ * Execution-time performance of {@code moveToStart} is O(|this.left|) and of
+ * {@code moveToFinish} is O(|this.right|), and each makes that many new cells;
+ * creating an iterator (of {@code this} or of a {@code Snapshot}) is
+ * O(|this.left|) and copies the left part into an array, because the left
+ * chain is stored backwards; execution-time performance of all other methods
+ * implemented in this class is O(1), but {@code advance} and {@code retreat}
+ * each make a new cell.
+ * </p>
+ *
+ * <p>
+ * This is a deliberate trade-off. A zipper makes every edit at the cursor
+ * O(1) with a single new cell, and makes {@code snapshot} O(1) with no copying
+ * at all; the price is paid by cursor moves, which in {@code List3} are O(1)
+ * and allocation-free, and by the start of each iteration. It suits lists that
+ * are edited near one position and snapshotted often. A persistent balanced
+ * tree with a cursor index would keep all moves in O(log n) instead, at the
+ * cost of O(log n) new nodes per edit.
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code List} entries
+ * @convention <pre>
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [$this.left is a chain of $this.leftLength cells, ending in null]  and
+ * [$this.right is a chain of $this.rightLength cells, ending in null]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  (reverse([data in cells starting at $this.left]),
+ *   [data in cells starting at $this.right])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class PersistentList3<T> extends ListSecondary<T> {
+
+    /**
+     * Immutable cell of a singly linked chain.
+     *
+     * @param <T>
+     *            type of the data
+     */
+    private static final class Cell<T> {
+
+        /**
+         * Data in cell.
+         */
+        private final T data;
+
+        /**
+         * Next cell in chain, or null.
+         */
+        private final Cell<T> next;
+
+        /**
+         * Constructor from data and next cell.
+         *
+         * @param data
+         *            the data
+         * @param next
+         *            the next cell
+         */
+        private Cell(T data, Cell<T> next) {
+            this.data = data;
+            this.next = next;
+        }
+
+    }
+
+    /**
+     * Immutable point-in-time view of a {@code PersistentList3}.
+     *
+     * @param <T>
+     *            type of entries
+     */
+    public static final class Snapshot<T> implements Iterable<T> {
+
+        /**
+         * Left chain (last entry of the left part first).
+         */
+        private final Cell<T> left;
+
+        /**
+         * Right chain (first entry of the right part first).
+         */
+        private final Cell<T> right;
+
+        /**
+         * Length of the left part.
+         */
+        private final int leftLength;
+
+        /**
+         * Length of the right part.
+         */
+        private final int rightLength;
+
+        /**
+         * Constructor from the chains and lengths.
+         *
+         * @param left
+         *            the left chain
+         * @param right
+         *            the right chain
+         * @param leftLength
+         *            the length of the left chain
+         * @param rightLength
+         *            the length of the right chain
+         */
+        private Snapshot(Cell<T> left, Cell<T> right, int leftLength,
+                int rightLength) {
+            this.left = left;
+            this.right = right;
+            this.leftLength = leftLength;
+            this.rightLength = rightLength;
+        }
+
+        /**
+         * Reports length of the left part of the snapshot.
+         *
+         * @return the length of the left part
+         */
+        public int leftLength() {
+            return this.leftLength;
+        }
+
+        /**
+         * Reports length of the right part of the snapshot.
+         *
+         * @return the length of the right part
+         */
+        public int rightLength() {
+            return this.rightLength;
+        }
+
+        /**
+         * Returns an iterator over the entries of the snapshot, left part
+         * first. Creating it is O(length of the left part), because the left
+         * chain is stored backwards.
+         *
+         * @return the iterator
+         */
+        @Override
+        public Iterator<T> iterator() {
+            return new ZipperIterator<T>(this.left, this.right,
+                    this.leftLength);
+        }
+
+    }
+
+    /**
+     * Iterator over the entries of a zipper: the left chain backwards, then
+     * the right chain.
+     *
+     * @param <T>
+     *            type of entries
+     */
+    private static final class ZipperIterator<T> implements Iterator<T> {
+
+        /**
+         * Entries of the left chain in forward order.
+         */
+        private final Object[] leftEntries;
+
+        /**
+         * Position of the next entry in this.leftEntries.
+         */
+        private int index;
+
+        /**
+         * Next cell of the right chain.
+         */
+        private Cell<T> current;
+
+        /**
+         * Constructor from the chains.
+         *
+         * @param left
+         *            the left chain
+         * @param right
+         *            the right chain
+         * @param leftLength
+         *            the length of the left chain
+         */
+        private ZipperIterator(Cell<T> left, Cell<T> right, int leftLength) {
+            this.leftEntries = new Object[leftLength];
+            Cell<T> c = left;
+            for (int i = leftLength - 1; i >= 0; i--) {
+                this.leftEntries[i] = c.data;
+                c = c.next;
+            }
+            this.index = 0;
+            this.current = right;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.leftEntries.length
+                    || this.current != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            T x;
+            if (this.index < this.leftEntries.length) {
+                x = (T) this.leftEntries[this.index];
+                this.index++;
+            } else {
+                x = this.current.data;
+                this.current = this.current.next;
+            }
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /**
+     * Left chain: the last entry of this.left first.
+     */
+    private Cell<T> left;
+
+    /**
+     * Right chain: the first entry of this.right first.
+     */
+    private Cell<T> right;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [$this.left is a chain of $this.leftLength cells, ending in null]  and
+     * [$this.right is a chain of $this.rightLength cells, ending in null]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+
+        int count = 0;
+        Cell<T> cL = this.left;
+        while ((cL != null) && (count <= this.leftLength)) {
+            count++;
+            cL = cL.next;
+        }
+        assert count == this.leftLength : ""
+                + "Violation of: [$this.left is a chain of $this.leftLength"
+                + " cells, ending in null]";
+        count = 0;
+        Cell<T> cR = this.right;
+        while ((cR != null) && (count <= this.rightLength)) {
+            count++;
+            cR = cR.next;
+        }
+        assert count == this.rightLength : ""
+                + "Violation of: [$this.right is a chain of $this.rightLength"
+                + " cells, ending in null]";
+
+        return true;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        this.left = null;
+        this.right = null;
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public PersistentList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final PersistentList3<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void transferFrom(List<T> source) {
+        assert source instanceof PersistentList3<?> : ""
+                + "Violation of: source is of dynamic type PersistentList3<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type
+         * PersistentList3<?>, and the ? must be T or the call would not have
+         * compiled.
+         */
+        PersistentList3<T> localSource = (PersistentList3<T>) source;
+        this.left = localSource.left;
+        this.right = localSource.right;
+        this.leftLength = localSource.leftLength;
+        this.rightLength = localSource.rightLength;
+        localSource.createNewRep();
+        assert this.conventionHolds();
+        assert localSource.conventionHolds();
+    }
+
+    @Override
+    public final void addRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        this.right = new Cell<T>(x, this.right);
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final T removeRightFront() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        T result = this.right.data;
+        this.right = this.right.next;
+        this.rightLength--;
+
+        assert this.conventionHolds();
+
+        return result;
+    }
+
+    @Override
+    public final void advance() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Move the right front over to the left chain.
+        this.left = new Cell<T>(this.right.data, this.left);
+        this.right = this.right.next;
+        this.leftLength++;
+        this.rightLength--;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void moveToStart() {
+
+        //Move the whole left chain over to the right chain.
+        while (this.left != null) {
+            this.right = new Cell<T>(this.left.data, this.right);
+            this.left = this.left.next;
+        }
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.leftLength;
+    }
+
+    @Override
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.rightLength;
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        assert this.conventionHolds();
+        return new ZipperIterator<T>(this.left, this.right, this.leftLength);
+    }
+
+    /**
+     * Returns an immutable view of the current value of {@code this}, in O(1).
+     * The view shares cells with {@code this} and is not affected by later
+     * changes to {@code this}.
+     *
+     * @return the snapshot
+     * @ensures <pre>
+     * snapshot.left = this.left  and  snapshot.right = this.right
+     * </pre>
+     */
+    public final Snapshot<T> snapshot() {
+        return new Snapshot<T>(this.left, this.right, this.leftLength,
+                this.rightLength);
+    }
+
+    /*
+     * Other methods (overridden for performance reasons) ---------------------
+     */
+
+    @Override
+    public final void moveToFinish() {
+
+        //Move the whole right chain over to the left chain.
+        while (this.right != null) {
+            this.left = new Cell<T>(this.right.data, this.left);
+            this.right = this.right.next;
+        }
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void retreat() {
+        assert this.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        //Move the last entry of the left over to the right chain.
+        this.right = new Cell<T>(this.left.data, this.right);
+        this.left = this.left.next;
+        this.leftLength--;
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+}
@@ -0,0 +1,596 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} represented as an unrolled doubly linked list, done
+ * "bare-handed", where each node holds a small array of entries, with
+ * implementations of primary methods and {@code retreat} secondary method.
+ *
+ * <p>
+ * Execution-time performance of {@code addRightFront} and
+ * {@code removeRightFront} is O({@code CAPACITY}), i.e., O(1); execution-time
+ * performance of all other methods implemented in this class is O(1).
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code List} entries
+ * @convention <pre>
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [$this.preStart is not null]  and
+ * [$this.cursor is not null]  and
+ * [$this.postFinish is not null]  and
+ * [$this.preStart points to the first node of a doubly linked list of
+ *  nodes, and $this.postFinish points to the last node in it]  and
+ * [$this.preStart.count = 0 and $this.postFinish.count = 0]  and
+ * [for every other node n in that doubly linked list,
+ *  1 <= n.count <= CAPACITY]  and
+ * [the sum of n.count over all nodes n in that doubly linked list is
+ *  $this.leftLength + $this.rightLength]  and
+ * [$this.cursor points to a node in that doubly linked list other than
+ *  the one pointed to by $this.postFinish]  and
+ * [0 <= $this.offset <= $this.cursor.count]  and
+ * [the sum of n.count over all nodes n strictly before $this.cursor,
+ *  plus $this.offset, is $this.leftLength]  and
+ * [for every node n in the doubly linked list of nodes, except the one
+ *  pointed to by $this.preStart, n.previous.next = n]  and
+ * [for every node n in the doubly linked list of nodes, except the one
+ *  pointed to by $this.postFinish, n.next.previous = n]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([entries in nodes starting at $this.preStart.next and running through
+ *    the node before $this.cursor, followed by
+ *    $this.cursor.entries[0, $this.offset)],
+ *   [$this.cursor.entries[$this.offset, $this.cursor.count), followed by
+ *    entries in nodes starting at $this.cursor.next and running through
+ *    $this.postFinish.previous])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class UnrolledList3<T> extends ListSecondary<T> {
+
+    /**
+     * Maximum number of entries held by a single node.
+     */
+    private static final int CAPACITY = 32;
+
+    /**
+     * Node class for unrolled doubly linked list nodes.
+     */
+    private final class Node {
+
+        /**
+         * Entries in node, in positions [0, count), or, if this is a "smart"
+         * Node, irrelevant.
+         */
+        private Object[] entries;
+
+        /**
+         * Number of entries in node; 0 if this is a "smart" Node.
+         */
+        private int count;
+
+        /**
+         * Next node in doubly linked list, or, if this is a trailing "smart"
+         * Node, irrelevant.
+         */
+        private Node next;
+
+        /**
+         * Previous node in doubly linked list, or, if this is a leading "smart"
+         * Node, irrelevant.
+         */
+        private Node previous;
+
+    }
+
+    /**
+     * "Smart node" before start node of doubly linked list.
+     */
+    private Node preStart;
+
+    /**
+     * Node of doubly linked list holding the boundary between this.left and
+     * this.right.
+     */
+    private Node cursor;
+
+    /**
+     * Number of entries of this.cursor that are in this.left.
+     */
+    private int offset;
+
+    /**
+     * "Smart node" after finish node of linked list.
+     */
+    private Node postFinish;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [$this.preStart is not null]  and
+     * [$this.cursor is not null]  and
+     * [$this.postFinish is not null]  and
+     * [$this.preStart.count = 0 and $this.postFinish.count = 0]  and
+     * [for every other node n in that doubly linked list,
+     *  1 <= n.count <= CAPACITY]  and
+     * [the sum of n.count over all nodes n in that doubly linked list is
+     *  $this.leftLength + $this.rightLength]  and
+     * [0 <= $this.offset <= $this.cursor.count]  and
+     * [the sum of n.count over all nodes n strictly before $this.cursor,
+     *  plus $this.offset, is $this.leftLength]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.preStart, n.previous.next = n]  and
+     * [for every node n in the doubly linked list of nodes, except the one
+     *  pointed to by $this.postFinish, n.next.previous = n]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert this.preStart != null : "Violation of: $this.preStart is not null";
+        assert this.cursor != null : "Violation of: $this.cursor is not null";
+        assert this.postFinish != null : "Violation of: $this.postFinish is not null";
+        assert this.preStart.count == 0 && this.postFinish.count == 0 : ""
+                + "Violation of: [$this.preStart.count = 0 and"
+                + " $this.postFinish.count = 0]";
+
+        int length = this.leftLength + this.rightLength;
+        int total = 0;
+        boolean cursorFound = false;
+        Node n = this.preStart;
+        while ((total <= length) && (n != this.postFinish)) {
+            if (n == this.cursor) {
+                assert 0 <= this.offset && this.offset <= n.count : ""
+                        + "Violation of: [0 <= $this.offset <="
+                        + " $this.cursor.count]";
+                assert total + this.offset == this.leftLength : ""
+                        + "Violation of: [the sum of n.count over all nodes n"
+                        + " strictly before $this.cursor, plus $this.offset,"
+                        + " is $this.leftLength]";
+                cursorFound = true;
+            }
+            assert (n == this.preStart)
+                    || (1 <= n.count && n.count <= CAPACITY) : ""
+                            + "Violation of: [for every other node n in that"
+                            + " doubly linked list, 1 <= n.count <= CAPACITY]";
+            total += n.count;
+            /*
+             * Check for every node n in the doubly linked list of nodes, except
+             * the one pointed to by $this.postFinish, n.next.previous = n
+             */
+            assert (n.next != null) && (n.next.previous == n) : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.postFinish, n.next.previous = n]";
+            n = n.next;
+            /*
+             * Check for every node n in the doubly linked list of nodes, except
+             * the one pointed to by $this.preStart, n.previous.next = n
+             */
+            assert n.previous.next == n : ""
+                    + "Violation of: [for every node n in the doubly linked"
+                    + " list of nodes, except the one pointed to by"
+                    + " $this.preStart, n.previous.next = n]";
+        }
+        assert total == length : ""
+                + "Violation of: [the sum of n.count over all nodes n in that"
+                + " doubly linked list is $this.leftLength + $this.rightLength]";
+        assert cursorFound : ""
+                + "Violation of: [$this.cursor points to a node in that doubly"
+                + " linked list other than the one pointed to by"
+                + " $this.postFinish]";
+        assert n == this.postFinish : ""
+                + "Violation of: [$this.postFinish points to the last"
+                + " node in that doubly linked list]";
+
+        return true;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        //Declare the preStart and postFinish nodes.
+        Node preStart = new Node();
+        Node postFinish = new Node();
+
+        //Double link the preStart and postFinish nodes.
+        preStart.next = postFinish;
+        postFinish.previous = preStart;
+
+        //Link the nodes with Instance Variables(Fields).
+        this.preStart = preStart;
+        this.cursor = preStart;
+        this.offset = 0;
+        this.postFinish = postFinish;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+    }
+
+    /**
+     * Creates a new data node and links it into the doubly linked list right
+     * after {@code before}.
+     *
+     * @param before
+     *            the node after which the new node is linked
+     * @return the new node
+     * @requires before is in the doubly linked list of nodes and before is not
+     *           $this.postFinish
+     * @ensures createNodeAfter.count = 0 and createNodeAfter.previous = before
+     */
+    private Node createNodeAfter(Node before) {
+        Node n = new Node();
+        n.entries = new Object[CAPACITY];
+        Node after = before.next;
+        before.next = n;
+        n.previous = before;
+        n.next = after;
+        after.previous = n;
+        return n;
+    }
+
+    /**
+     * Unlinks the (empty) node {@code n} from the doubly linked list.
+     *
+     * @param n
+     *            the node to unlink
+     * @requires n is a data node in the doubly linked list of nodes
+     */
+    private void unlink(Node n) {
+        n.previous.next = n.next;
+        n.next.previous = n.previous;
+        n.entries = null;
+    }
+
+    /**
+     * Inserts {@code x} at position {@code pos} of {@code n.entries}, shifting
+     * later entries up.
+     *
+     * @param n
+     *            the node
+     * @param pos
+     *            the position at which to insert
+     * @param x
+     *            the entry to insert
+     * @requires n.count < CAPACITY and 0 <= pos <= n.count
+     */
+    private void insertAt(Node n, int pos, Object x) {
+        System.arraycopy(n.entries, pos, n.entries, pos + 1, n.count - pos);
+        n.entries[pos] = x;
+        n.count++;
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public UnrolledList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final UnrolledList3<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void transferFrom(List<T> source) {
+        assert source instanceof UnrolledList3<?> : ""
+                + "Violation of: source is of dynamic type UnrolledList3<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type
+         * UnrolledList3<?>, and the ? must be T or the call would not have
+         * compiled.
+         */
+        UnrolledList3<T> localSource = (UnrolledList3<T>) source;
+        this.preStart = localSource.preStart;
+        this.cursor = localSource.cursor;
+        this.offset = localSource.offset;
+        this.postFinish = localSource.postFinish;
+        this.leftLength = localSource.leftLength;
+        this.rightLength = localSource.rightLength;
+        localSource.createNewRep();
+        assert this.conventionHolds();
+        assert localSource.conventionHolds();
+    }
+
+    @Override
+    public final void addRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        Node cursor = this.cursor;
+        if (cursor == this.preStart) {
+            /*
+             * Left is empty: put x at the front of the first data node, or in
+             * a new node if that one is missing or full.
+             */
+            Node first = cursor.next;
+            if (first == this.postFinish || first.count == CAPACITY) {
+                first = this.createNodeAfter(cursor);
+            }
+            this.insertAt(first, 0, x);
+        } else if (cursor.count < CAPACITY) {
+            this.insertAt(cursor, this.offset, x);
+        } else if (this.offset == CAPACITY) {
+            /*
+             * Cursor is at the end of a full node: x goes to the front of the
+             * next node, so appending keeps the nodes packed.
+             */
+            Node following = cursor.next;
+            if (following == this.postFinish || following.count == CAPACITY) {
+                following = this.createNodeAfter(cursor);
+            }
+            this.insertAt(following, 0, x);
+        } else {
+            /*
+             * Cursor node is full: split it in half and insert into whichever
+             * half now holds the cursor position.
+             */
+            Node upper = this.createNodeAfter(cursor);
+            int half = CAPACITY / 2;
+            System.arraycopy(cursor.entries, half, upper.entries, 0,
+                    CAPACITY - half);
+            Arrays.fill(cursor.entries, half, CAPACITY, null);
+            upper.count = CAPACITY - half;
+            cursor.count = half;
+            if (this.offset <= half) {
+                this.insertAt(cursor, this.offset, x);
+            } else {
+                this.cursor = upper;
+                this.offset -= half;
+                this.insertAt(upper, this.offset, x);
+            }
+        }
+
+        //Update the rightLength.
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final T removeRightFront() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Find the node and position holding the right front.
+        Node n = this.cursor;
+        int pos = this.offset;
+        if (pos == n.count) {
+            n = n.next;
+            pos = 0;
+        }
+
+        //Remove the right front by shifting the later entries down.
+        T result = (T) n.entries[pos];
+        n.count--;
+        System.arraycopy(n.entries, pos + 1, n.entries, pos, n.count - pos);
+        n.entries[n.count] = null;
+
+        if (n.count == 0) {
+            if (n == this.cursor) {
+                //Keep the cursor on a node that stays in the list.
+                this.cursor = n.previous;
+                this.offset = this.cursor.count;
+            }
+            this.unlink(n);
+        } else if (n.next != this.postFinish
+                && n.count + n.next.count <= CAPACITY / 2) {
+            /*
+             * Merge sparse neighbors so that removals do not leave long runs
+             * of nearly empty nodes behind.
+             */
+            Node following = n.next;
+            System.arraycopy(following.entries, 0, n.entries, n.count,
+                    following.count);
+            if (following == this.cursor) {
+                this.cursor = n;
+                this.offset += n.count;
+            }
+            n.count += following.count;
+            following.count = 0;
+            this.unlink(following);
+        }
+
+        //Update the this.rightLength.
+        this.rightLength--;
+
+        assert this.conventionHolds();
+
+        return result;
+    }
+
+    @Override
+    public final void advance() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Step onto the next node once the cursor node has been used up.
+        if (this.offset == this.cursor.count) {
+            this.cursor = this.cursor.next;
+            this.offset = 0;
+        }
+        this.offset++;
+
+        //Update the leftLength and rightLength;
+        this.leftLength++;
+        this.rightLength--;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void moveToStart() {
+
+        //Move the cursor to the front of the DDL.
+        this.cursor = this.preStart;
+        this.offset = 0;
+
+        //Update the leftLength and rightLength;
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.leftLength;
+    }
+
+    @Override
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.rightLength;
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        assert this.conventionHolds();
+        return new UnrolledList3Iterator();
+    }
+
+    /**
+     * Implementation of {@code Iterator} interface for {@code UnrolledList3}.
+     */
+    private final class UnrolledList3Iterator implements Iterator<T> {
+
+        /**
+         * Current node in the linked list.
+         */
+        private Node current;
+
+        /**
+         * Position of the next entry in this.current.
+         */
+        private int index;
+
+        /**
+         * No-argument constructor.
+         */
+        private UnrolledList3Iterator() {
+            this.current = UnrolledList3.this.preStart.next;
+            this.index = 0;
+            assert UnrolledList3.this.conventionHolds();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != UnrolledList3.this.postFinish;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            T x = (T) this.current.entries[this.index];
+            this.index++;
+            if (this.index == this.current.count) {
+                this.current = this.current.next;
+                this.index = 0;
+            }
+            assert UnrolledList3.this.conventionHolds();
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /*
+     * Other methods (overridden for performance reasons) ---------------------
+     */
+
+    @Override
+    public final void moveToFinish() {
+
+        //Move the cursor past the last entry of the DDL.
+        this.cursor = this.postFinish.previous;
+        this.offset = this.cursor.count;
+
+        //Update the leftLength and rightLength;
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void retreat() {
+        assert this.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        //Step back onto the previous node if no entry of this one is left.
+        if (this.offset == 0) {
+            this.cursor = this.cursor.previous;
+            this.offset = this.cursor.count;
+        }
+        this.offset--;
+
+        //Update the leftLength and rightLength;
+        this.leftLength--;
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+}
@@ -0,0 +1,504 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import components.list.List;
+import components.list.ListSecondary;
+
+/**
+ * {@code List} represented as an XOR-linked list whose nodes are slots in
+ * parallel arrays {@code link} and {@code data}: instead of a next and a
+ * previous link, every slot holds the XOR of the two, so each node takes one
+ * {@code int} of links rather than two (or two references plus a header, as
+ * in {@code List3}). Implementations of primary methods and {@code retreat}
+ * and {@code moveToFinish} secondary methods are provided.
+ *
+ * <p>
+ * A link can only be followed from a known neighbor, so the cursor is kept as
+ * the pair of adjacent slots {@code lastLeft} and {@code rightFront}; every
+ * kernel method moves, inserts, or removes at that pair, and the two smart
+ * slots are reached directly, with an XOR of their outside neighbor taken as
+ * PRE_START (that is, 0).
+ * </p>
+ *
+ * <p>
+ * Execution-time performance of {@code addRightFront} is amortized O(1) (the
+ * arrays are doubled when full); execution-time performance of all other
+ * methods implemented in this class is O(1).
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code List} entries
+ * @convention <pre>
+ * $this.leftLength >= 0  and
+ * [$this.rightLength >= 0] and
+ * [$this.link and $this.data have the same length]  and
+ * [slot PRE_START is the first node of a doubly linked list, in which
+ *  $this.link[n] = previous(n) XOR next(n), with previous(PRE_START) and
+ *  next(POST_FINISH) taken as 0, containing
+ *  ($this.leftLength + $this.rightLength + 2) nodes]  and
+ * [$this.lastLeft is the ($this.leftLength + 1)-th node in
+ *  that doubly linked list]  and
+ * [$this.rightFront = next($this.lastLeft)]  and
+ * [slot POST_FINISH is the last node in that doubly linked list]  and
+ * [2 <= $this.top <= |$this.link|]  and
+ * [$this.freeHead is the first slot of a chain, linked through $this.link
+ *  and ending in NONE, of the slots in [2, $this.top) that are not in the
+ *  doubly linked list of nodes]  and
+ * [$this.data[s] = null for every slot s not in the doubly linked list of
+ *  nodes]
+ * </pre>
+ * @correspondence <pre>
+ * this =
+ *  ([data in nodes starting at next(PRE_START) and running through
+ *    $this.lastLeft],
+ *   [data in nodes starting at $this.rightFront and running
+ *    through previous(POST_FINISH)])
+ * </pre>
+ *
+ * @author Zheyuan Gao
+ * @author Cedric Fausey
+ *
+ */
+public class XorList3<T> extends ListSecondary<T> {
+
+    /**
+     * Slot of the "smart node" before start node of doubly linked list.
+     */
+    private static final int PRE_START = 0;
+
+    /**
+     * Slot of the "smart node" after finish node of doubly linked list.
+     */
+    private static final int POST_FINISH = 1;
+
+    /**
+     * Link value meaning "no slot" in the free-slot chain.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Initial length of the parallel arrays.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * XOR of the previous and next slots in doubly linked list (or next slot
+     * in the free-slot chain), indexed by slot.
+     */
+    private int[] link;
+
+    /**
+     * Data in each slot, or, if this is a "smart" slot or a free slot, null.
+     */
+    private Object[] data;
+
+    /**
+     * Last slot of doubly linked list in this.left.
+     */
+    private int lastLeft;
+
+    /**
+     * Slot after this.lastLeft in doubly linked list.
+     */
+    private int rightFront;
+
+    /**
+     * First slot of the free-slot chain, or NONE.
+     */
+    private int freeHead;
+
+    /**
+     * Number of slots that have ever been handed out (slots [top, capacity)
+     * have never been used).
+     */
+    private int top;
+
+    /**
+     * Length of this.left.
+     */
+    private int leftLength;
+
+    /**
+     * Length of this.right.
+     */
+    private int rightLength;
+
+    /**
+     * Checks that the part of the convention repeated below holds for the
+     * current representation.
+     *
+     * @return true if the convention holds (or if assertion checking is off);
+     *         otherwise reports a violated assertion
+     * @convention <pre>
+     * $this.leftLength >= 0  and
+     * [$this.rightLength >= 0] and
+     * [$this.link and $this.data have the same length]  and
+     * [slot PRE_START is the first node of a doubly linked list, in which
+     *  $this.link[n] = previous(n) XOR next(n), with previous(PRE_START) and
+     *  next(POST_FINISH) taken as 0, containing
+     *  ($this.leftLength + $this.rightLength + 2) nodes]  and
+     * [$this.lastLeft is the ($this.leftLength + 1)-th node in
+     *  that doubly linked list]  and
+     * [$this.rightFront = next($this.lastLeft)]  and
+     * [slot POST_FINISH is the last node in that doubly linked list]  and
+     * [2 <= $this.top <= |$this.link|]  and
+     * [$this.freeHead is the first slot of a chain, linked through $this.link
+     *  and ending in NONE, of the slots in [2, $this.top) that are not in the
+     *  doubly linked list of nodes]
+     * </pre>
+     */
+    private boolean conventionHolds() {
+        assert this.leftLength >= 0 : "Violation of: $this.leftLength >= 0";
+        assert this.rightLength >= 0 : "Violation of: $this.rightLength >= 0";
+        assert this.link.length == this.data.length : ""
+                + "Violation of: [$this.link and $this.data have the same"
+                + " length]";
+        assert 2 <= this.top && this.top <= this.link.length : ""
+                + "Violation of: [2 <= $this.top <= |$this.link|]";
+
+        int count = 0;
+        boolean lastLeftFound = false;
+        int previous = PRE_START;
+        int n = PRE_START;
+        while ((count < this.leftLength + this.rightLength + 1)
+                && (n != POST_FINISH)) {
+            count++;
+            int m = this.link[n] ^ previous;
+            if (n == this.lastLeft) {
+                assert count == this.leftLength + 1 : ""
+                        + "Violation of: [$this.lastLeft is the"
+                        + " ($this.leftLength + 1)-th node in that doubly linked list]";
+                assert m == this.rightFront : ""
+                        + "Violation of: [$this.rightFront = next($this.lastLeft)]";
+                lastLeftFound = true;
+            }
+            assert (0 < m) && (m < this.top) : ""
+                    + "Violation of: [slot PRE_START is the first node of"
+                    + " a doubly linked list, in which $this.link[n] ="
+                    + " previous(n) XOR next(n)]";
+            previous = n;
+            n = m;
+        }
+        count++;
+        assert count == this.leftLength + this.rightLength + 2 : ""
+                + "Violation of: [slot PRE_START is the first node of"
+                + " a doubly linked list containing"
+                + " ($this.leftLength + $this.rightLength + 2) nodes]";
+        assert lastLeftFound : ""
+                + "Violation of: [$this.lastLeft is the"
+                + " ($this.leftLength + 1)-th node in that doubly linked list]";
+        assert n == POST_FINISH && this.link[POST_FINISH] == previous : ""
+                + "Violation of: [slot POST_FINISH is the last"
+                + " node in that doubly linked list]";
+
+        int free = 0;
+        int s = this.freeHead;
+        while ((s != NONE) && (free < this.top)) {
+            free++;
+            s = this.link[s];
+        }
+        assert count + free == this.top : ""
+                + "Violation of: [$this.freeHead is the first slot of a chain,"
+                + " linked through $this.link and ending in NONE, of the slots"
+                + " in [2, $this.top) that are not in the doubly linked list"
+                + " of nodes]";
+
+        return true;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+
+        //Allocate the parallel arrays.
+        this.link = new int[INITIAL_CAPACITY];
+        this.data = new Object[INITIAL_CAPACITY];
+
+        //Link the preStart and postFinish slots (outside neighbors are 0).
+        this.link[PRE_START] = POST_FINISH;
+        this.link[POST_FINISH] = PRE_START;
+
+        //Set up the cursor and the (empty) free-slot chain.
+        this.lastLeft = PRE_START;
+        this.rightFront = POST_FINISH;
+        this.freeHead = NONE;
+        this.top = 2;
+
+        //Set leftLength and rightLength to default value 0.
+        this.leftLength = 0;
+        this.rightLength = 0;
+
+    }
+
+    /**
+     * Returns an unused slot, taken from the free-slot chain if possible and
+     * otherwise from the never-used slots, doubling the arrays if necessary.
+     *
+     * @return the slot
+     * @ensures allocate is not in the doubly linked list of nodes
+     */
+    private int allocate() {
+        int slot = this.freeHead;
+        if (slot != NONE) {
+            this.freeHead = this.link[slot];
+        } else {
+            if (this.top == this.link.length) {
+                int capacity = 2 * this.link.length;
+                this.link = Arrays.copyOf(this.link, capacity);
+                this.data = Arrays.copyOf(this.data, capacity);
+            }
+            slot = this.top;
+            this.top++;
+        }
+        return slot;
+    }
+
+    /**
+     * No-argument constructor.
+     */
+    public XorList3() {
+
+        this.createNewRep();
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final XorList3<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void transferFrom(List<T> source) {
+        assert source instanceof XorList3<?> : ""
+                + "Violation of: source is of dynamic type XorList3<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type XorList3<?>,
+         * and the ? must be T or the call would not have compiled.
+         */
+        XorList3<T> localSource = (XorList3<T>) source;
+        this.link = localSource.link;
+        this.data = localSource.data;
+        this.lastLeft = localSource.lastLeft;
+        this.rightFront = localSource.rightFront;
+        this.freeHead = localSource.freeHead;
+        this.top = localSource.top;
+        this.leftLength = localSource.leftLength;
+        this.rightLength = localSource.rightLength;
+        localSource.createNewRep();
+        assert this.conventionHolds();
+        assert localSource.conventionHolds();
+    }
+
+    @Override
+    public final void addRightFront(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        //Declare the new slot to add.
+        int newRightFront = this.allocate();
+        this.data[newRightFront] = x;
+
+        //Splice newRightFront in between lastLeft and oldRightFront.
+        int lastLeft = this.lastLeft;
+        int oldRightFront = this.rightFront;
+        this.link[lastLeft] ^= oldRightFront ^ newRightFront;
+        this.link[oldRightFront] ^= lastLeft ^ newRightFront;
+        this.link[newRightFront] = lastLeft ^ oldRightFront;
+        this.rightFront = newRightFront;
+
+        //Update the rightLength.
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final T removeRightFront() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Declare the lastLeft, oldRightFront, and newRightFront slots.
+        int lastLeft = this.lastLeft;
+        int oldRightFront = this.rightFront;
+        int newRightFront = this.link[oldRightFront] ^ lastLeft;
+
+        //The result to return is the data in oldRightFront.
+        T result = (T) this.data[oldRightFront];
+
+        //Unlink oldRightFront from between lastLeft and newRightFront.
+        this.link[lastLeft] ^= oldRightFront ^ newRightFront;
+        this.link[newRightFront] ^= oldRightFront ^ lastLeft;
+        this.rightFront = newRightFront;
+
+        //Put oldRightFront on the free-slot chain.
+        this.data[oldRightFront] = null;
+        this.link[oldRightFront] = this.freeHead;
+        this.freeHead = oldRightFront;
+
+        //Update the this.rightLength.
+        this.rightLength--;
+
+        assert this.conventionHolds();
+
+        return result;
+    }
+
+    @Override
+    public final void advance() {
+        assert this.rightLength() > 0 : "Violation of: this.right /= <>";
+
+        //Step the cursor pair forward in DLL.
+        int next = this.link[this.rightFront] ^ this.lastLeft;
+        this.lastLeft = this.rightFront;
+        this.rightFront = next;
+
+        //Update the leftLength and rightLength;
+        this.leftLength++;
+        this.rightLength--;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void moveToStart() {
+
+        //Move the cursor pair to the front of the DDL.
+        this.lastLeft = PRE_START;
+        this.rightFront = this.link[PRE_START];
+
+        //Update the leftLength and rightLength;
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final int leftLength() {
+
+        assert this.conventionHolds();
+
+        return this.leftLength;
+    }
+
+    @Override
+    public final int rightLength() {
+
+        assert this.conventionHolds();
+
+        return this.rightLength;
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        assert this.conventionHolds();
+        return new XorList3Iterator();
+    }
+
+    /**
+     * Implementation of {@code Iterator} interface for {@code XorList3}.
+     */
+    private final class XorList3Iterator implements Iterator<T> {
+
+        /**
+         * Slot before this.current in the linked list.
+         */
+        private int previous;
+
+        /**
+         * Current slot in the linked list.
+         */
+        private int current;
+
+        /**
+         * No-argument constructor.
+         */
+        private XorList3Iterator() {
+            this.previous = PRE_START;
+            this.current = XorList3.this.link[PRE_START];
+            assert XorList3.this.conventionHolds();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != POST_FINISH;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            assert this.hasNext() : "Violation of: ~this.unseen /= <>";
+            if (!this.hasNext()) {
+                /*
+                 * Exception is supposed to be thrown in this case, but with
+                 * assertion-checking enabled it cannot happen because of assert
+                 * above.
+                 */
+                throw new NoSuchElementException();
+            }
+            T x = (T) XorList3.this.data[this.current];
+            int next = XorList3.this.link[this.current] ^ this.previous;
+            this.previous = this.current;
+            this.current = next;
+            assert XorList3.this.conventionHolds();
+            return x;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove operation not supported");
+        }
+
+    }
+
+    /*
+     * Other methods (overridden for performance reasons) ---------------------
+     */
+
+    @Override
+    public final void moveToFinish() {
+
+        //Move the cursor pair to the end of the DDL.
+        this.rightFront = POST_FINISH;
+        this.lastLeft = this.link[POST_FINISH];
+
+        //Update the leftLength and rightLength;
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+
+        assert this.conventionHolds();
+    }
+
+    @Override
+    public final void retreat() {
+        assert this.leftLength() > 0 : "Violation of: this.left /= <>";
+
+        //Step the cursor pair back in DLL.
+        int previous = this.link[this.lastLeft] ^ this.rightFront;
+        this.rightFront = this.lastLeft;
+        this.lastLeft = previous;
+
+        //Update the leftLength and rightLength;
+        this.leftLength--;
+        this.rightLength++;
+
+        assert this.conventionHolds();
+    }
+
+}
@@ -0,0 +1,59 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code ArrayLinkedList3}.
+ */
+public class ArrayLinkedList3Test extends ListTest {
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new ArrayLinkedList3<String>();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /*
+     * Test cases for array growth and slot reuse.
+     */
+
+    @Test
+    public final void testAddRemoveReusesSlotsAfterGrowth() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(0);
+        List<String> list2 = this.createFromArgsRef(0);
+        final int many = 50;
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront(Integer.toString(i));
+            list2.addRightFront(Integer.toString(i));
+            if (i % 2 == 0) {
+                list1.advance();
+                list2.advance();
+            }
+        }
+        for (int i = 0; i < many / 2; i++) {
+            assertEquals(list2.removeRightFront(), list1.removeRightFront());
+        }
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront("x" + i);
+            list2.addRightFront("x" + i);
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+}
@@ -0,0 +1,227 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code ConcurrentList3}.
+ */
+public class ConcurrentList3Test extends ListTest {
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new ConcurrentList3<String>();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /*
+     * Test cases for concurrent readers.
+     */
+
+    @Test
+    public final void testReadersSeeConsistentSnapshots()
+            throws InterruptedException {
+        /*
+         * Set up variables
+         */
+        final int many = 20000;
+        final int readers = 4;
+        List<String> list = this.createFromArgsTest(0);
+        AtomicBoolean consistent = new AtomicBoolean(true);
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread[] threads = new Thread[readers];
+        for (int r = 0; r < readers; r++) {
+            threads[r] = new Thread(() -> {
+                while (!done.get()) {
+                    int left = list.leftLength();
+                    int right = list.rightLength();
+                    int i = 0;
+                    for (String s : list) {
+                        if (!s.equals(Integer.toString(i))) {
+                            consistent.set(false);
+                        }
+                        i++;
+                    }
+                    if (left < 0 || right > 1 || i < left) {
+                        consistent.set(false);
+                    }
+                }
+            });
+            threads[r].start();
+        }
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < many; i++) {
+            list.addRightFront(Integer.toString(i));
+            list.advance();
+        }
+        done.set(true);
+        for (Thread t : threads) {
+            t.join();
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertTrue(consistent.get());
+        assertEquals(many, list.leftLength());
+    }
+
+    /*
+     * Test cases for secondary and common methods.
+     */
+
+    @Test
+    public final void testFlipAppendSwapRightsMatchReference() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(1, "a", "b", "c");
+        List<String> list2 = this.createFromArgsTest(0, "d", "e");
+        List<String> list3 = this.createFromArgsTest(1, "x", "y");
+        List<String> ref1 = this.createFromArgsRef(1, "a", "b", "c");
+        List<String> ref2 = this.createFromArgsRef(0, "d", "e");
+        List<String> ref3 = this.createFromArgsRef(1, "x", "y");
+        /*
+         * Call method under test
+         */
+        list1.flip();
+        ref1.flip();
+        list1.append(list2);
+        ref1.append(ref2);
+        list1.swapRights(list3);
+        ref1.swapRights(ref3);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(ref1, list1);
+        assertEquals(ref2, list2);
+        assertEquals(ref3, list3);
+        assertEquals(ref1.toString(), list1.toString());
+        assertEquals(ref1.hashCode(), list1.hashCode());
+        assertTrue(list1.equals(this.createFromArgsTest(2, "c", "b", "y")));
+    }
+
+    @Test
+    public final void testToStringNeverSeesHalfFlip()
+            throws InterruptedException {
+        /*
+         * Set up variables
+         */
+        final int many = 2000;
+        List<String> list = this.createFromArgsTest(2, "a", "b", "c", "d");
+        String unflipped = list.toString();
+        list.flip();
+        String flipped = list.toString();
+        list.flip();
+        AtomicBoolean consistent = new AtomicBoolean(true);
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                String s = list.toString();
+                if (!s.equals(unflipped) && !s.equals(flipped)) {
+                    consistent.set(false);
+                }
+            }
+        });
+        reader.start();
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < many; i++) {
+            list.flip();
+        }
+        done.set(true);
+        reader.join();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertTrue(consistent.get());
+        assertEquals(unflipped, list.toString());
+    }
+
+    @Test
+    public final void testOppositeTransfersDoNotDeadlock()
+            throws InterruptedException {
+        /*
+         * Set up variables
+         */
+        final int many = 20000;
+        final long timeout = 30_000;
+        List<String> list1 = this.createFromArgsTest(0, "a");
+        List<String> list2 = this.createFromArgsTest(0, "b");
+        Thread t1 = new Thread(() -> {
+            for (int i = 0; i < many; i++) {
+                list1.transferFrom(list2);
+            }
+        });
+        Thread t2 = new Thread(() -> {
+            for (int i = 0; i < many; i++) {
+                list2.transferFrom(list1);
+            }
+        });
+        /*
+         * Call method under test
+         */
+        t1.start();
+        t2.start();
+        t1.join(timeout);
+        t2.join(timeout);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertTrue(!t1.isAlive() && !t2.isAlive());
+        assertTrue(list1.leftLength() + list1.rightLength()
+                + list2.leftLength() + list2.rightLength() <= 2);
+    }
+
+    @Test
+    public final void testAppendList1L() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(1, "a", "b");
+        List<String> list2 = this.createFromArgsRef(1, "c", "d");
+        List<String> list3 = this.createFromArgsRef(1, "a", "b", "c", "d");
+        List<String> list4 = this.createFromArgsRef(0);
+        /*
+         * Call method under test
+         */
+        list1.append(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list1);
+        assertEquals(list4, list2);
+    }
+
+    @Test
+    public final void testSwapRightsList1L() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(1, "a", "b", "c");
+        List<String> list2 = this.createFromArgsRef(2, "x", "y", "z");
+        List<String> list3 = this.createFromArgsRef(1, "a", "z");
+        List<String> list4 = this.createFromArgsRef(2, "x", "y", "b", "c");
+        /*
+         * Call method under test
+         */
+        list1.swapRights(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list1);
+        assertEquals(list4, list2);
+    }
+
+}
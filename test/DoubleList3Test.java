@@ -0,0 +1,424 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+
+/**
+ * JUnit test fixture for {@code DoubleList3}'s constructor and kernel methods.
+ */
+public class DoubleList3Test {
+
+    /**
+     * Creates and returns a {@code DoubleList3} with the given entries.
+     *
+     * @param leftLength
+     *            the length of the left string in the constructed list
+     * @param args
+     *            the entries for the list
+     * @return the constructed list
+     * @requires 0 <= leftLength <= args.length
+     * @ensures <pre>
+     * createFromArgs =
+     *   ([first leftLength entries in args], [remaining entries in args])
+     * </pre>
+     */
+    private static DoubleList3 createFromArgs(int leftLength, double... args) {
+        DoubleList3 list = new DoubleList3();
+        for (double x : args) {
+            list.addRightFront(x);
+            list.advance();
+        }
+        list.moveToStart();
+        for (int i = 0; i < leftLength; i++) {
+            list.advance();
+        }
+        return list;
+    }
+
+    @Test
+    public final void testConstructor() {
+        /*
+         * Set up variables and call method under test
+         */
+        DoubleList3 list1 = new DoubleList3();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(0, list1.leftLength());
+        assertEquals(0, list1.rightLength());
+        assertEquals("(<>,<>)", list1.toString());
+    }
+
+    @Test
+    public final void testAddRightFrontLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(2, 1, 2, 4);
+        DoubleList3 list2 = createFromArgs(2, 1, 2, 3, 4);
+        /*
+         * Call method under test
+         */
+        list1.addRightFront(3);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRemoveRightFrontLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1, 1, 2, 3);
+        DoubleList3 list2 = createFromArgs(1, 1, 3);
+        /*
+         * Call method under test
+         */
+        double x = list1.removeRightFront();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(2.0, x, 0.0);
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testAdvanceLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1, 1, 2, 3);
+        DoubleList3 list2 = createFromArgs(2, 1, 2, 3);
+        /*
+         * Call method under test
+         */
+        list1.advance();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRetreatLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(2, 1, 2, 3);
+        DoubleList3 list2 = createFromArgs(1, 1, 2, 3);
+        /*
+         * Call method under test
+         */
+        list1.retreat();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testMoveToStartLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1, 1, 2, 3);
+        /*
+         * Call method under test
+         */
+        list1.moveToStart();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("(<>,<1.0,2.0,3.0>)", list1.toString());
+    }
+
+    @Test
+    public final void testMoveToFinishLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1, 1, 2, 3);
+        /*
+         * Call method under test
+         */
+        list1.moveToFinish();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("(<1.0,2.0,3.0>,<>)", list1.toString());
+    }
+
+    @Test
+    public final void testTransferFrom() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = new DoubleList3();
+        DoubleList3 list2 = createFromArgs(1, 1, 2);
+        DoubleList3 list3 = createFromArgs(1, 1, 2);
+        /*
+         * Call method under test
+         */
+        list1.transferFrom(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list1);
+        assertEquals(new DoubleList3(), list2);
+    }
+
+    @Test
+    public final void testIterator() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1, 1, 2, 3);
+        DoubleList3 list2 = createFromArgs(1, 1, 2, 3);
+        double sum = 0;
+        /*
+         * Call method under test
+         */
+        PrimitiveIterator.OfDouble it = list1.iterator();
+        while (it.hasNext()) {
+            sum = sum * 10 + it.nextDouble();
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(123.0, sum, 0.0);
+        assertFalse(it.hasNext());
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testAddRightFrontEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = new DoubleList3();
+        DoubleList3 list2 = createFromArgs(0, -Double.MAX_VALUE);
+        /*
+         * Call method under test
+         */
+        list1.addRightFront(-Double.MAX_VALUE);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRemoveRightFrontLeftEmptyRightOne() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(0, Double.MAX_VALUE);
+        /*
+         * Call method under test
+         */
+        double x = list1.removeRightFront();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(Double.MAX_VALUE, x, 0.0);
+        assertEquals(new DoubleList3(), list1);
+    }
+
+    @Test
+    public final void testAdvanceLeftEmptyRightOne() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(0, 1);
+        DoubleList3 list2 = createFromArgs(1, 1);
+        /*
+         * Call method under test
+         */
+        list1.advance();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRetreatLeftOneRightEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1, 1);
+        DoubleList3 list2 = createFromArgs(0, 1);
+        /*
+         * Call method under test
+         */
+        list1.retreat();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testMoveToStartEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = new DoubleList3();
+        /*
+         * Call method under test
+         */
+        list1.moveToStart();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("(<>,<>)", list1.toString());
+    }
+
+    @Test
+    public final void testMoveToFinishEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = new DoubleList3();
+        /*
+         * Call method under test
+         */
+        list1.moveToFinish();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("(<>,<>)", list1.toString());
+    }
+
+    @Test
+    public final void testTransferFromEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1, 1, 2);
+        DoubleList3 list2 = new DoubleList3();
+        /*
+         * Call method under test
+         */
+        list1.transferFrom(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(new DoubleList3(), list1);
+        assertEquals(new DoubleList3(), list2);
+    }
+
+    @Test
+    public final void testIteratorEmpty() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = new DoubleList3();
+        /*
+         * Call method under test
+         */
+        PrimitiveIterator.OfDouble it = list1.iterator();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(it.hasNext());
+        assertEquals(new DoubleList3(), list1);
+    }
+
+    @Test
+    public final void testEqualsDifferentPosition() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1, 1, 2);
+        DoubleList3 list2 = createFromArgs(2, 1, 2);
+        /*
+         * Call method under test
+         */
+        boolean result = list1.equals(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(result);
+    }
+
+    @Test
+    public final void testEqualsExtremeEntries() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(1,
+                -Double.MAX_VALUE, Double.MAX_VALUE);
+        DoubleList3 list2 = createFromArgs(1,
+                -Double.MAX_VALUE, Double.MAX_VALUE);
+        /*
+         * Call method under test
+         */
+        boolean result = list1.equals(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertTrue(result);
+        assertEquals(list1.hashCode(), list2.hashCode());
+    }
+
+    @Test
+    public final void testEqualsNaN() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(0, Double.NaN);
+        DoubleList3 list2 = createFromArgs(0,
+                Double.longBitsToDouble(0x7ff8000000000001L));
+        /*
+         * Call method under test
+         */
+        boolean result = list1.equals(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertTrue(result);
+    }
+
+    @Test
+    public final void testHashCodeNaN() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(0, Double.NaN);
+        DoubleList3 list2 = createFromArgs(0,
+                Double.longBitsToDouble(0x7ff8000000000001L));
+        /*
+         * Call method under test
+         */
+        int h1 = list1.hashCode();
+        int h2 = list2.hashCode();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(h1, h2);
+    }
+
+    @Test
+    public final void testEqualsNegativeZero() {
+        /*
+         * Set up variables
+         */
+        DoubleList3 list1 = createFromArgs(0, 0.0);
+        DoubleList3 list2 = createFromArgs(0, -0.0);
+        /*
+         * Call method under test
+         */
+        boolean result = list1.equals(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(result);
+    }
+
+}
@@ -0,0 +1,94 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code GapBufferList3}.
+ */
+public class GapBufferList3Test extends ListTest {
+
+    /**
+     * Number of entries used by the tests that grow the buffer.
+     */
+    private static final int MANY = 40;
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new GapBufferList3<String>();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /*
+     * Test cases for lazy gap movement and buffer growth.
+     */
+
+    @Test
+    public final void testEditAfterLazyMoves() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(2, "a", "b", "c", "d");
+        List<String> list2 = this.createFromArgsRef(2, "a", "b", "c", "d");
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < MANY; i++) {
+            if (i % 3 == 0) {
+                list1.moveToStart();
+                list2.moveToStart();
+            } else if (i % 3 == 1) {
+                list1.moveToFinish();
+                list2.moveToFinish();
+                list1.retreat();
+                list2.retreat();
+            } else {
+                list1.advance();
+                list2.advance();
+                assertEquals(list2.removeRightFront(),
+                        list1.removeRightFront());
+            }
+            list1.addRightFront(Integer.toString(i));
+            list2.addRightFront(Integer.toString(i));
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testAdvanceRetreatWithFullBuffer() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(0);
+        List<String> list2 = this.createFromArgsRef(0);
+        for (int i = 0; i < 16; i++) {
+            list1.addRightFront(Integer.toString(i));
+            list2.addRightFront(Integer.toString(i));
+        }
+        /*
+         * Call method under test
+         */
+        list1.advance();
+        list2.advance();
+        list1.retreat();
+        list2.retreat();
+        list1.moveToFinish();
+        list2.moveToFinish();
+        list1.addRightFront("end");
+        list2.addRightFront("end");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+}
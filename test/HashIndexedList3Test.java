@@ -0,0 +1,201 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code HashIndexedList3}.
+ */
+public class HashIndexedList3Test extends ListTest {
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new HashIndexedList3<String>();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /*
+     * Test cases for contains and moveCursorTo
+     */
+
+    @Test
+    public final void testContainsAfterAddRemove() {
+        /*
+         * Set up variables
+         */
+        HashIndexedList3<String> list1 = (HashIndexedList3<String>) this
+                .createFromArgsTest(1, "a", "b", "a", "c");
+        /*
+         * Call method under test
+         */
+        boolean before = list1.contains("a");
+        list1.moveToStart();
+        String removed1 = list1.removeRightFront();
+        boolean between = list1.contains("a");
+        list1.advance();
+        String removed2 = list1.removeRightFront();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("a", removed1);
+        assertEquals("a", removed2);
+        assertTrue(before);
+        assertTrue(between);
+        assertTrue(!list1.contains("a"));
+        assertTrue(list1.contains("c"));
+        assertTrue(!list1.contains("z"));
+    }
+
+    @Test
+    public final void testMoveCursorToFromStart() {
+        /*
+         * Set up variables
+         */
+        HashIndexedList3<String> list1 = (HashIndexedList3<String>) this
+                .createFromArgsTest(0, "a", "b", "c", "d");
+        List<String> list2 = this.createFromArgsRef(2, "a", "b", "c", "d");
+        /*
+         * Call method under test
+         */
+        list1.moveCursorTo("c");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testMoveCursorToFromFinish() {
+        /*
+         * Set up variables
+         */
+        HashIndexedList3<String> list1 = (HashIndexedList3<String>) this
+                .createFromArgsTest(4, "a", "b", "c", "d");
+        List<String> list2 = this.createFromArgsRef(2, "a", "b", "c", "d");
+        /*
+         * Call method under test
+         */
+        list1.moveCursorTo("c");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testAddRightFrontAfterMoveCursorTo() {
+        /*
+         * Set up variables
+         */
+        HashIndexedList3<String> list1 = (HashIndexedList3<String>) this
+                .createFromArgsTest(0, "a", "b", "c", "d");
+        List<String> list2 = this.createFromArgsRef(2, "a", "b", "x", "c",
+                "d");
+        list1.moveCursorTo("c");
+        /*
+         * Call method under test
+         */
+        list1.addRightFront("x");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testAdvanceAfterMoveCursorTo() {
+        /*
+         * Set up variables
+         */
+        HashIndexedList3<String> list1 = (HashIndexedList3<String>) this
+                .createFromArgsTest(0, "a", "b", "c", "d");
+        list1.moveCursorTo("c");
+        /*
+         * Call method under test
+         */
+        list1.advance();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(3, list1.leftLength());
+        assertEquals(1, list1.rightLength());
+    }
+
+    @Test
+    public final void testRetreatAfterMoveCursorTo() {
+        /*
+         * Set up variables
+         */
+        HashIndexedList3<String> list1 = (HashIndexedList3<String>) this
+                .createFromArgsTest(4, "a", "b", "c", "d");
+        list1.moveCursorTo("b");
+        /*
+         * Call method under test
+         */
+        list1.retreat();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(0, list1.leftLength());
+        assertEquals(4, list1.rightLength());
+    }
+
+    @Test
+    public final void testRemoveRightFrontManyEqualEntries() {
+        /*
+         * Set up variables
+         */
+        final int many = 2_000;
+        HashIndexedList3<String> list1 = new HashIndexedList3<String>();
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront("a");
+        }
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < many - 1; i++) {
+            list1.removeRightFront();
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertTrue(list1.contains("a"));
+        assertEquals(1, list1.rightLength());
+    }
+
+    @Test
+    public final void testMoveCursorToCountsFromNearerEnd() {
+        /*
+         * Set up variables
+         */
+        HashIndexedList3<String> list1 = (HashIndexedList3<String>) this
+                .createFromArgsTest(0, "a", "b", "c", "d", "e", "f");
+        String[] entries = { "a", "b", "c", "d", "e", "f" };
+        int[] left = new int[entries.length];
+        int[] right = new int[entries.length];
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < entries.length; i++) {
+            list1.moveCursorTo(entries[i]);
+            left[i] = list1.leftLength();
+            list1.moveCursorTo(entries[i]);
+            right[i] = list1.rightLength();
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        for (int i = 0; i < entries.length; i++) {
+            assertEquals(i, left[i]);
+            assertEquals(entries.length - i, right[i]);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code InstrumentedList3}.
+ */
+public class InstrumentedList3Test extends ListTest {
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new InstrumentedList3<String>();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /*
+     * Test cases for metrics
+     */
+
+    @Test
+    public final void testCountsAndHighWaterMarks() {
+        /*
+         * Set up variables
+         */
+        final int many = 1000;
+        InstrumentedList3<String> list1 = new InstrumentedList3<String>();
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront(Integer.toString(i));
+        }
+        for (int i = 0; i < many / 2; i++) {
+            list1.advance();
+        }
+        list1.moveToStart();
+        int seen = 0;
+        for (String x : list1) {
+            seen += x.length() > 0 ? 1 : 0;
+        }
+        list1.clear();
+        InstrumentedList3.Snapshot metrics = list1.metrics();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(many, seen);
+        assertEquals(many, metrics.count(
+                InstrumentedList3.Operation.ADD_RIGHT_FRONT));
+        assertEquals(many / 2,
+                metrics.count(InstrumentedList3.Operation.ADVANCE));
+        assertEquals(1, metrics.count(InstrumentedList3.Operation.ITERATOR));
+        assertEquals(many,
+                metrics.count(InstrumentedList3.Operation.ITERATOR_NEXT));
+        assertEquals(1, metrics.count(InstrumentedList3.Operation.CLEAR));
+        assertEquals(many / 2, metrics.maxLeftLength());
+        assertEquals(many, metrics.maxRightLength());
+        long timed = 0;
+        for (long c : metrics.histogram(
+                InstrumentedList3.Operation.ADD_RIGHT_FRONT)) {
+            timed += c;
+        }
+        assertTrue(timed > 0);
+        assertTrue(metrics.latencyQuantile(
+                InstrumentedList3.Operation.ADD_RIGHT_FRONT, 0.5) <= metrics
+                        .latencyQuantile(
+                                InstrumentedList3.Operation.ADD_RIGHT_FRONT,
+                                1.0));
+    }
+
+    @Test
+    public final void testMBean() throws JMException {
+        /*
+         * Set up variables
+         */
+        InstrumentedList3<String> list1 = new InstrumentedList3<String>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(
+                "List3:type=InstrumentedList3,name=\"test\"");
+        /*
+         * Call method under test
+         */
+        list1.registerMBean("test");
+        list1.addRightFront("a");
+        list1.advance();
+        Object count = server.getAttribute(name, "ADVANCECount");
+        Object max = server.getAttribute(name, "MaxLeftLength");
+        list1.unregisterMBean();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(1L, count);
+        assertEquals(1, max);
+        assertTrue(!server.isRegistered(name));
+    }
+
+    @Test(expected = ReflectionException.class)
+    public final void testMBeanUnknownOperation() throws JMException {
+        InstrumentedList3<String> list1 = new InstrumentedList3<String>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(
+                "List3:type=InstrumentedList3,name=\"unknown\"");
+        list1.registerMBean("unknown");
+        try {
+            server.invoke(name, "reset", new Object[0], new String[0]);
+        } finally {
+            list1.unregisterMBean();
+        }
+    }
+
+}
@@ -0,0 +1,370 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+
+/**
+ * JUnit test fixture for {@code IntList3}'s constructor and kernel methods.
+ */
+public class IntList3Test {
+
+    /**
+     * Creates and returns an {@code IntList3} with the given entries.
+     *
+     * @param leftLength
+     *            the length of the left string in the constructed list
+     * @param args
+     *            the entries for the list
+     * @return the constructed list
+     * @requires 0 <= leftLength <= args.length
+     * @ensures <pre>
+     * createFromArgs =
+     *   ([first leftLength entries in args], [remaining entries in args])
+     * </pre>
+     */
+    private static IntList3 createFromArgs(int leftLength, int... args) {
+        IntList3 list = new IntList3();
+        for (int x : args) {
+            list.addRightFront(x);
+            list.advance();
+        }
+        list.moveToStart();
+        for (int i = 0; i < leftLength; i++) {
+            list.advance();
+        }
+        return list;
+    }
+
+    @Test
+    public final void testConstructor() {
+        /*
+         * Set up variables and call method under test
+         */
+        IntList3 list1 = new IntList3();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(0, list1.leftLength());
+        assertEquals(0, list1.rightLength());
+        assertEquals("(<>,<>)", list1.toString());
+    }
+
+    @Test
+    public final void testAddRightFrontLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(2, 1, 2, 4);
+        IntList3 list2 = createFromArgs(2, 1, 2, 3, 4);
+        /*
+         * Call method under test
+         */
+        list1.addRightFront(3);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRemoveRightFrontLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1, 1, 2, 3);
+        IntList3 list2 = createFromArgs(1, 1, 3);
+        /*
+         * Call method under test
+         */
+        int x = list1.removeRightFront();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(2, x);
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testAdvanceLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1, 1, 2, 3);
+        IntList3 list2 = createFromArgs(2, 1, 2, 3);
+        /*
+         * Call method under test
+         */
+        list1.advance();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRetreatLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(2, 1, 2, 3);
+        IntList3 list2 = createFromArgs(1, 1, 2, 3);
+        /*
+         * Call method under test
+         */
+        list1.retreat();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testMoveToStartLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1, 1, 2, 3);
+        /*
+         * Call method under test
+         */
+        list1.moveToStart();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("(<>,<1,2,3>)", list1.toString());
+    }
+
+    @Test
+    public final void testMoveToFinishLeftNonEmptyRightNonEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1, 1, 2, 3);
+        /*
+         * Call method under test
+         */
+        list1.moveToFinish();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("(<1,2,3>,<>)", list1.toString());
+    }
+
+    @Test
+    public final void testTransferFrom() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = new IntList3();
+        IntList3 list2 = createFromArgs(1, 1, 2);
+        IntList3 list3 = createFromArgs(1, 1, 2);
+        /*
+         * Call method under test
+         */
+        list1.transferFrom(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list1);
+        assertEquals(new IntList3(), list2);
+    }
+
+    @Test
+    public final void testIterator() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1, 1, 2, 3);
+        IntList3 list2 = createFromArgs(1, 1, 2, 3);
+        int sum = 0;
+        /*
+         * Call method under test
+         */
+        PrimitiveIterator.OfInt it = list1.iterator();
+        while (it.hasNext()) {
+            sum = sum * 10 + it.nextInt();
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(123, sum);
+        assertFalse(it.hasNext());
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testAddRightFrontEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = new IntList3();
+        IntList3 list2 = createFromArgs(0, Integer.MIN_VALUE);
+        /*
+         * Call method under test
+         */
+        list1.addRightFront(Integer.MIN_VALUE);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRemoveRightFrontLeftEmptyRightOne() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(0, Integer.MAX_VALUE);
+        /*
+         * Call method under test
+         */
+        int x = list1.removeRightFront();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(Integer.MAX_VALUE, x);
+        assertEquals(new IntList3(), list1);
+    }
+
+    @Test
+    public final void testAdvanceLeftEmptyRightOne() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(0, 1);
+        IntList3 list2 = createFromArgs(1, 1);
+        /*
+         * Call method under test
+         */
+        list1.advance();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRetreatLeftOneRightEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1, 1);
+        IntList3 list2 = createFromArgs(0, 1);
+        /*
+         * Call method under test
+         */
+        list1.retreat();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testMoveToStartEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = new IntList3();
+        /*
+         * Call method under test
+         */
+        list1.moveToStart();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("(<>,<>)", list1.toString());
+    }
+
+    @Test
+    public final void testMoveToFinishEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = new IntList3();
+        /*
+         * Call method under test
+         */
+        list1.moveToFinish();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("(<>,<>)", list1.toString());
+    }
+
+    @Test
+    public final void testTransferFromEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1, 1, 2);
+        IntList3 list2 = new IntList3();
+        /*
+         * Call method under test
+         */
+        list1.transferFrom(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(new IntList3(), list1);
+        assertEquals(new IntList3(), list2);
+    }
+
+    @Test
+    public final void testIteratorEmpty() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = new IntList3();
+        /*
+         * Call method under test
+         */
+        PrimitiveIterator.OfInt it = list1.iterator();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(it.hasNext());
+        assertEquals(new IntList3(), list1);
+    }
+
+    @Test
+    public final void testEqualsDifferentPosition() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1, 1, 2);
+        IntList3 list2 = createFromArgs(2, 1, 2);
+        /*
+         * Call method under test
+         */
+        boolean result = list1.equals(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(result);
+    }
+
+    @Test
+    public final void testEqualsExtremeEntries() {
+        /*
+         * Set up variables
+         */
+        IntList3 list1 = createFromArgs(1,
+                Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntList3 list2 = createFromArgs(1,
+                Integer.MIN_VALUE, Integer.MAX_VALUE);
+        /*
+         * Call method under test
+         */
+        boolean result = list1.equals(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertTrue(result);
+        assertEquals(list1.hashCode(), list2.hashCode());
+    }
+
+}
@@ -0,0 +1,157 @@
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * JUnit test fixture for {@code List3Codec}.
+ */
+public class List3CodecTest {
+
+    /**
+     * Writes {@code list} with {@code List3Codec} and returns the bytes.
+     *
+     * @param list
+     *            the list
+     * @return the encoded list
+     * @throws IOException
+     *             if writing fails
+     */
+    private static byte[] encode(List<String> list) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        List3Codec.write(list, Channels.newChannel(bytes));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a list from {@code bytes} with {@code List3Codec}.
+     *
+     * @param bytes
+     *            the encoded list
+     * @return the list
+     * @throws IOException
+     *             if reading fails
+     */
+    private static List3<String> decode(byte[] bytes) throws IOException {
+        return List3Codec
+                .read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public final void testRoundTripKeepsPosition() throws IOException {
+        List<String> list1 = new List1L<String>();
+        list1.addRightFront("");
+        list1.addRightFront("\u00e9t\u00e9");
+        list1.addRightFront("a");
+        list1.advance();
+        list1.advance();
+        List3<String> list2 = decode(encode(list1));
+        assertEquals(2, list2.leftLength());
+        assertEquals(list1.toString(), list2.toString());
+    }
+
+    @Test
+    public final void testRoundTripEmpty() throws IOException {
+        List3<String> list1 = new List3<String>();
+        byte[] bytes = encode(list1);
+        List3<String> list2 = decode(bytes);
+        assertEquals(list1, list2);
+        assertEquals(4 + 1 + 1, bytes.length);
+    }
+
+    @Test
+    public final void testRoundTripLargeAndLongEntries() throws IOException {
+        final int many = 100_000;
+        List3<String> list1 = new List3<String>();
+        StringBuilder big = new StringBuilder();
+        while (big.length() < 200_000) {
+            big.append("0123456789");
+        }
+        list1.addRightFront(big.toString());
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront(Integer.toString(i));
+        }
+        list1.jumpToPosition(many / 3);
+        List3<String> list2 = decode(encode(list1));
+        assertEquals(many / 3, list2.leftLength());
+        assertEquals(list1, list2);
+    }
+
+    @Test(expected = EOFException.class)
+    public final void testTruncated() throws IOException {
+        List3<String> list1 = new List3<String>();
+        list1.addRightFront("abc");
+        byte[] bytes = encode(list1);
+        decode(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test(expected = IOException.class)
+    public final void testNotAnEncodedList() throws IOException {
+        decode(new byte[] { 1, 2, 3, 4, 0, 0 });
+    }
+
+    @Test
+    public final void testReadStopsAtEndOfList() throws IOException {
+        List3<String> list1 = new List3<String>();
+        List3<String> list2 = new List3<String>();
+        for (int i = 0; i < 1_000; i++) {
+            list1.addRightFront("entry " + i);
+        }
+        list2.addRightFront("");
+        list2.addRightFront("x");
+        list2.advance();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(encode(list1));
+        bytes.write(encode(list2));
+        bytes.write(new byte[] { 42, 43 });
+        InputStream stream = new ByteArrayInputStream(bytes.toByteArray());
+        ReadableByteChannel in = Channels.newChannel(stream);
+        List3<String> list3 = List3Codec.read(in);
+        List3<String> list4 = List3Codec.read(in);
+        assertEquals(list1, list3);
+        assertEquals(list2, list4);
+        assertEquals(42, stream.read());
+        assertEquals(43, stream.read());
+        assertEquals(-1, stream.read());
+    }
+
+    @Test(expected = IOException.class)
+    public final void testChannelWithNoBytesReady() throws IOException {
+        ReadableByteChannel in = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                return 0;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        List3Codec.read(in);
+    }
+
+    @Test(expected = EOFException.class)
+    public final void testHugeLengthCutShort() throws IOException {
+        //Magic number, 1 entry, left length 0, entry length 2^31 - 1.
+        decode(new byte[] { 0x4C, 0x33, 0x53, 0x01, 1, 0, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'a', 'b' });
+    }
+
+}
@@ -1,5 +1,27 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
 import components.list.List;
 import components.list.List1L;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 /**
  * Customized JUnit test fixture for {@code List3}.
@@ -16,4 +38,1226 @@ public class List3Test extends ListTest {
         return new List1L<String>();
     }
 
+    /*
+     * Test cases for List3-specific methods: setRecycleLimit
+     */
+
+    @Test
+    public final void testRecycleAddRemoveClearTransfer() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1,
+                "red", "green", "blue");
+        List3<String> list2 = new List3<String>();
+        List<String> list3 = this.createFromArgsRef(1, "red", "yellow",
+                "blue");
+        List<String> list4 = this.createFromArgsRef(0);
+        list1.setRecycleLimit(2);
+        list2.setRecycleLimit(2);
+        /*
+         * Call method under test
+         */
+        list1.removeRightFront();
+        list1.addRightFront("yellow");
+        list2.transferFrom(list1);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list2);
+        assertEquals(list4, list1);
+        list2.clear();
+        list2.setRecycleLimit(0);
+        assertEquals(list4, list2);
+    }
+
+    /*
+     * Test cases for append
+     */
+
+    @Test
+    public final void testAppendList3() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(1, "red", "green");
+        List<String> list2 = this.createFromArgsTest(1, "blue", "yellow");
+        List<String> list3 = this.createFromArgsRef(1, "red", "green", "blue",
+                "yellow");
+        List<String> list4 = this.createFromArgsRef(0);
+        /*
+         * Call method under test
+         */
+        list1.append(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list1);
+        assertEquals(list4, list2);
+        list2.addRightFront("purple");
+        assertEquals(list3, list1);
+    }
+
+    @Test
+    public final void testAppendEmptyAndOtherType() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(2, "red", "green");
+        List<String> list2 = this.createFromArgsTest(0);
+        List<String> list3 = this.createFromArgsRef(0, "blue");
+        List<String> list4 = this.createFromArgsRef(2, "red", "green",
+                "blue");
+        List<String> list5 = this.createFromArgsRef(0);
+        /*
+         * Call method under test
+         */
+        list1.append(list2);
+        list1.append(list3);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list4, list1);
+        assertEquals(list5, list2);
+        assertEquals(list5, list3);
+    }
+
+    /*
+     * Test cases for swapRights and splitRight
+     */
+
+    @Test
+    public final void testSwapRightsList3() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(1, "red", "green",
+                "blue");
+        List<String> list2 = this.createFromArgsTest(2, "a", "b");
+        List<String> list3 = this.createFromArgsRef(1, "red");
+        List<String> list4 = this.createFromArgsRef(2, "a", "b", "green",
+                "blue");
+        /*
+         * Call method under test
+         */
+        list1.swapRights(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list1);
+        assertEquals(list4, list2);
+    }
+
+    @Test
+    public final void testSplitRight() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1,
+                "red", "green", "blue");
+        List<String> list2 = this.createFromArgsRef(1, "red");
+        List<String> list3 = this.createFromArgsRef(0, "green", "blue");
+        /*
+         * Call method under test
+         */
+        List3<String> right = list1.splitRight();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertEquals(list3, right);
+    }
+
+    /*
+     * Test cases for the validation levels
+     */
+
+    @Test
+    public final void testValidationLevelNames() {
+        /*
+         * Set up variables and call method under test
+         */
+        List3.Validation none = List3.validationLevel("none");
+        List3.Validation local = List3.validationLevel("LOCAL");
+        List3.Validation sampled = List3.validationLevel(" Sampled ");
+        List3.Validation full = List3.validationLevel("full");
+        List3.Validation missing = List3.validationLevel(null);
+        List3.Validation unknown = List3.validationLevel("all");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(List3.Validation.NONE, none);
+        assertEquals(List3.Validation.LOCAL, local);
+        assertEquals(List3.Validation.SAMPLED, sampled);
+        assertEquals(List3.Validation.FULL, full);
+        assertEquals(List3.Validation.SAMPLED, missing);
+        assertEquals(List3.Validation.SAMPLED, unknown);
+    }
+
+    @Test
+    public final void testFullCheckDueNone() {
+        /*
+         * Set up variables and call method under test
+         */
+        boolean first = List3.fullCheckDue(List3.Validation.NONE, 1, 0);
+        boolean late = List3.fullCheckDue(List3.Validation.NONE,
+                Integer.MAX_VALUE, 0);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(first);
+        assertFalse(late);
+    }
+
+    @Test
+    public final void testFullCheckDueLocal() {
+        /*
+         * Set up variables and call method under test
+         */
+        boolean first = List3.fullCheckDue(List3.Validation.LOCAL, 1, 0);
+        boolean late = List3.fullCheckDue(List3.Validation.LOCAL,
+                Integer.MAX_VALUE, 0);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(first);
+        assertFalse(late);
+    }
+
+    @Test
+    public final void testFullCheckDueFull() {
+        /*
+         * Set up variables and call method under test
+         */
+        boolean first = List3.fullCheckDue(List3.Validation.FULL, 1, 0);
+        boolean long1 = List3.fullCheckDue(List3.Validation.FULL, 1, 1_000_000);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertTrue(first);
+        assertTrue(long1);
+    }
+
+    @Test
+    public final void testFullCheckDueSampledShortList() {
+        /*
+         * Set up variables
+         */
+        final int period = 1024;
+        final int length = 10;
+        /*
+         * Call method under test
+         */
+        boolean before = List3.fullCheckDue(List3.Validation.SAMPLED,
+                period - 1, length);
+        boolean at = List3.fullCheckDue(List3.Validation.SAMPLED, period,
+                length);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(before);
+        assertTrue(at);
+    }
+
+    @Test
+    public final void testFullCheckDueSampledLongList() {
+        /*
+         * Set up variables
+         */
+        final int period = 1024;
+        final int length = 1_000_000;
+        /*
+         * Call method under test
+         */
+        boolean atPeriod = List3.fullCheckDue(List3.Validation.SAMPLED,
+                period, length);
+        boolean before = List3.fullCheckDue(List3.Validation.SAMPLED,
+                length - 1, length);
+        boolean at = List3.fullCheckDue(List3.Validation.SAMPLED, length,
+                length);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(atPeriod);
+        assertFalse(before);
+        assertTrue(at);
+    }
+
+    /*
+     * Test cases for stream and parallelStream
+     */
+
+    @Test
+    public final void testStreamAndParallelStream() {
+        /*
+         * Set up variables
+         */
+        final int many = 5000;
+        List3<String> list1 = new List3<String>();
+        long expected = 0;
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront(Integer.toString(i));
+            expected += i;
+        }
+        list1.advance();
+        /*
+         * Call method under test
+         */
+        long sequential = list1.stream().mapToLong(Long::parseLong).sum();
+        long parallel = list1.parallelStream().mapToLong(Long::parseLong)
+                .sum();
+        String first = list1.parallelStream().findFirst().get();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(expected, sequential);
+        assertEquals(expected, parallel);
+        assertEquals(Integer.toString(many - 1), first);
+        assertEquals(many, list1.stream().count());
+    }
+
+    /*
+     * Test cases for spliterator
+     */
+
+    /**
+     * Adds to {@code out} the entries of {@code split} in encounter order,
+     * splitting it, and each piece split off, until none splits further.
+     * Checks along the way that each split keeps the exact sizes.
+     *
+     * @param split
+     *            the spliterator
+     * @param out
+     *            the list to add to
+     */
+    private static void collectSplits(Spliterator<String> split,
+            ArrayList<String> out) {
+        long size = split.estimateSize();
+        Spliterator<String> prefix = split.trySplit();
+        if (prefix == null) {
+            split.forEachRemaining(out::add);
+        } else {
+            assertTrue(prefix.hasCharacteristics(
+                    Spliterator.SIZED | Spliterator.SUBSIZED));
+            assertEquals(size, prefix.estimateSize() + split.estimateSize());
+            collectSplits(prefix, out);
+            collectSplits(split, out);
+        }
+    }
+
+    @Test
+    public final void testSpliteratorCharacteristics() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "a",
+                "b");
+        /*
+         * Call method under test
+         */
+        Spliterator<String> split = list1.spliterator();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.ORDERED | Spliterator.NONNULL,
+                split.characteristics());
+    }
+
+    @Test
+    public final void testSpliteratorEstimateSize() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "a",
+                "b", "c");
+        Spliterator<String> split = list1.spliterator();
+        /*
+         * Call method under test
+         */
+        long before = split.estimateSize();
+        split.tryAdvance(x -> {
+        });
+        long after = split.estimateSize();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(3, before);
+        assertEquals(2, after);
+    }
+
+    @Test
+    public final void testSpliteratorTrySplitCoversEachEntryOnce() {
+        /*
+         * Set up variables
+         */
+        final int many = 5000;
+        List3<String> list1 = new List3<String>();
+        ArrayList<String> expected = new ArrayList<>();
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront(Integer.toString(i));
+            expected.add(Integer.toString(many - 1 - i));
+        }
+        list1.advance();
+        ArrayList<String> entries = new ArrayList<>();
+        /*
+         * Call method under test
+         */
+        collectSplits(list1.spliterator(), entries);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(expected, entries);
+    }
+
+    /*
+     * Test cases for jumpToPosition
+     */
+
+    /**
+     * Moves the position of {@code list} to {@code pos} using only kernel
+     * methods.
+     *
+     * @param list
+     *            the list
+     * @param pos
+     *            the new length of {@code list.left}
+     */
+    private static void moveTo(List<String> list, int pos) {
+        list.moveToStart();
+        for (int i = 0; i < pos; i++) {
+            list.advance();
+        }
+    }
+
+    @Test
+    public final void testJumpToPositionNotIndexed() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b", "c", "d", "e", "f");
+        List<String> list2 = this.createFromArgsRef(2, "a", "b", "c", "d",
+                "e", "f");
+        /*
+         * Call method under test and assert that values of variables match
+         * expectations
+         */
+        final int[] positions = { 0, 6, 3, 5, 1, 2 };
+        for (int pos : positions) {
+            list1.jumpToPosition(pos);
+            moveTo(list2, pos);
+            assertEquals(list2, list1);
+        }
+    }
+
+    @Test
+    public final void testJumpToPositionIndexedWithEdits() {
+        /*
+         * Set up variables
+         */
+        final int many = 300;
+        List3<String> list1 = new List3<String>();
+        List<String> list2 = this.createFromArgsRef(0);
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront(Integer.toString(i));
+            list2.addRightFront(Integer.toString(i));
+        }
+        list1.setIndexed(true);
+        /*
+         * Call method under test and assert that values of variables match
+         * expectations
+         */
+        for (int i = 0; i < many; i++) {
+            int length = list2.leftLength() + list2.rightLength();
+            int pos = (i * 37) % (length + 1);
+            list1.jumpToPosition(pos);
+            moveTo(list2, pos);
+            if (i % 3 == 0 || list2.rightLength() == 0) {
+                list1.addRightFront("x" + i);
+                list2.addRightFront("x" + i);
+            } else {
+                assertEquals(list2.removeRightFront(),
+                        list1.removeRightFront());
+            }
+            assertEquals(list2, list1);
+        }
+        assertTrue(list1.checkConvention());
+    }
+
+    /*
+     * Test cases for markers
+     */
+
+    @Test
+    public final void testJumpToMarkerAfterAddBefore() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b", "c");
+        list1.setMarker("b");
+        list1.moveToStart();
+        list1.addRightFront("x");
+        List<String> list2 = this.createFromArgsRef(3, "x", "a", "b", "c");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("b");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToMarkerAfterRemoveBefore() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b", "c");
+        list1.setMarker("c");
+        list1.moveToStart();
+        list1.removeRightFront();
+        List<String> list2 = this.createFromArgsRef(1, "b", "c");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("c");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToMarkerAfterRemoveMarked() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b", "c", "d");
+        list1.setMarker("c");
+        list1.removeRightFront();
+        list1.moveToStart();
+        List<String> list2 = this.createFromArgsRef(2, "a", "b", "d");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("c");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToMarkerAtFinishAfterRemove() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(3, "a",
+                "b", "c");
+        list1.setMarker("end");
+        list1.retreat();
+        list1.removeRightFront();
+        list1.moveToStart();
+        List<String> list2 = this.createFromArgsRef(2, "a", "b");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("end");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToMarkerAfterClear() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b", "c");
+        list1.setMarker("b");
+        list1.clear();
+        list1.addRightFront("x");
+        List<String> list2 = this.createFromArgsRef(0, "x");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("b");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testRemoveMarker() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "a",
+                "b");
+        list1.setMarker("keep");
+        list1.setMarker("gone");
+        List<String> list2 = this.createFromArgsRef(1, "a", "b");
+        /*
+         * Call method under test
+         */
+        list1.removeMarker("gone");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(list1.hasMarker("gone"));
+        assertTrue(list1.hasMarker("keep"));
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    /*
+     * Test cases for flip
+     */
+
+    @Test
+    public final void testFlipThenEdit() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b", "c", "d", "e");
+        list1.setMarker("c");
+        List<String> list2 = this.createFromArgsRef(3, "e", "d", "c", "b",
+                "a");
+        List<String> list3 = this.createFromArgsRef(3, "e", "x", "d", "c",
+                "a", "y");
+        /*
+         * Call method under test
+         */
+        list1.flip();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertEquals("edcba", list1.stream().collect(Collectors.joining()));
+        list1.jumpToMarker("c");
+        assertEquals("b", list1.rightFront());
+        list1.removeRightFront();
+        list1.moveToStart();
+        list1.advance();
+        list1.addRightFront("x");
+        list1.moveToFinish();
+        list1.addRightFront("y");
+        list1.moveToStart();
+        list1.advance();
+        list1.advance();
+        list1.advance();
+        assertEquals(list3, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToPositionFlippedIndexed() {
+        /*
+         * Set up variables
+         */
+        final int many = 100;
+        List3<String> list1 = new List3<String>();
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront(Integer.toString(i));
+        }
+        list1.setIndexed(true);
+        list1.flip();
+        /*
+         * Call method under test
+         */
+        list1.jumpToPosition(many / 2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(many / 2, list1.leftLength());
+        assertEquals(Integer.toString(many / 2), list1.rightFront());
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testAppendUnflippedToFlipped() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "b",
+                "a");
+        list1.flip();
+        List3<String> list2 = (List3<String>) this.createFromArgsTest(0, "y",
+                "z");
+        List<String> list3 = this.createFromArgsRef(1, "a", "b", "y", "z");
+        List<String> list4 = this.createFromArgsRef(0);
+        /*
+         * Call method under test
+         */
+        list1.append(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list1);
+        assertEquals(list4, list2);
+        assertTrue(list1.checkConvention());
+        assertTrue(list2.checkConvention());
+    }
+
+    @Test
+    public final void testAppendFlippedToFlipped() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "b",
+                "a");
+        list1.flip();
+        List3<String> list2 = (List3<String>) this.createFromArgsTest(0, "z",
+                "y");
+        list2.flip();
+        List<String> list3 = this.createFromArgsRef(1, "a", "b", "y", "z");
+        List<String> list4 = this.createFromArgsRef(0);
+        /*
+         * Call method under test
+         */
+        list1.append(list2);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list3, list1);
+        assertEquals(list4, list2);
+        assertTrue(list1.checkConvention());
+        assertTrue(list2.checkConvention());
+    }
+
+    @Test
+    public final void testFlipTwice() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "a",
+                "b", "c");
+        List<String> list2 = this.createFromArgsRef(1, "a", "b", "c");
+        /*
+         * Call method under test
+         */
+        list1.flip();
+        list1.flip();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertEquals("abc", list1.stream().collect(Collectors.joining()));
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testFlippedClearAndAppendDropOuterLinks() {
+        /*
+         * Set up variables
+         */
+        final int many = 5;
+        List3<String> list1 = new List3<String>();
+        List3<String> list2 = new List3<String>();
+        List3<String> list3 = new List3<String>();
+        list1.setRecycleLimit(many - 1);
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront("e" + i);
+            list2.addRightFront("a" + i);
+            list3.addRightFront("b" + i);
+        }
+        list1.flip();
+        list2.flip();
+        list3.flip();
+        /*
+         * Call method under test
+         */
+        list1.clear();
+        list2.append(list3);
+        /*
+         * Assert that values of variables match expectations (the convention
+         * includes null outer links on the "smart" nodes)
+         */
+        assertEquals(0, list1.leftLength() + list1.rightLength());
+        assertEquals(2 * many, list2.leftLength() + list2.rightLength());
+        assertEquals(0, list3.leftLength() + list3.rightLength());
+        assertTrue(list1.checkConvention());
+        assertTrue(list2.checkConvention());
+        assertTrue(list3.checkConvention());
+    }
+
+    @Test
+    public final void testSplitRightFlipped() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "d",
+                "c", "b", "a");
+        List<String> list2 = this.createFromArgsRef(3, "a", "b", "c");
+        List<String> list3 = this.createFromArgsRef(0, "d");
+        list1.flip();
+        /*
+         * Call method under test
+         */
+        List3<String> right = list1.splitRight();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertEquals(list3, right);
+        assertTrue(list1.checkConvention());
+        assertTrue(right.checkConvention());
+    }
+
+    /*
+     * Test cases for clearRight, clearLeft, and removeRight
+     */
+
+    @Test
+    public final void testClearRight() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b", "c", "d", "e");
+        List<String> list2 = this.createFromArgsRef(2, "a", "b");
+        /*
+         * Call method under test
+         */
+        list1.clearRight();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToMarkerAfterClearRight() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(3, "a",
+                "b", "c", "d", "e");
+        list1.setMarker("d");
+        list1.retreat();
+        list1.clearRight();
+        list1.moveToStart();
+        List<String> list2 = this.createFromArgsRef(2, "a", "b");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("d");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testClearLeft() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b", "c", "d", "e");
+        List<String> list2 = this.createFromArgsRef(0, "c", "d", "e");
+        /*
+         * Call method under test
+         */
+        list1.clearLeft();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToMarkerAfterClearLeft() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(3, "a",
+                "b", "c", "d", "e");
+        list1.setMarker("d");
+        list1.retreat();
+        list1.clearLeft();
+        List<String> list2 = this.createFromArgsRef(1, "c", "d", "e");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("d");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testRemoveRightRecycled() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "a",
+                "b", "c", "d", "e");
+        list1.setRecycleLimit(2);
+        list1.flip();
+        list1.setMarker("c");
+        list1.moveToFinish();
+        list1.setMarker("end");
+        List<String> list2 = this.createFromArgsRef(1, "e", "a", "x");
+        /*
+         * Call method under test
+         */
+        list1.jumpToPosition(1);
+        list1.removeRight(0);
+        list1.removeRight(3);
+        list1.moveToFinish();
+        list1.addRightFront("x");
+        list1.jumpToPosition(1);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        list1.jumpToMarker("c");
+        assertEquals(1, list1.leftLength());
+        list1.jumpToMarker("end");
+        assertEquals(2, list1.leftLength());
+        assertTrue(list1.checkConvention());
+    }
+
+    /*
+     * Test cases for addAllRightFront
+     */
+
+    @Test
+    public final void testAddAllRightFrontArray() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "a",
+                "b");
+        List<String> list2 = this.createFromArgsRef(1, "a", "x", "y", "b");
+        /*
+         * Call method under test
+         */
+        list1.addAllRightFront(new String[] { "x", "y" });
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testAddAllRightFrontEmptyArray() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "a",
+                "b");
+        List<String> list2 = this.createFromArgsRef(1, "a", "b");
+        /*
+         * Call method under test
+         */
+        list1.addAllRightFront(new String[0]);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testAddAllRightFrontIterable() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "a",
+                "b");
+        Iterable<String> more = Arrays.asList("p", "q");
+        List<String> list2 = this.createFromArgsRef(1, "a", "p", "q", "b");
+        /*
+         * Call method under test
+         */
+        list1.addAllRightFront(more);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToMarkerAfterAddAllRightFront() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(2, "a",
+                "b");
+        list1.setMarker("end");
+        list1.retreat();
+        list1.addAllRightFront(new String[] { "x", "y" });
+        list1.moveToStart();
+        List<String> list2 = this.createFromArgsRef(4, "a", "x", "y", "b");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("end");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testAddAllRightFrontIteratorFlipped() {
+        /*
+         * Set up variables
+         */
+        final int many = 1000;
+        List3<String> list1 = new List3<String>();
+        list1.setRecycleLimit(many);
+        list1.addRightFront("end");
+        list1.flip();
+        List<String> list2 = new List1L<String>();
+        ArrayList<String> entries = new ArrayList<>();
+        for (int i = 0; i < many; i++) {
+            entries.add(Integer.toString(i));
+            list2.addRightFront(Integer.toString(many - 1 - i));
+        }
+        list2.moveToFinish();
+        list2.addRightFront("end");
+        list2.moveToStart();
+        /*
+         * Call method under test
+         */
+        list1.moveToStart();
+        list1.addAllRightFront(entries.iterator());
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        list1.jumpToPosition(many / 2);
+        assertEquals(Integer.toString(many / 2), list1.rightFront());
+        assertTrue(list1.checkConvention());
+    }
+
+    /*
+     * Test cases for sort and parallelSort
+     */
+
+    @Test
+    public final void testSortStableKeepsPosition() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(3, "d2",
+                "b1", "a1", "d1", "b2", "c1");
+        list1.flip();
+        List<String> list2 = this.createFromArgsRef(3, "a1", "b2", "b1",
+                "c1", "d1", "d2");
+        Comparator<String> byLetter = (x, y) -> Character.compare(x.charAt(0),
+                y.charAt(0));
+        /*
+         * Call method under test
+         */
+        list1.sort(byLetter);
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testJumpToMarkerAfterSort() {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(1, "d2",
+                "b1", "a1", "d1", "b2", "c1");
+        list1.setMarker("one");
+        list1.moveToFinish();
+        list1.sort((x, y) -> Character.compare(x.charAt(0), y.charAt(0)));
+        List<String> list2 = this.createFromArgsRef(1, "a1", "b1", "b2",
+                "c1", "d2", "d1");
+        /*
+         * Call method under test
+         */
+        list1.jumpToMarker("one");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertTrue(list1.checkConvention());
+    }
+
+    @Test
+    public final void testParallelSortLarge() {
+        /*
+         * Set up variables
+         */
+        final int many = 50_000;
+        List3<String> list1 = new List3<String>();
+        ArrayList<String> expected = new ArrayList<>();
+        Random random = new Random(2231);
+        for (int i = 0; i < many; i++) {
+            String x = Integer.toString(random.nextInt(many));
+            list1.addRightFront(x);
+            expected.add(x);
+        }
+        Collections.sort(expected);
+        list1.advance();
+        /*
+         * Call method under test
+         */
+        list1.parallelSort(Comparator.naturalOrder());
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(1, list1.leftLength());
+        assertEquals(expected, list1.stream().collect(Collectors.toList()));
+        assertTrue(list1.checkConvention());
+    }
+
+    /*
+     * Test cases for JFR events
+     */
+
+    /**
+     * Runs {@code action} while recording the List3 JFR events, and returns
+     * the events recorded, each as its name, a colon, and its length, steps,
+     * or entries, in sorted order.
+     *
+     * @param action
+     *            the action to run
+     * @return the events recorded
+     * @throws IOException
+     *             if the recording cannot be written or read
+     */
+    private static ArrayList<String> recordEvents(Runnable action)
+            throws IOException {
+        ArrayList<String> result = new ArrayList<>();
+        Path file = Files.createTempFile("List3", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("List3.CursorWalk");
+                recording.enable("List3.Transfer");
+                recording.enable("List3.Iteration")
+                        .withThreshold(Duration.ZERO);
+                recording.start();
+                action.run();
+                recording.stop();
+                recording.dump(file);
+            }
+            for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+                String name = e.getEventType().getName();
+                if (name.equals("List3.Transfer")) {
+                    result.add(name + ":" + e.getInt("length"));
+                } else if (name.equals("List3.CursorWalk")) {
+                    result.add(name + ":" + e.getInt("steps"));
+                } else if (name.equals("List3.Iteration")) {
+                    result.add(name + ":" + e.getInt("entries"));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    @Test
+    public final void testJfrEventsForLongWalkAndTransfer() throws IOException {
+        /*
+         * Set up variables
+         */
+        final int many = 10_000;
+        List3<String> list1 = new List3<String>();
+        List3<String> list2 = new List3<String>();
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront("x");
+        }
+        /*
+         * Call method under test
+         */
+        ArrayList<String> names = recordEvents(() -> {
+            for (int i = 0; i < many; i++) {
+                list1.advance();
+            }
+            list1.moveToStart();
+            list1.advance();
+            list1.moveToStart();
+            list1.jumpToPosition(many / 2);
+            list2.transferFrom(list1);
+        });
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(Arrays.asList("List3.CursorWalk:" + many,
+                "List3.CursorWalk:" + many / 2, "List3.Transfer:" + many),
+                names);
+    }
+
+    @Test
+    public final void testJfrWalkEndedByClearRight() throws IOException {
+        /*
+         * Set up variables
+         */
+        final int many = 10_000;
+        List3<String> list1 = new List3<String>();
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront("x");
+        }
+        /*
+         * Call method under test
+         */
+        ArrayList<String> names = recordEvents(() -> {
+            for (int i = 0; i < many / 2; i++) {
+                list1.advance();
+            }
+            list1.clearRight();
+        });
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(Arrays.asList("List3.CursorWalk:" + many / 2), names);
+    }
+
+    @Test
+    public final void testJfrIterationStoppedEarly() throws IOException {
+        /*
+         * Set up variables
+         */
+        List3<String> list1 = (List3<String>) this.createFromArgsTest(0, "a",
+                "b", "c", "d");
+        /*
+         * Call method under test
+         */
+        ArrayList<String> names = recordEvents(() -> {
+            Iterator<String> it = list1.iterator();
+            it.next();
+            it.next();
+            list1.addRightFront("z");
+        });
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(Arrays.asList("List3.Iteration:2"), names);
+    }
+
 }
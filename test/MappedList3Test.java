@@ -0,0 +1,192 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code MappedList3}.
+ */
+public class MappedList3Test extends ListTest {
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new MappedList3();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /*
+     * Test cases for long entries, record reuse, and reopening.
+     */
+
+    @Test
+    public final void testLongEntriesReuseRecordsAfterGrowth() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(0);
+        List<String> list2 = this.createFromArgsRef(0);
+        final int many = 50;
+        StringBuilder b = new StringBuilder();
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < many; i++) {
+            b.append("\u00e9").append(i);
+            list1.addRightFront(b.toString());
+            list2.addRightFront(b.toString());
+            if (i % 2 == 0) {
+                list1.advance();
+                list2.advance();
+            }
+        }
+        for (int i = 0; i < many / 2; i++) {
+            assertEquals(list2.removeRightFront(), list1.removeRightFront());
+        }
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront("x" + i);
+            list2.addRightFront("x" + i);
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testReopen() throws IOException {
+        /*
+         * Set up variables
+         */
+        Path file = Files.createTempFile("MappedList3Test", ".dat");
+        String longEntry = "a rather long entry that does not fit in its"
+                + " node record";
+        List<String> list2 = this.createFromArgsRef(2, "red", "", longEntry,
+                "blue");
+        try {
+            try (MappedList3 list1 = new MappedList3(file)) {
+                list1.addRightFront("blue");
+                list1.addRightFront(longEntry);
+                list1.addRightFront("");
+                list1.addRightFront("green");
+                list1.addRightFront("red");
+                list1.advance();
+                list1.removeRightFront();
+                list1.advance();
+            }
+            /*
+             * Call method under test
+             */
+            try (MappedList3 list3 = new MappedList3(file)) {
+                /*
+                 * Assert that values of variables match expectations
+                 */
+                assertEquals(list2, list3);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public final void testTransferFromKeepsFile() throws IOException {
+        /*
+         * Set up variables
+         */
+        Path file = Files.createTempFile("MappedList3Test", ".dat");
+        final int many = 100;
+        List<String> list3 = this.createFromArgsRef(0);
+        try {
+            try (MappedList3 list1 = new MappedList3(file);
+                    MappedList3 list2 = new MappedList3()) {
+                list1.addRightFront("old");
+                for (int i = 0; i < many; i++) {
+                    String x = "a long entry, kept in overflow records " + i;
+                    list2.addRightFront(x);
+                    list3.addRightFront(x);
+                }
+                list2.advance();
+                list3.advance();
+                /*
+                 * Call method under test
+                 */
+                list1.transferFrom(list2);
+                /*
+                 * Assert that values of variables match expectations
+                 */
+                assertEquals(file, list1.file());
+                assertEquals(list3, list1);
+                assertEquals(0, list2.leftLength() + list2.rightLength());
+            }
+            try (MappedList3 list4 = new MappedList3(file)) {
+                assertEquals(list3, list4);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public final void testCloseDeletesTemporaryFile() {
+        /*
+         * Set up variables
+         */
+        MappedList3 list1 = new MappedList3();
+        list1.addRightFront("red");
+        Path file = list1.file();
+        /*
+         * Call method under test
+         */
+        list1.close();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public final void testCloseKeepsFile() throws IOException {
+        /*
+         * Set up variables
+         */
+        Path file = Files.createTempFile("MappedList3Test", ".dat");
+        try {
+            MappedList3 list1 = new MappedList3(file);
+            list1.addRightFront("red");
+            /*
+             * Call method under test
+             */
+            list1.close();
+            list1.close();
+            /*
+             * Assert that values of variables match expectations
+             */
+            assertTrue(Files.exists(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public final void testReopenNotAMappedList3() throws IOException {
+        Path file = Files.createTempFile("MappedList3Test", ".dat");
+        try {
+            Files.write(file, new byte[100]);
+            new MappedList3(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
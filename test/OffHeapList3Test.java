@@ -0,0 +1,173 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+/**
+ * JUnit test fixture for {@code OffHeapList3}'s constructor and kernel
+ * methods, with records that are {@code long}s.
+ */
+public class OffHeapList3Test {
+
+    /**
+     * Returns a record holding {@code x}.
+     *
+     * @param x
+     *            the value
+     * @return the record
+     */
+    private static ByteBuffer record(long x) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(0, x);
+    }
+
+    /**
+     * Creates and returns an {@code OffHeapList3} of {@code long} records
+     * with the given entries.
+     *
+     * @param leftLength
+     *            the length of the left string in the constructed list
+     * @param args
+     *            the entries for the list
+     * @return the constructed list
+     * @requires 0 <= leftLength <= args.length
+     * @ensures <pre>
+     * createFromArgs =
+     *   ([first leftLength entries in args], [remaining entries in args])
+     * </pre>
+     */
+    private static OffHeapList3 createFromArgs(int leftLength, long... args) {
+        OffHeapList3 list = new OffHeapList3(Long.BYTES);
+        for (long x : args) {
+            list.addRightFront(record(x));
+            list.advance();
+        }
+        list.moveToStart();
+        for (int i = 0; i < leftLength; i++) {
+            list.advance();
+        }
+        return list;
+    }
+
+    @Test
+    public final void testConstructor() {
+        OffHeapList3 list = new OffHeapList3(Long.BYTES);
+        assertEquals(0, list.leftLength());
+        assertEquals(0, list.rightLength());
+        assertEquals(Long.BYTES, list.recordSize());
+        assertEquals("(<>,<>)", list.toString());
+    }
+
+    @Test
+    public final void testAddRightFrontLeftNonEmptyRightNonEmpty() {
+        OffHeapList3 list1 = createFromArgs(2, 1, 2, 4);
+        OffHeapList3 list2 = createFromArgs(2, 1, 2, 3, 4);
+        ByteBuffer x = record(3);
+        list1.addRightFront(x);
+        assertEquals(list2, list1);
+        assertEquals(0, x.position());
+    }
+
+    @Test
+    public final void testRemoveRightFrontLeftNonEmptyRightNonEmpty() {
+        OffHeapList3 list1 = createFromArgs(1, 1, 2, 3);
+        OffHeapList3 list2 = createFromArgs(1, 1, 3);
+        ByteBuffer x = ByteBuffer.allocate(Long.BYTES);
+        list1.removeRightFront(x);
+        assertEquals(list2, list1);
+        assertEquals(Long.BYTES, x.position());
+        assertEquals(2, x.getLong(0));
+    }
+
+    @Test
+    public final void testRightFrontIsView() {
+        OffHeapList3 list = createFromArgs(1, 1, 2, 3);
+        ByteBuffer x = list.rightFront();
+        assertEquals(Long.BYTES, x.remaining());
+        assertTrue(x.isReadOnly());
+        assertEquals(2, x.getLong());
+    }
+
+    @Test
+    public final void testAdvanceRetreat() {
+        OffHeapList3 list1 = createFromArgs(1, 1, 2, 3);
+        OffHeapList3 list2 = createFromArgs(1, 1, 2, 3);
+        list1.advance();
+        list1.advance();
+        list1.retreat();
+        list2.advance();
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testMoveToStartMoveToFinish() {
+        OffHeapList3 list1 = createFromArgs(1, 1, 2, 3);
+        OffHeapList3 list2 = createFromArgs(3, 1, 2, 3);
+        OffHeapList3 list3 = createFromArgs(0, 1, 2, 3);
+        list1.moveToFinish();
+        assertEquals(list2, list1);
+        list1.moveToStart();
+        assertEquals(list3, list1);
+    }
+
+    @Test
+    public final void testTransferFromAndClear() {
+        OffHeapList3 list1 = createFromArgs(0, 7);
+        OffHeapList3 list2 = createFromArgs(1, 1, 2);
+        OffHeapList3 list3 = createFromArgs(1, 1, 2);
+        list1.transferFrom(list2);
+        assertEquals(list3, list1);
+        assertEquals(new OffHeapList3(Long.BYTES), list2);
+        list1.clear();
+        assertEquals(list1.newInstance(), list1);
+    }
+
+    @Test
+    public final void testIterator() {
+        OffHeapList3 list = createFromArgs(2, 1, 2, 3);
+        Iterator<ByteBuffer> it = list.iterator();
+        for (long x = 1; x <= 3; x++) {
+            assertTrue(it.hasNext());
+            assertEquals(x, it.next().getLong());
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public final void testOddRecordSizeAcrossSlabsReusesNodes() {
+        final int many = 10_000;
+        final int size = 3;
+        OffHeapList3 list = new OffHeapList3(size);
+        ByteBuffer x = ByteBuffer.allocate(size);
+        for (int i = 0; i < many; i++) {
+            x.clear();
+            x.put((byte) i).put((byte) (i >> 8)).put((byte) 0x5A).flip();
+            list.addRightFront(x);
+            list.advance();
+        }
+        list.moveToStart();
+        for (int i = 0; i < many / 2; i++) {
+            x.clear();
+            list.removeRightFront(x);
+        }
+        for (int i = 0; i < many / 2; i++) {
+            x.clear();
+            x.put((byte) i).put((byte) (i >> 8)).put((byte) 0x5A).flip();
+            list.addRightFront(x);
+        }
+        assertEquals(0, list.leftLength());
+        assertEquals(many, list.rightLength());
+        int i = many / 2 - 1;
+        for (ByteBuffer y : list) {
+            int k = i >= 0 ? i : many / 2 - 1 - i;
+            assertEquals((byte) k, y.get(0));
+            assertEquals((byte) (k >> 8), y.get(1));
+            assertEquals((byte) 0x5A, y.get(2));
+            i--;
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code PersistentList3}.
+ */
+public class PersistentList3Test extends ListTest {
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new PersistentList3<String>();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /**
+     * Returns the entries of {@code entries}, separated by commas.
+     *
+     * @param entries
+     *            the entries
+     * @return the entries, separated by commas
+     */
+    private static String join(Iterable<String> entries) {
+        StringBuilder result = new StringBuilder();
+        for (String s : entries) {
+            if (result.length() > 0) {
+                result.append(",");
+            }
+            result.append(s);
+        }
+        return result.toString();
+    }
+
+    /*
+     * Test cases for snapshot.
+     */
+
+    @Test
+    public final void testSnapshotUnaffectedByLaterChanges() {
+        /*
+         * Set up variables
+         */
+        PersistentList3<String> list1 = (PersistentList3<String>) this
+                .createFromArgsTest(2, "red", "green", "blue");
+        List<String> list2 = this.createFromArgsRef(0, "red", "yellow",
+                "blue");
+        /*
+         * Call method under test
+         */
+        PersistentList3.Snapshot<String> snapshot = list1.snapshot();
+        list1.retreat();
+        list1.removeRightFront();
+        list1.addRightFront("yellow");
+        list1.moveToStart();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertEquals("red,green,blue", join(snapshot));
+        assertEquals(2, snapshot.leftLength());
+        assertEquals(1, snapshot.rightLength());
+    }
+
+    @Test
+    public final void testSnapshotEmpty() {
+        /*
+         * Set up variables
+         */
+        PersistentList3<String> list1 = (PersistentList3<String>) this
+                .createFromArgsTest(0);
+        List<String> list2 = this.createFromArgsRef(0, "red");
+        /*
+         * Call method under test
+         */
+        PersistentList3.Snapshot<String> snapshot = list1.snapshot();
+        list1.addRightFront("red");
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertEquals("", join(snapshot));
+        assertEquals(0, snapshot.leftLength());
+        assertEquals(0, snapshot.rightLength());
+    }
+
+    @Test
+    public final void testSnapshotBeforeMoveToFinish() {
+        /*
+         * Set up variables
+         */
+        PersistentList3<String> list1 = (PersistentList3<String>) this
+                .createFromArgsTest(1, "red", "green", "blue");
+        List<String> list2 = this.createFromArgsRef(3, "red", "green",
+                "blue");
+        /*
+         * Call method under test
+         */
+        PersistentList3.Snapshot<String> snapshot = list1.snapshot();
+        list1.moveToFinish();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertEquals("red,green,blue", join(snapshot));
+        assertEquals(1, snapshot.leftLength());
+        assertEquals(2, snapshot.rightLength());
+    }
+
+    @Test
+    public final void testSnapshotBeforeMoveToStart() {
+        /*
+         * Set up variables
+         */
+        PersistentList3<String> list1 = (PersistentList3<String>) this
+                .createFromArgsTest(2, "red", "green", "blue");
+        List<String> list2 = this.createFromArgsRef(0, "red", "green",
+                "blue");
+        /*
+         * Call method under test
+         */
+        PersistentList3.Snapshot<String> snapshot = list1.snapshot();
+        list1.moveToStart();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+        assertEquals("red,green,blue", join(snapshot));
+        assertEquals(2, snapshot.leftLength());
+        assertEquals(1, snapshot.rightLength());
+    }
+
+    @Test
+    public final void testSnapshotsSharingCells() {
+        /*
+         * Set up variables
+         */
+        PersistentList3<String> list1 = (PersistentList3<String>) this
+                .createFromArgsTest(1, "red", "green", "blue");
+        List<String> list2 = this.createFromArgsRef(0, "red", "yellow",
+                "blue");
+        /*
+         * Call method under test
+         */
+        PersistentList3.Snapshot<String> snapshot1 = list1.snapshot();
+        list1.removeRightFront();
+        list1.addRightFront("yellow");
+        PersistentList3.Snapshot<String> snapshot2 = list1.snapshot();
+        list1.moveToStart();
+        /*
+         * Assert that values of variables match expectations (the two
+         * snapshots share the cells of "red" and "blue")
+         */
+        assertEquals(list2, list1);
+        assertEquals("red,green,blue", join(snapshot1));
+        assertEquals("red,yellow,blue", join(snapshot2));
+        assertEquals(1, snapshot2.leftLength());
+        assertEquals(2, snapshot2.rightLength());
+    }
+
+}
@@ -0,0 +1,86 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code UnrolledList3}.
+ */
+public class UnrolledList3Test extends ListTest {
+
+    /**
+     * Number of entries used by the tests spanning several nodes.
+     */
+    private static final int MANY = 100;
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new UnrolledList3<String>();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /*
+     * Test cases spanning several nodes.
+     */
+
+    @Test
+    public final void testAddRightFrontManyInMiddle() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(0);
+        List<String> list2 = this.createFromArgsRef(0);
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < MANY; i++) {
+            list1.addRightFront(Integer.toString(i));
+            list2.addRightFront(Integer.toString(i));
+            if (i % 3 == 0) {
+                list1.advance();
+                list2.advance();
+            }
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRemoveRightFrontManyAfterRetreat() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(0);
+        List<String> list2 = this.createFromArgsRef(0);
+        for (int i = 0; i < MANY; i++) {
+            list1.addRightFront(Integer.toString(i));
+            list1.advance();
+            list2.addRightFront(Integer.toString(i));
+            list2.advance();
+        }
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < MANY / 2; i++) {
+            list1.retreat();
+            list2.retreat();
+            if (i % 2 == 0) {
+                assertEquals(list2.removeRightFront(),
+                        list1.removeRightFront());
+            }
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+}
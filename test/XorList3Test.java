@@ -0,0 +1,94 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import components.list.List;
+import components.list.List1L;
+
+/**
+ * Customized JUnit test fixture for {@code XorList3}.
+ */
+public class XorList3Test extends ListTest {
+
+    @Override
+    protected final List<String> constructorTest() {
+        return new XorList3<String>();
+    }
+
+    @Override
+    protected final List<String> constructorRef() {
+        return new List1L<String>();
+    }
+
+    /*
+     * Test cases for array growth, slot reuse, and walking both ways.
+     */
+
+    @Test
+    public final void testAddRemoveReusesSlotsAfterGrowth() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(0);
+        List<String> list2 = this.createFromArgsRef(0);
+        final int many = 50;
+        /*
+         * Call method under test
+         */
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront(Integer.toString(i));
+            list2.addRightFront(Integer.toString(i));
+            if (i % 2 == 0) {
+                list1.advance();
+                list2.advance();
+            }
+        }
+        for (int i = 0; i < many / 2; i++) {
+            assertEquals(list2.removeRightFront(), list1.removeRightFront());
+        }
+        for (int i = 0; i < many; i++) {
+            list1.addRightFront("x" + i);
+            list2.addRightFront("x" + i);
+        }
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals(list2, list1);
+    }
+
+    @Test
+    public final void testRetreatAdvanceAcrossEditsAtBothEnds() {
+        /*
+         * Set up variables
+         */
+        List<String> list1 = this.createFromArgsTest(2, "a", "b", "c", "d");
+        List<String> list2 = this.createFromArgsRef(2, "a", "b", "c", "d");
+        /*
+         * Call method under test
+         */
+        list1.retreat();
+        list1.retreat();
+        list1.addRightFront("0");
+        list1.moveToFinish();
+        list1.addRightFront("e");
+        list1.retreat();
+        list1.moveToStart();
+        String front = list1.removeRightFront();
+        list1.advance();
+        list1.advance();
+        list1.advance();
+        list1.retreat();
+        list1.moveToFinish();
+        list1.retreat();
+        String back = list1.removeRightFront();
+        list1.retreat();
+        list1.retreat();
+        /*
+         * Assert that values of variables match expectations
+         */
+        assertEquals("0", front);
+        assertEquals("e", back);
+        assertEquals(list2, list1);
+    }
+
+}